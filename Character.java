@@ -4,7 +4,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
 import static com.binge.Main.*;
-import static com.binge.Main.canvas;
 
 public class Character {
     Point2D pos, v;
@@ -12,9 +11,14 @@ public class Character {
     Circle body;
     boolean movingLeft = false, movingRight = false, movingUp = false, specialTransport = false;
     int coins = 0;
+    int deaths = 0;
     int levelNum, sublevelNum;
     Checkpoint lastCheckpoint;
-    boolean inGame = false;
+    volatile boolean inGame = false; // Also the hand-off flag between the FX thread and the simulation thread
+    int id;            // Index in Main.characters, also the actor of its OutcomeBus outcomes
+    InputSource input; // Polled at the start of every tick, null when a caller sets the flags itself
+    GrapplePoint grapple;             // Grapple point it is inside this tick, drawn as a line, or null
+    double grappleFromX, grappleFromY; // Where the ball was when it touched it
 
     Character(double posX, double posY, int radius, Color color) {
         this.pos = new Point2D(posX, posY);
@@ -27,29 +31,67 @@ public class Character {
 
 
     void revive() {
+        GameEvents.DeathEvent death = new GameEvents.DeathEvent();
+        death.begin();
+        death.sublevel = this.sublevelNum;
+        death.x = this.pos.getX();
+        death.y = this.pos.getY();
+        death.revived = lastCheckpoint != null;
+        death.checkpointSublevel = lastCheckpoint != null ? lastCheckpoint.substageNum : 0;
+        this.deaths++;
+
+        double deathX = this.pos.getX(), deathY = this.pos.getY();
         if (lastCheckpoint==null) {
             this.inGame = false;
-            this.terminate();
-        } else {
-            character.sublevelNum = this.lastCheckpoint.substageNum;
-            Main.currentSublevel = Main.currentLevel.sublevels.get(character.sublevelNum - 1);
+            this.terminate(deathX, deathY);
+        } else if (this == Main.character) {
+            this.sublevelNum = this.lastCheckpoint.substageNum;
+            Main.currentSublevel = Main.currentLevel.enter(this.sublevelNum);
             pane = Main.currentSublevel.pane;
-            pane.getChildren().remove(Main.canvas);
-            pane.getChildren().add(Main.canvas);
-            character.pos.setX(character.lastCheckpoint.pos.getX());
-            character.pos.setY(character.lastCheckpoint.pos.getY());
-            character.v.setX(0);
-            character.v.setY(0);
-            if (!pane.getChildren().contains(character.body)) pane.getChildren().add(character.body);
-            Main.scene.setRoot(pane);
+            this.pos.setX(this.lastCheckpoint.pos.getX());
+            this.pos.setY(this.lastCheckpoint.pos.getY());
+            this.v.setX(0);
+            this.v.setY(0);
+
+            OutcomeBus.post(OutcomeBus.DEATH, id, Main.currentSublevel, deathX, deathY, 1); // SceneOutcomes swaps the root
+        } else {
+            // Companions are always in the player's sublevel: back to their checkpoint if it is this one,
+            // otherwise to where this sublevel is entered
+            Point2D at = lastCheckpoint.substageNum == Main.currentSublevel.num ? lastCheckpoint.pos : Main.currentSublevel.spawn;
+            if (at == null) {
+                this.terminate(deathX, deathY);
+            } else {
+                this.sublevelNum = Main.currentSublevel.num;
+                this.pos.setX(at.getX());
+                this.pos.setY(at.getY());
+                this.v.setX(0);
+                this.v.setY(0);
+                OutcomeBus.post(OutcomeBus.DEATH, id, Main.currentSublevel, deathX, deathY, 1);
+            }
+        }
+        death.commit();
+    }
+
+    void terminate(double deathX, double deathY) {
+        this.inGame = false;
+        this.v.setX(0);
+        this.v.setY(0);
+        OutcomeBus.post(OutcomeBus.DEATH, id, null, deathX, deathY, 0); // SceneOutcomes shows the death page
+    }
+
+    // Jump impulse, at most a double jump until the ground resets jumpCount
+    void jump() {
+        if (jumpCount < 2) {
+            jumpCount++;
+            movingUp = true;
         }
     }
 
-    void terminate() {
-        mainCanvasGc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-        character.inGame = false;
-        character.v.setX(0);
-        character.v.setY(0);
-        PageLoader.loadDeathPage();
+    // Moves the visual body to the logical position. On the simulation thread this is left to RenderSnapshot.
+    void syncBody() {
+        if (SimulationThread.isSimulationThread() || Main.headless) return;
+        body.setCenterX(pos.x);
+        body.setCenterY(pos.y);
+        body.setRadius(radius);
     }
 }
\ No newline at end of file
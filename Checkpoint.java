@@ -6,19 +6,21 @@ import javafx.scene.paint.Color;
 import static com.binge.Main.*;
 
 public class Checkpoint extends RectangleObstacle {
+    static final Color FILL = Color.GRAY.deriveColor(0, 1, 1, 0.5);    // One instance for every checkpoint
+    static final Color REACHED_FILL = Color.GREEN.deriveColor(0, 1, 1, 0.3);
     int width = 30, substageNum;
     boolean activate = false;
 
     Checkpoint(Pane pane, double posX, double posY) {
-        super(pane, posX, posY, 30, 30, 0, Color.GRAY.deriveColor(0, 1, 1, 0.5), false);
+        super(pane, posX, posY, 30, 30, 0, FILL, false);
     }
 
     @Override
     void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
+        c.lastCheckpoint = this; // Every ball that touches it respawns here
         if (this.activate) return;
-        c.lastCheckpoint = this;
         this.activate = true;
-        this.body.setFill(Color.GREEN.deriveColor(0, 1, 1, 0.3));
+        OutcomeBus.post(OutcomeBus.CHECKPOINT_REACHED, c.id, this, pos.x, pos.y, 0);
     }
 
     @Override
@@ -28,12 +30,15 @@ public class Checkpoint extends RectangleObstacle {
 }
 
 class Goal extends RectangleObstacle {
+    static final Color FILL = Color.BLUE.deriveColor(0, 1, 1, 0.5);
+
     Goal(Pane pane, double posX) {
-        super(pane, posX, WINDOW_HEIGHT/2, 30, WINDOW_HEIGHT, 0, Color.BLUE.deriveColor(0, 1, 1, 0.5), false);
+        super(pane, posX, WINDOW_HEIGHT/2, 30, WINDOW_HEIGHT, 0, FILL, false);
     }
 
     @Override
     void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
-        PageLoader.loadFinishPage();
+        c.inGame = false; // Stop stepping, otherwise the finish page is rebuilt every tick the ball overlaps the goal
+        OutcomeBus.post(OutcomeBus.GOAL_REACHED, c.id, this, c.pos.x, c.pos.y, 0); // Finish page is built after the tick
     }
 }
\ No newline at end of file
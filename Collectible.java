@@ -7,6 +7,7 @@ public abstract class Collectible {
     Point2D pos;
     int radius;
     CircleObstacle hitbox;
+    final BallSet takenBy = new BallSet(); // Balls that took it, only kept while EntitySystems.perBall
 
     Collectible(double posX, double posY, int radius) {
         this.pos = new Point2D(posX, posY);
@@ -35,13 +36,12 @@ class Coin extends Collectible {
     public void handleCollision(Character c) {
         c.coins += this.value;
         hitbox.color = Color.TRANSPARENT;
-        hitbox.body.setFill(hitbox.color);
-        hitbox.body.setStroke(Color.TRANSPARENT);
+        OutcomeBus.post(OutcomeBus.COIN_COLLECTED, c.id, this, pos.x, pos.y, this.value);
     }
 }
 
-class SizeShifter extends Collectible {
-    int duration, increment;
+class SizeShifter extends Collectible implements TickScheduler.Task {
+    int duration, increment; // duration in seconds, then the ball gets its old size back
 
     SizeShifter(Pane pane, double posX, double posY, int radius, int increment) {
         super(posX, posY, radius);
@@ -54,11 +54,24 @@ class SizeShifter extends Collectible {
     @Override
     public void handleCollision(Character c) {
         hitbox.color = Color.TRANSPARENT;
-        hitbox.body.setFill(hitbox.color);
-        hitbox.body.setStroke(Color.TRANSPARENT);
+        SimulationThread.runOnScene(() -> {
+            hitbox.body.setFill(hitbox.color);
+            hitbox.body.setStroke(Color.TRANSPARENT);
+        });
 
         if (c.radius + increment <= 0) return;
         c.radius += this.increment;
-        c.body.setRadius(c.radius);
+        c.syncBody();
+        // The action is the resized ball, so every ball that takes it shrinks back on its own and
+        // TickScheduler.cancel can drop one ball's pending restore
+        TickScheduler.schedule(TickScheduler.ticksFor(duration), this, c.id);
+    }
+
+    @Override
+    public void runScheduled(int ball) {
+        Character shifted = Main.characters.get(ball);
+        if (shifted.radius - increment <= 0) return;
+        shifted.radius -= increment;
+        shifted.syncBody();
     }
 }
\ No newline at end of file
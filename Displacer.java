@@ -1,9 +1,7 @@
 package com.binge;
 
-import javafx.animation.PauseTransition;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.util.Duration;
 
 import static com.binge.Main.GRAVITY;
 
@@ -12,13 +10,15 @@ public interface Displacer {
     abstract void handleCollision(Character c);
 }
 
-class GrapplePoint extends CircleObstacle implements Displacer {
+class GrapplePoint extends CircleObstacle implements Displacer, TickScheduler.Task {
+    static final double COOLDOWN_SECS = 1.0; // On simulation time, see TickScheduler
+    static final Color FILL = Color.GREEN.deriveColor(0, 1, 1, 0.5); // One instance for every grapple point
     double speed;
     boolean cooldown;
     int radius;
 
     GrapplePoint(Pane pane, double posX, double posY, int radius) {
-        super(pane, posX, posY, radius, Color.GREEN.deriveColor(0, 1, 1, 0.5));
+        super(pane, posX, posY, radius, FILL);
         this.cooldown = false;
         this.speed = 1000;
         this.radius = radius;
@@ -39,10 +39,11 @@ class GrapplePoint extends CircleObstacle implements Displacer {
         c.v = diff.normalize().scale(this.speed);
 
         this.cooldown = true;
-        PauseTransition cooldown = new PauseTransition(Duration.seconds(1));
-        cooldown.setOnFinished(e -> {
-            this.cooldown = false;
-        });
-        cooldown.play();
+        TickScheduler.schedule(TickScheduler.ticksFor(COOLDOWN_SECS), this, 0);
+    }
+
+    @Override
+    public void runScheduled(int action) {
+        this.cooldown = false;
     }
 }
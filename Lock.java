@@ -8,6 +8,7 @@ import javafx.scene.shape.Shape;
 
 public class Lock extends RectangleObstacle {
     Key key;
+    boolean faded; // Hidden once the ball passed through it open
 
     Lock(Pane pane, double centerX, double centerY, double width, double height, Color color, double keyX, double keyY) {
         super(pane, centerX, centerY, width, height, 0, color, false);
@@ -21,15 +22,18 @@ public class Lock extends RectangleObstacle {
 
     @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
-        if (!this.key.collected) {
+        if (!this.key.opensFor(c.id)) {
             super.checkCollision(c, dispX, dispY, deltaTime);
         } else {
-            Shape intersection = Shape.intersect(c.body, this.body);
-            boolean isIntersecting = intersection.getBoundsInLocal().getWidth() > 0 && intersection.getBoundsInLocal().getHeight() > 0;
+            // Unlocked: the lock no longer blocks, it only fades out once touched
+            boolean isIntersecting = overlapsCircle(c.pos.x, c.pos.y, c.radius);
 
-            if (isIntersecting) {
-                this.body.setFill(Color.TRANSPARENT);
-                this.body.setStroke(Color.TRANSPARENT);
+            if (isIntersecting && !faded) {
+                faded = true;
+                SimulationThread.runOnScene(() -> {
+                    this.body.setFill(Color.TRANSPARENT);
+                    this.body.setStroke(Color.TRANSPARENT);
+                });
             }
 
             return isIntersecting;
@@ -42,6 +46,14 @@ class Key {
     Point2D pos;
     Shape body;
     boolean collected = false;
+    final BallSet heldBy = new BallSet(); // Balls that picked it up, only kept while EntitySystems.perBall
+
+    // Analytic hitbox mirroring the shape built below (ring + stem + bit), in world coordinates.
+    // Testing against these is plain arithmetic instead of a Shape.intersect every tick.
+    static final double RING_OUTER = 10, RING_INNER = 3;
+    double ringX, ringY;
+    double stemMinX, stemMinY, stemMaxX, stemMaxY;
+    double bitMinX, bitMinY, bitMaxX, bitMaxY;
 
     Key(Pane pane){
         System.out.println("Key created");
@@ -54,6 +66,7 @@ class Key {
         this.body = Shape.union(this.body, longRectangle);
         this.body = Shape.union(this.body, sideRectangle);
         pane.getChildren().add(this.body);
+        setHitbox(0, 0);
     };
 
     Key(Pane pane, double posX, double posY, Color color) {
@@ -64,16 +77,53 @@ class Key {
         this.body.setLayoutY(this.pos.getY());
         this.body.setFill(color);
         this.body.setStroke(Color.BLACK);
+        setHitbox(posX, posY);
+    }
+
+    // The shape's local geometry is fixed, so the hitbox only depends on its layout offset
+    private void setHitbox(double originX, double originY) {
+        ringX = originX + 50;
+        ringY = originY + 50;
+        stemMinX = originX + 47; stemMinY = originY + 53;
+        stemMaxX = originX + 53; stemMaxY = originY + 73;
+        bitMinX = originX + 50; bitMinY = originY + 63;
+        bitMaxX = originX + 60; bitMaxY = originY + 68;
+    }
+
+    boolean overlapsCircle(double cx, double cy, double r) {
+        // Ring: inside the outer circle but not entirely within the hole
+        double dx = cx - ringX;
+        double dy = cy - ringY;
+        double distSq = dx * dx + dy * dy;
+        double outer = RING_OUTER + r;
+        if (distSq < outer * outer && (r >= RING_INNER || distSq > (RING_INNER - r) * (RING_INNER - r))) {
+            return true;
+        }
+        return circleOverlapsBox(cx, cy, r, stemMinX, stemMinY, stemMaxX, stemMaxY)
+                || circleOverlapsBox(cx, cy, r, bitMinX, bitMinY, bitMaxX, bitMaxY);
+    }
+
+    private static boolean circleOverlapsBox(double cx, double cy, double r,
+                                             double minX, double minY, double maxX, double maxY) {
+        double dx = cx - Math.max(minX, Math.min(cx, maxX));
+        double dy = cy - Math.max(minY, Math.min(cy, maxY));
+        return dx * dx + dy * dy < r * r;
+    }
+
+    // Whether the lock is open for this ball; -1 asks about the level itself, as renderers and previews do
+    boolean opensFor(int ball) {
+        return this.collected || heldBy.contains(ball);
     }
 
     void checkCollision(Character c) {
-        Shape intersection = Shape.intersect(c.body, this.body);
-        boolean isIntersecting = intersection.getBoundsInLocal().getWidth() > 0 && intersection.getBoundsInLocal().getHeight() > 0;
+        if (opensFor(c.id)) return; // Nothing left to pick up
+
+        boolean isIntersecting = overlapsCircle(c.pos.x, c.pos.y, c.radius);
 
         if (isIntersecting) {
-            this.body.setFill(Color.TRANSPARENT);
-            this.body.setStroke(Color.TRANSPARENT);
-            this.collected = true;
+            if (EntitySystems.perBall) heldBy.add(c.id);
+            else this.collected = true;
+            OutcomeBus.post(OutcomeBus.KEY_COLLECTED, c.id, this, pos.x, pos.y, 0);
         }
     }
 }
\ No newline at end of file
@@ -29,26 +29,42 @@ public class Main extends Application {
 
     // Physics constants
     public static final double GRAVITY = 980;          // pixels per second squared
-    private static final double MOVE_ACCELERATION = 600; // horizontal acceleration, pixels per second squared
-    private static final double MAX_MOVE_SPEED = 1000;    // maximum horizontal speed
-    private static final double NATURAL_SPEED_LIM = 500;
+    static final double MOVE_ACCELERATION = 600; // horizontal acceleration, pixels per second squared
+    static final double MAX_MOVE_SPEED = 1000;    // maximum horizontal speed
+    static final double NATURAL_SPEED_LIM = 500;
+    static final double JUMP_VELOCITY = -450;     // vertical velocity set by a jump impulse
+    static final double BOUNDARY_RESTITUTION = 0.4; // How much to bounce off pane boundaries
+    static final double AIR_DRAG = 0.01;            // Very light drag when no obstacle handled the tick
     public static final double FRICTION = 0.6; 
     
+    // Set by HeadlessStepper: no Application, no scene, scene effects are dropped
+    static boolean headless = false;
+
     // containers
     public static Level currentLevel = new Level(0);
     public static Sublevel currentSublevel = new Sublevel(0);
-    public static ArrayList<HomingLaserProjectile> activeProjectiles = new ArrayList<>();
+    public static ArrayList<HomingLaserProjectile> activeProjectiles = currentSublevel.projectiles; // Those of the sublevel being stepped
 
     // For fixed timestep physics
     public static Timeline timeline;
-    private static final double FIXED_PHYSICS_DT = 1.0 / 60.0; // Physics update rate (e.g., 60Hz)
-    public static GraphicsContext mainCanvasGc; // To allow drawLine from updateGamePhysics
+    static final double FIXED_PHYSICS_DT = 1.0 / 60.0; // Physics update rate (e.g., 60Hz)
+    public static GraphicsContext mainCanvasGc; // Overlays drawn each frame: grapple lines, jump preview, profiler
+
+    // Every ball in the world, in id order. The first one is the player: the scene shows its sublevel and
+    // only it moves between sublevels. The others (a second local player, AI agents) share that sublevel
+    // and enter the next one with the player. Added before a run starts, not while it is simulated.
+    public static final ArrayList<Character> characters = new ArrayList<>();
+    static final ArrayList<KeyboardInput> keyboards = new ArrayList<>();
 
     // Main character
-    public static Character character = new Character(150, 50, 20, Color.rgb(255,241,204));
+    public static Character character = addCharacter(new Character(150, 50, 20, Color.rgb(255,241,204)), KeyboardInput.primary());
+
+    // Per-ball scratch of a tick: whether an obstacle resolved it
+    private static boolean[] collided = new boolean[4];
 
     @Override
     public void start(Stage stage) {
+        Startup.enteredStart();
         canvas = new Canvas(WINDOW_WIDTH, WINDOW_HEIGHT);
         mainCanvasGc = canvas.getGraphicsContext2D(); // Store the GraphicsContext
 
@@ -103,16 +119,48 @@ public class Main extends Application {
         stage.setScene(scene);
         stage.setTitle("Ball");
         stage.show();
+        Startup.menuShown(); // Time-to-menu report and the CDS training run, when asked for
 
         handleKeyEvent();
+        OutcomeBus.addListener(new SceneOutcomes());
 
         final double FIXED_PHYSICS_DT = 1.0 / 60.0; // 60 FPS physics
         final Duration frameDuration = Duration.seconds(FIXED_PHYSICS_DT);
 
+        if (SimulationThread.ENABLED) {
+            // Physics on its own thread, the FX thread only applies the newest snapshot every pulse
+            SimulationThread.start(this::simulationStep, FIXED_PHYSICS_DT);
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    mainCanvasGc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    SimulationThread.drainSceneEffects();
+                    OutcomeBus.drain();
+                    if (character.inGame) {
+                        RenderSnapshot snapshot = SimulationThread.snapshots().latest();
+                        snapshot.apply();
+                        if (World.enabled) World.applyCamera(snapshot.cameraX);
+                        snapshot.drawGrappleLines(mainCanvasGc);
+                        snapshot.drawTrajectory(mainCanvasGc);
+                        TickProfiler.drawOverlay(mainCanvasGc);
+                    }
+                }
+            }.start();
+            return;
+        }
+
         timeline = new Timeline(new KeyFrame(frameDuration, e -> {
             if (character.inGame) {
                 mainCanvasGc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-                updateGamePhysics(character, pane, canvas);
+                runTick();
+                OutcomeBus.drain();
+                if (World.enabled) World.applyCamera(World.cameraX);
+                for (Character c : characters) {
+                    if (c.grapple != null) drawLine(mainCanvasGc, c.grappleFromX, c.grappleFromY, c.grapple.pos.x, c.grapple.pos.y);
+                }
+                TrajectoryPreview.draw(mainCanvasGc, currentSublevel, character.pos.x, character.pos.y, character.v.x,
+                        inputDirection(character), character.radius, character.jumpCount);
+                TickProfiler.drawOverlay(mainCanvasGc);
             }
         }));
 
@@ -121,89 +169,101 @@ public class Main extends Application {
 
     }
 
-    private void updateGamePhysics(Character character, Pane pane, Canvas canvas) {
+    // One fixed physics step plus its bookkeeping, on whichever thread owns the simulation
+    private void runTick() {
+        GameEvents.TickEvent tickEvent = new GameEvents.TickEvent();
+        tickEvent.begin();
+        long tickStart = System.nanoTime();
+        updateGamePhysics();
+        FrameBudget.recordTick(System.nanoTime() - tickStart);
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.sublevel = currentSublevel.num;
+            tickEvent.obstacles = currentSublevel.obstacles.size();
+            tickEvent.items = currentSublevel.items.size();
+            tickEvent.displacers = currentSublevel.displacers.size();
+            tickEvent.locks = currentSublevel.locks.size();
+            tickEvent.projectiles = activeProjectiles.size();
+            tickEvent.commit();
+        }
+    }
 
-        // 1. Apply forces (Gravity, Input)
-        character.v.add(0, GRAVITY * Main.FIXED_PHYSICS_DT);
+    private long simulationTick = 0;
 
-        if (character.movingLeft && character.v.getX() > -NATURAL_SPEED_LIM) {
-            character.v.add(-MOVE_ACCELERATION * Main.FIXED_PHYSICS_DT, 0);
-        }
-        if (character.movingRight && character.v.getX() < NATURAL_SPEED_LIM) {
-            character.v.add(MOVE_ACCELERATION * Main.FIXED_PHYSICS_DT, 0);
-        }
-        if (character.movingUp) { // Jump is an impulse
-            character.v.setY(-450); // Adjusted jump velocity, tune as needed
-            character.movingUp = false;
-        }
+    // Body of the simulation thread loop: input, step, publish
+    private void simulationStep() {
+        SimulationThread.input.drain(Main::applyKey);
+        if (!character.inGame || SimulationThread.paused) return;
 
-        // 2. Clamp velocity (max speed limits)
-        character.v.setX(Math.max(-MAX_MOVE_SPEED, Math.min(character.v.getX(), MAX_MOVE_SPEED)));
-        character.v.setY(Math.max(-MAX_MOVE_SPEED, Math.min(character.v.getY(), MAX_MOVE_SPEED))); // MAX_MOVE_SPEED for Y might be very high
+        runTick();
+        simulationTick++;
 
-        // Update all obstacles (e.g., for animations like blinking lasers)
-        for (Obstacle obs : currentSublevel.obstacles) {
-            obs.update(FIXED_PHYSICS_DT); // Use the fixed delta time
-        }
+        RenderSnapshot snapshot = SimulationThread.snapshots().back();
+        snapshot.capture(simulationTick, characters, currentSublevel, activeProjectiles);
+        SimulationThread.snapshots().publish();
+    }
 
-        // 3. Collision Detection and Resolution with Obstacles
-        boolean characterCollidedWithObstacle = false;
-        for (Obstacle obs : currentSublevel.obstacles) {
-            double displacementX = character.v.getX() * Main.FIXED_PHYSICS_DT;
-            double displacementY = character.v.getY() * Main.FIXED_PHYSICS_DT;
-            if (obs.checkCollision(character, displacementX, displacementY, Main.FIXED_PHYSICS_DT)) {
-                characterCollidedWithObstacle = true;
-            }
+    // Static and node-free so HeadlessStepper can drive it without a running Application.
+    // Steps every ball in characters that is in game against currentSublevel.
+    static void updateGamePhysics() {
+        StageWatcher.applyPending(); // Edited stage files, swapped in between ticks
+        if (World.enabled) World.stream(); // Chunks near the player in, far ones out
+        Dormancy.track(); // The sublevel the player left sleeps, the one it entered catches up
+        TickProfiler.beginTick();
+        int n = characters.size();
+        if (collided.length < n) collided = new boolean[n * 2];
+
+        // 1. Input and forces, per ball
+        for (int i = 0; i < n; i++) {
+            Character c = characters.get(i);
+            if (!c.inGame) continue;
+            if (c.input != null) c.input.apply(c, TickScheduler.tick);
+            applyForces(c);
         }
-
-        // 4. Collectibles
-        Iterator<Collectible> itemIterator = currentSublevel.items.iterator();
-        while (itemIterator.hasNext()) {
-            Collectible item = itemIterator.next();
-            if (item.checkCollision(character)) {
-                item.handleCollision(character);
-                if (item.hitbox != null && item.hitbox.body != null) {
-                    pane.getChildren().remove(item.hitbox.body);
-                }
-                itemIterator.remove();
-            }
+        TickProfiler.mark(TickProfiler.Phase.FORCES);
+
+        // Update all obstacles (e.g., for animations like blinking lasers), in parallel for large sublevels
+        ObstacleUpdater.updateAll(currentSublevel.obstacles, FIXED_PHYSICS_DT);
+        TickProfiler.mark(TickProfiler.Phase.OBSTACLE_UPDATE);
+
+        // 3. Collision Detection and Resolution with Obstacles, all balls in one pass
+        EntitySystems.collideObstacles(currentSublevel, characters, Main.FIXED_PHYSICS_DT, collided);
+        TickProfiler.mark(TickProfiler.Phase.OBSTACLE_COLLISION);
+
+        // 4. Everything a ball can touch: collectibles, grapple points, checkpoint, keys and locks, goal.
+        // Balls go in id order, so when two reach the same coin on the same tick the lower id gets it.
+        for (int i = 0; i < n; i++) {
+            Character c = characters.get(i);
+            c.grapple = null;
+            if (c.inGame) EntitySystems.runTriggers(currentSublevel, c, Main.FIXED_PHYSICS_DT);
         }
+        TickProfiler.mark(TickProfiler.Phase.TRIGGERS);
 
+        updateProjectiles(currentSublevel, activeProjectiles);
+        if (World.enabled) World.simulateNeighbours(FIXED_PHYSICS_DT, collided); // The chunks around it, in their own coordinates
+        TickProfiler.mark(TickProfiler.Phase.PROJECTILES);
 
-        // 5. Displacers (e.g., GrapplePoint)
-        for (Displacer d : currentSublevel.displacers) {
-            if (d.checkCollision(character)) {
-                if (d instanceof GrapplePoint gp) {
-                    if (!gp.cooldown) {
-                        // Draw line directly using mainCanvasGc
-                        drawLine(this.mainCanvasGc, character.pos.x, character.pos.y, gp.pos.x, gp.pos.y);
-                    }
-                    if (character.specialTransport && !gp.cooldown) {
-                        d.handleCollision(character); // GrapplePoint might need 'dt' if its effect is over time
-                    }
-                }
-            }
-        }
-
-        for (Checkpoint c : currentLevel.checkpoints) {
-            if (c != null && currentSublevel.num == c.substageNum) {
-                double displacementX = character.v.getX() * Main.FIXED_PHYSICS_DT;
-                double displacementY = character.v.getY() * Main.FIXED_PHYSICS_DT;
-                c.checkCollision(character, displacementX, displacementY, Main.FIXED_PHYSICS_DT);
-            }
+        Sublevel before = currentSublevel;
+        for (int i = 0; i < n; i++) {
+            Character c = characters.get(i);
+            if (c.inGame) integrate(c, collided[i]);
         }
+        if (currentSublevel != before) regroup(); // The player changed rooms, the others come along
+        if (World.enabled) World.follow();
 
-        for (Lock l : currentSublevel.locks) {
-            l.key.checkCollision(character);
-            l.checkCollision(character, 0, 0, Main.FIXED_PHYSICS_DT);
-        }
+        // The old `character.v = character.v.scale(FRICTION);` when `collide` was true is removed
+        // to let obstacle-specific friction take precedence.
+        currentSublevel.entities.compact(); // Collected items leave the store once nothing is iterating it
+        TickScheduler.advance(); // Cooldowns and timed effects due at the end of this tick
+        TickProfiler.mark(TickProfiler.Phase.BOUNDARIES);
+        TickProfiler.endTick();
 
-        if (currentSublevel.goal != null) {
-            currentSublevel.goal.checkCollision(character, 0, 0, Main.FIXED_PHYSICS_DT);
-        }
+        // System.out.println(character.v.getX() + " " + character.v.getY() + " | Jump: " + character.jumpCount);
+    }
 
-        // --- Homing Laser Projectile Update and Collision ---
-        Iterator<HomingLaserProjectile> projectileIterator = activeProjectiles.iterator();
+    // Homing projectiles of a sublevel: move, hit its solids, then hit any ball
+    static void updateProjectiles(Sublevel sublevel, ArrayList<HomingLaserProjectile> projectiles) {
+        Iterator<HomingLaserProjectile> projectileIterator = projectiles.iterator();
         while (projectileIterator.hasNext()) {
             HomingLaserProjectile projectile = projectileIterator.next();
             projectile.update(FIXED_PHYSICS_DT); // Update movement, lifespan, etc.
@@ -212,15 +272,19 @@ public class Main extends Application {
             // If projectile hits an obstacle, its checkCollisionWithObstacles->setActive(false)
             // will also call removeFromPane().
             if (projectile.isActive()) { // Only check obstacle collision if still active after update
-                projectile.checkCollisionWithObstacles(currentSublevel.obstacles);
+                // With a baked field every static solid a projectile can hit is in it: one lookup, then the platforms
+                if (sublevel.field != null) projectile.checkCollisionWithField(sublevel.field, sublevel.broadphase().kinematic);
+                else projectile.checkCollisionWithObstacles(sublevel.obstacles);
             }
 
-            // Then, if still active (didn't hit an obstacle), check for player collision
-            // If projectile hits player, its checkCollisionWithPlayer->setActive(false)
+            // Then, if still active (didn't hit an obstacle), check for player collision.
+            // Any ball can be hit, not only the one it was steering to; the first one hit stops it.
+            // If projectile hits a ball, its checkCollisionWithPlayer->setActive(false)
             // will also call removeFromPane().
-            if (projectile.isActive()) {
-                if (projectile.checkCollisionWithPlayer(character)) {
-                    character.revive(); // Player is hit
+            for (int i = 0; i < characters.size() && projectile.isActive(); i++) {
+                Character c = characters.get(i);
+                if (c.inGame && projectile.checkCollisionWithPlayer(c)) {
+                    c.revive(); // Ball is hit
                 }
             }
 
@@ -230,8 +294,29 @@ public class Main extends Application {
                 projectileIterator.remove();
             }
         }
-        // --- End Homing Laser Projectile ---
+    }
 
+    private static void applyForces(Character character) {
+        // 1. Apply forces (Gravity, Input)
+        character.v.add(0, GRAVITY * Main.FIXED_PHYSICS_DT);
+
+        if (character.movingLeft && character.v.getX() > -NATURAL_SPEED_LIM) {
+            character.v.add(-MOVE_ACCELERATION * Main.FIXED_PHYSICS_DT, 0);
+        }
+        if (character.movingRight && character.v.getX() < NATURAL_SPEED_LIM) {
+            character.v.add(MOVE_ACCELERATION * Main.FIXED_PHYSICS_DT, 0);
+        }
+        if (character.movingUp) { // Jump is an impulse
+            character.v.setY(JUMP_VELOCITY); // Adjusted jump velocity, tune as needed
+            character.movingUp = false;
+        }
+
+        // 2. Clamp velocity (max speed limits)
+        character.v.setX(Math.max(-MAX_MOVE_SPEED, Math.min(character.v.getX(), MAX_MOVE_SPEED)));
+        character.v.setY(Math.max(-MAX_MOVE_SPEED, Math.min(character.v.getY(), MAX_MOVE_SPEED))); // MAX_MOVE_SPEED for Y might be very high
+    }
+
+    private static void integrate(Character character, boolean characterCollidedWithObstacle) {
         // 6. Update position IF NO OBSTACLE COLLISION handled position
         // If an obstacle collision occurred, its handleCollision should have set the correct position.
         // If characterCollidedWithObstacle is true, we assume position and velocity are handled.
@@ -241,75 +326,61 @@ public class Main extends Application {
         }
         // Always sync visual body to logical position after all physics and collision responses.
         // Note: Obstacle.java handleCollision should update character.pos, this ensures body reflects it.
-        character.body.setCenterX(character.pos.getX());
-        character.body.setCenterY(character.pos.getY());
+        character.syncBody();
 
 
         // 7. Boundary Collisions (Pane edges)
-        double restitutionBoundary = 0.4; // How much to bounce off pane boundaries
+        // Works on character.pos and the window size rather than nodes, so it runs off the FX thread and headless
+        double restitutionBoundary = BOUNDARY_RESTITUTION;
+        // Only the player leaves through the side walls, for everyone else they are solid
+        boolean player = character == Main.character;
         // Ground
-        if (character.body.getCenterY() + character.body.getRadius() > pane.getHeight()) {
-            character.body.setCenterY(pane.getHeight() - character.body.getRadius());
-            character.pos.setY(character.body.getCenterY());
+        if (character.pos.getY() + character.radius > WINDOW_HEIGHT) {
+            character.pos.setY(WINDOW_HEIGHT - character.radius);
             if (character.v.getY() > 0) character.v.setY(-character.v.getY() * restitutionBoundary);
             character.jumpCount = 0; // Reset jump count on ground
         }
         // Ceiling
-        if (character.body.getCenterY() - character.body.getRadius() < 0) {
-            character.body.setCenterY(character.body.getRadius());
-            character.pos.setY(character.body.getCenterY());
+        if (character.pos.getY() - character.radius < 0) {
+            character.pos.setY(character.radius);
             if (character.v.getY() < 0) character.v.setY(-character.v.getY() * restitutionBoundary);
         }
         // Left Wall
-        if (character.body.getCenterX() - character.body.getRadius() < 0) {
+        if (character.pos.getX() - character.radius < 0) {
             int lastSubstage = character.sublevelNum - 1;
             String lastStagePath = "src/com/binge/Stages/stage1/" + lastSubstage + ".in";
             File lastStageFile = new File(lastStagePath);
 
 //            if (lastStageFile.exists() && character.currentSubstage!=1) {
-            if (character.sublevelNum - 1 >= 1) {
-                character.sublevelNum -= 1;
-                currentSublevel = currentLevel.sublevels.get(character.sublevelNum -1);
-                scene.setRoot(currentSublevel.pane);
-                if (!currentSublevel.pane.getChildren().contains(canvas)) currentSublevel.pane.getChildren().add(canvas);
-                Point2D pos = character.pos;
-                pos.add(WINDOW_WIDTH - 2.5*character.radius, 0);
-                character.pos = pos;
-                character.body.setCenterX(character.pos.getX());
-                character.body.setCenterY(character.pos.getY());
-                if (!currentSublevel.pane.getChildren().contains(character.body)) currentSublevel.pane.getChildren().add(character.body);
+            if (World.enabled && player && character.sublevelNum - 1 >= 1) {
+                // Seamless: the ball straddles both chunks until its center crosses, then moves one chunk width
+                if (character.pos.getX() < 0) changeSublevel(character, character.sublevelNum - 1, WINDOW_WIDTH);
+            } else if (player && character.sublevelNum - 1 >= 1) {
+                changeSublevel(character, character.sublevelNum - 1, WINDOW_WIDTH - 2.5*character.radius);
             } else {
-                character.body.setCenterX(character.body.getRadius());
-                character.pos.setX(character.body.getCenterX());
+                character.pos.setX(character.radius);
                 if (character.v.getX() < 0) character.v.setX(-character.v.getX() * restitutionBoundary);
             }
         }
         // Right Wall
-        if (character.body.getCenterX() + character.body.getRadius() > pane.getWidth()) {
+        if (character.pos.getX() + character.radius > WINDOW_WIDTH) {
             int nextSubstage = character.sublevelNum + 1;
             String nextStagePath = "src/com/binge/Stages/stage1/" + nextSubstage + ".in";
             File nextStageFile = new File(nextStagePath);
 
 //            if (nextStageFile.exists()) {
-            if (character.sublevelNum + 1 <= currentLevel.levelLength) {
-                character.sublevelNum += 1;
-                currentSublevel = currentLevel.sublevels.get(character.sublevelNum -1);
-                scene.setRoot(currentSublevel.pane);
-                if (!currentSublevel.pane.getChildren().contains(canvas)) currentSublevel.pane.getChildren().add(canvas);
-                Point2D pos = character.pos;
-                pos.add(-WINDOW_WIDTH + 2.5*character.radius, 0);
-                character.pos = pos;
-                character.body.setCenterX(character.pos.getX());
-                character.body.setCenterY(character.pos.getY());
-                if (!currentSublevel.pane.getChildren().contains(character.body)) currentSublevel.pane.getChildren().add(character.body);
+            if (World.enabled && player && character.sublevelNum + 1 <= currentLevel.levelLength) {
+                if (character.pos.getX() > WINDOW_WIDTH) changeSublevel(character, character.sublevelNum + 1, -WINDOW_WIDTH);
+            } else if (player && character.sublevelNum + 1 <= currentLevel.levelLength) {
+                changeSublevel(character, character.sublevelNum + 1, -WINDOW_WIDTH + 2.5*character.radius);
             } else {
-                character.body.setCenterX(pane.getWidth() - character.body.getRadius());
-                character.pos.setX(character.body.getCenterX());
+                character.pos.setX(WINDOW_WIDTH - character.radius);
                 if (character.v.getX() > 0) {
                     character.v.setX(-character.v.getX() * restitutionBoundary);
                 }
             }
         }
+        character.syncBody();
 
 
         // Global friction/drag - apply this carefully.
@@ -318,53 +389,134 @@ public class Main extends Application {
         // For smoother sliding on surfaces, the surface's own friction should dominate.
         // Let's apply a very light air drag if NOT in collision with an obstacle that handled friction.
         if (!characterCollidedWithObstacle) {
-            double airDragCoefficient = 0.01; // Very light drag
+            double airDragCoefficient = AIR_DRAG;
             character.v.setX(character.v.getX() * (1.0 - airDragCoefficient * Main.FIXED_PHYSICS_DT)); // Scale by dt for consistency
             character.v.setY(character.v.getY() * (1.0 - airDragCoefficient * Main.FIXED_PHYSICS_DT));
         }
-        // The old `character.v = character.v.scale(FRICTION);` when `collide` was true is removed
-        // to let obstacle-specific friction take precedence.
+    }
 
-        // System.out.println(character.v.getX() + " " + character.v.getY() + " | Jump: " + character.jumpCount);
+    // The player walks into sublevel `to`, shifted by dx into its coordinates
+    private static void changeSublevel(Character character, int to, double dx) {
+        GameEvents.SublevelTransitionEvent transition = new GameEvents.SublevelTransitionEvent();
+        transition.begin();
+        transition.from = character.sublevelNum;
+        character.sublevelNum = to;
+        currentSublevel = currentLevel.enter(character.sublevelNum);
+        character.pos.add(dx, 0);
+        showSublevel(currentSublevel);
+        transition.to = character.sublevelNum;
+        transition.commit();
+    }
+
+    // Puts every other ball still in the run on the player, with its velocity, in the player's new sublevel
+    private static void regroup() {
+        for (Character c : characters) {
+            if (c == character || !c.inGame) continue;
+            c.sublevelNum = character.sublevelNum;
+            c.pos.setX(character.pos.x);
+            c.pos.setY(character.pos.y);
+            c.v.setX(character.v.x);
+            c.v.setY(character.v.y);
+            c.syncBody();
+        }
+    }
+
+    // Registers a ball with the world, id is its index. input may be null for a caller that sets the flags itself.
+    static Character addCharacter(Character c, InputSource input) {
+        c.id = characters.size();
+        c.input = input;
+        characters.add(c);
+        if (input instanceof KeyboardInput keys) keyboards.add(keys);
+        OutcomeBus.ensureBalls(characters.size()); // Every ball may die on the same tick
+        return c;
+    }
+
+    // The ball in the run closest to (x, y), null if none. Turrets aim with this; it only reads positions,
+    // so parallel obstacle updates can call it.
+    static Character nearestCharacter(double x, double y) {
+        Character nearest = null;
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < characters.size(); i++) {
+            Character c = characters.get(i);
+            if (!c.inGame || c.pos == null) continue;
+            double dx = c.pos.x - x, dy = c.pos.y - y;
+            double d = dx * dx + dy * dy;
+            if (d < best) {
+                best = d;
+                nearest = c;
+            }
+        }
+        return nearest;
     }
 
     private void handleKeyEvent() {
         scene.setOnKeyPressed(event -> {
-            if (event.getCode() == KeyCode.A || event.getCode() == KeyCode.LEFT) character.movingLeft = true;
-            if (event.getCode() == KeyCode.D || event.getCode() == KeyCode.RIGHT) character.movingRight = true;
-            if (event.getCode() == KeyCode.W || event.getCode() == KeyCode.UP) {
-                if (character.jumpCount < 2) { // Allow double jump if on ground or in air once
-                    character.jumpCount++;
-                    character.movingUp = true; // This will be an impulse
-                }
-            }
             if (event.getCode() == KeyCode.P) {
-                if (timeline.getStatus() == Animation.Status.PAUSED) {
+                if (SimulationThread.ENABLED) {
+                    SimulationThread.paused = !SimulationThread.paused;
+                } else if (timeline.getStatus() == Animation.Status.PAUSED) {
                     timeline.play();
                 } else {
                     timeline.pause();
                 }
             }
-            if (event.getCode() == KeyCode.SPACE) character.specialTransport = true;
+            if (event.getCode() == KeyCode.F3) TickProfiler.toggleOverlay();
+            if (event.getCode() == KeyCode.G) TrajectoryPreview.toggle();
+
+            // Character input belongs to whichever thread runs the simulation
+            if (SimulationThread.ENABLED) SimulationThread.input.offer(event.getCode(), true);
+            else applyKey(event.getCode(), true);
         });
 
         scene.setOnKeyReleased(event -> {
-            if (event.getCode() == KeyCode.A || event.getCode() == KeyCode.LEFT) character.movingLeft = false;
-            if (event.getCode() == KeyCode.D || event.getCode() == KeyCode.RIGHT) character.movingRight = false;
-            // movingUp is an impulse, so no key release needed to stop it in the same way as continuous movement
-            // If W was for continuous upward thrust, then character.movingUp = false; would be needed.
-            if (event.getCode() == KeyCode.SPACE) character.specialTransport = false;
+            if (SimulationThread.ENABLED) SimulationThread.input.offer(event.getCode(), false);
+            else applyKey(event.getCode(), false);
         });
     }
 
-    private void drawLine(GraphicsContext gc, double x0, double y0, double x1, double y1) {
+    // Held horizontal input as -1, 0 or 1
+    static int inputDirection(Character c) {
+        return (c.movingRight ? 1 : 0) - (c.movingLeft ? 1 : 0);
+    }
+
+    // Key events go to every keyboard binding, each drives its own ball on the next tick
+    static void applyKey(KeyCode code, boolean pressed) {
+        for (int i = 0; i < keyboards.size(); i++) keyboards.get(i).key(code, pressed);
+    }
+
+    // Makes the sublevel's pane the scene root with the canvas and balls on it.
+    // A world keeps its viewport as the root, the chunk pane only takes the canvas and balls.
+    static void showSublevel(Sublevel sublevel) {
+        SimulationThread.runOnScene(() -> {
+            if (World.enabled) {
+                World.show(sublevel);
+                for (Character c : characters) c.syncBody();
+                return;
+            }
+            scene.setRoot(sublevel.pane);
+            if (!sublevel.pane.getChildren().contains(canvas)) sublevel.pane.getChildren().add(canvas);
+            addCharacterBodies(sublevel.pane);
+            for (Character c : characters) c.syncBody();
+        });
+    }
+
+    // Puts the body of every ball still in the run on the pane, FX thread
+    static void addCharacterBodies(Pane target) {
+        for (Character c : characters) {
+            if (c.inGame && !target.getChildren().contains(c.body)) target.getChildren().add(c.body);
+        }
+    }
+
+    static void drawLine(GraphicsContext gc, double x0, double y0, double x1, double y1) {
         gc.save();
         gc.setStroke(Color.RED);
         gc.setLineWidth(2);
         gc.strokeLine(x0, y0, x1, y1);
+        gc.restore();
     }
 
     public static void main(String[] args) {
+        Startup.enteredMain();
         Application.launch(Main.class, args);
     }
 }
\ No newline at end of file
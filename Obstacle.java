@@ -3,7 +3,6 @@ package com.binge;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
-import javafx.scene.transform.Rotate; // Import Rotate
 
 import java.util.*;
 
@@ -14,6 +13,7 @@ public abstract class Obstacle {
     Color color;
     boolean fatal;
     double epsilon = 1e-5; // Small value to prevent sticking
+    double deferredTime = 0; // Time skipped while FrameBudget throttles this obstacle, handed to the next update
 
     abstract boolean checkCollision(Character c, double dispX, double dispY, double deltaTime);
     // Original handleCollision is specific to how checkCollision determines the interaction.
@@ -21,7 +21,87 @@ public abstract class Obstacle {
     // to determine the normal and penetration, then call a more generic handler.
     // abstract void handleCollision(Character c, double deltaTime); // This might be removed or changed
 
+    // update() only advances simulation state and may run on a worker thread (see ObstacleUpdater).
+    // Anything that touches the scene graph goes through the visual state below, applied on the FX thread.
     public abstract void update(double deltaTime);
+
+    // Catches up in one step on time its sublevel spent dormant (see Dormancy), with no ball in the room
+    // to react to. Static obstacles have nothing to catch up on.
+    void fastForward(double seconds) {
+    }
+
+    // Visual state is a fixed number of doubles per obstacle so it can be copied into a RenderSnapshot
+    // on the simulation thread and applied later. Most obstacles are static and have none.
+    int visualSlots() {
+        return 0;
+    }
+
+    void captureVisuals(double[] out, int offset) {
+    }
+
+    void applyVisuals(double[] in, int offset) {
+    }
+
+    private static final double[] SYNC_SCRATCH = new double[16]; // FX thread only
+
+    // Pushes the current state straight to the nodes, used when simulation and rendering share the FX thread
+    void syncVisuals() {
+        if (visualSlots() == 0) return;
+        captureVisuals(SYNC_SCRATCH, 0);
+        applyVisuals(SYNC_SCRATCH, 0);
+    }
+
+    // Axis-aligned bounds of the obstacle's static solid shape as minX, minY, maxX, maxY, for Broadphase.
+    // false for obstacles that move, blink or otherwise aren't static solids.
+    boolean solidBounds(double[] out) {
+        return false;
+    }
+
+    // Bounds like solidBounds of the space a kinematic obstacle (MovingPlatform) covered during its last
+    // update, for its EntityStore collider. false for everything that doesn't follow a path.
+    boolean sweptBounds(double[] out) {
+        return false;
+    }
+
+    // Whether a circle overlaps the solid shape, no response; this is what stops a projectile.
+    // false for obstacles projectiles fly through (lasers, turrets).
+    boolean overlapsCircle(double cx, double cy, double r) {
+        return false;
+    }
+
+    // Distance along the ray from (ox, oy) in unit direction (dirX, dirY) to this solid, 0 if the origin
+    // is inside, infinity on a miss. Only the Broadphase's solids, static or kinematic, answer this.
+    double rayDistance(double ox, double oy, double dirX, double dirY) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    // Distance from (x, y) to the solid's surface, negative inside, for SignedDistanceField baking
+    double signedDistance(double x, double y) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    // Response to a contact found by checkCollision or a SignedDistanceField, normal pointing out of the solid
+    void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
+    }
+
+    // Outward normal of the solid at a point on its surface, written to out[0], out[1]
+    void surfaceNormal(double x, double y, double[] out) {
+        out[0] = 0;
+        out[1] = -1;
+    }
+
+    // The deadly segment of a laser that is currently on, as x0, y0, x1, y1, for RayCast. false otherwise.
+    boolean beamSegment(double[] out) {
+        return false;
+    }
+
+    // Projectiles requested during update(), spawned in obstacle order on the FX thread afterwards
+    ArrayList<ProjectileSpawn> pendingSpawns;
+
+    void queueProjectile(ProjectileSpawn spawn) {
+        if (pendingSpawns == null) pendingSpawns = new ArrayList<>();
+        pendingSpawns.add(spawn);
+    }
 }
 
 class CircleObstacle extends Obstacle {
@@ -61,6 +141,73 @@ class CircleObstacle extends Obstacle {
         return false;
     }
 
+    @Override
+    boolean overlapsCircle(double cx, double cy, double r) {
+        double dx = cx - this.pos.x;
+        double dy = cy - this.pos.y;
+        double combinedRadius = this.radius + r;
+        return dx * dx + dy * dy < combinedRadius * combinedRadius;
+    }
+
+    @Override
+    boolean solidBounds(double[] out) {
+        out[0] = this.pos.x - this.radius;
+        out[1] = this.pos.y - this.radius;
+        out[2] = this.pos.x + this.radius;
+        out[3] = this.pos.y + this.radius;
+        return true;
+    }
+
+    // Penetration of a circle into this disc with the push-out normal written to normalOut, 0 when apart.
+    // Same geometry as checkCollision but on primitives and without touching the Character, so it is thread-safe.
+    double contact(double cx, double cy, double r, double[] normalOut) {
+        double dx = cx - this.pos.x;
+        double dy = cy - this.pos.y;
+        double combinedRadius = this.radius + r;
+        double distSq = dx * dx + dy * dy;
+        if (distSq >= combinedRadius * combinedRadius) return 0;
+        double dist = Math.sqrt(distSq);
+        normalOut[0] = dist == 0 ? 0 : dx / dist;
+        normalOut[1] = dist == 0 ? -1 : dy / dist;
+        return combinedRadius - dist;
+    }
+
+    // Whether the segment passes through the solid disc itself (not inflated by any radius)
+    boolean segmentHits(double x0, double y0, double x1, double y1) {
+        double segX = x1 - x0, segY = y1 - y0;
+        double lenSq = segX * segX + segY * segY;
+        double t = lenSq == 0 ? 0 : ((this.pos.x - x0) * segX + (this.pos.y - y0) * segY) / lenSq;
+        t = Math.max(0, Math.min(1, t));
+        double dx = x0 + segX * t - this.pos.x;
+        double dy = y0 + segY * t - this.pos.y;
+        return dx * dx + dy * dy < this.radius * this.radius;
+    }
+
+    @Override
+    double rayDistance(double ox, double oy, double dirX, double dirY) {
+        double fx = ox - this.pos.x, fy = oy - this.pos.y;
+        double c = fx * fx + fy * fy - (double) this.radius * this.radius;
+        if (c <= 0) return 0;
+        double b = fx * dirX + fy * dirY;
+        double disc = b * b - c;
+        if (b >= 0 || disc < 0) return Double.POSITIVE_INFINITY; // Pointing away, or passing by
+        return -b - Math.sqrt(disc);
+    }
+
+    @Override
+    void surfaceNormal(double x, double y, double[] out) {
+        double dx = x - this.pos.x, dy = y - this.pos.y;
+        double len = Math.sqrt(dx * dx + dy * dy);
+        out[0] = len == 0 ? 0 : dx / len;
+        out[1] = len == 0 ? -1 : dy / len;
+    }
+
+    @Override
+    double signedDistance(double x, double y) {
+        double dx = x - this.pos.x, dy = y - this.pos.y;
+        return Math.sqrt(dx * dx + dy * dy) - this.radius;
+    }
+
     // New handleCollision signature for CircleObstacle
     void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
         if (this.fatal) c.revive();
@@ -69,14 +216,23 @@ class CircleObstacle extends Obstacle {
 
         // Position correction
         c.pos.add(normal.getX() * (penetration + epsilon), normal.getY() * (penetration + epsilon));
-        c.body.setCenterX(c.pos.getX());
-        c.body.setCenterY(c.pos.getY());
+        c.syncBody();
 
         // Velocity reflection (simple bounce for circles)
-        double vDotN = c.v.dot(normal);
+        double[] v = {c.v.x, c.v.y};
+        reflect(v, normal.getX(), normal.getY());
+        c.v.setX(v[0]);
+        c.v.setY(v[1]);
+    }
+
+    // Velocity response to a contact with the given normal, applied to v in place.
+    // Shared with ReachabilityAnalyzer, which simulates the ball on primitives.
+    void reflect(double[] v, double nx, double ny) {
+        double vDotN = v[0] * nx + v[1] * ny;
         if (vDotN < 0) { // Moving into the obstacle
             double restitution = Main.FRICTION; // Use global friction as restitution
-            c.v.add(-normal.getX() * (1 + restitution) * vDotN, -normal.getY() * (1 + restitution) * vDotN);
+            v[0] += -nx * (1 + restitution) * vDotN;
+            v[1] += -ny * (1 + restitution) * vDotN;
         }
     }
 
@@ -89,6 +245,7 @@ class CircleObstacle extends Obstacle {
 class RectangleObstacle extends Obstacle {
     private final double width, height;
     private final double angle; // Angle in radians
+    private final double cosAngle, sinAngle; // Cached once, the rectangle never rotates after construction
 
     // Constructor updated for center position and angle
     RectangleObstacle(Pane pane, double centerX, double centerY, double width, double height, double angleDegrees, Color color, boolean fatal) {
@@ -96,6 +253,8 @@ class RectangleObstacle extends Obstacle {
         this.width = width;
         this.height = height;
         this.angle = Math.toRadians(angleDegrees);
+        this.cosAngle = Math.cos(this.angle);
+        this.sinAngle = Math.sin(this.angle);
         this.fatal = fatal;
 
         // Create a rectangle shape, position it so its center is at (0,0) for rotation, then translate
@@ -103,14 +262,13 @@ class RectangleObstacle extends Obstacle {
         rectShape.setFill(this.color);
         rectShape.setStroke(Color.BLACK);
 
-        // Apply rotation around the center of the rectangle
-        Rotate rotate = new Rotate(angleDegrees, 0, 0); // Rotate around its local center (0,0)
-
+        // Rotation around the rectangle's center, which is its local (0,0). The node's rotate property turns
+        // about the center of its bounds, the same point, without a Rotate and a transform list per obstacle;
+        // most rectangles are axis-aligned and need neither.
         this.body = rectShape;
-        // Translate to the final position AFTER setting up rotation relative to its own center
         this.body.setLayoutX(centerX);
         this.body.setLayoutY(centerY);
-        this.body.getTransforms().addAll(rotate);
+        if (angleDegrees != 0) this.body.setRotate(angleDegrees);
 
         this.color = (fatal ? Color.RED : color);
         this.body.setFill(this.color);
@@ -200,6 +358,145 @@ class RectangleObstacle extends Obstacle {
         return false;
     }
 
+    // Pure overlap test of a circle against this oriented box, no collision response.
+    // Works on primitives only so it can run every tick without allocating.
+    @Override
+    boolean overlapsCircle(double cx, double cy, double r) {
+        double relX = cx - this.pos.x;
+        double relY = cy - this.pos.y;
+        // Rotate by -angle into the box's local frame
+        double localX = relX * cosAngle + relY * sinAngle;
+        double localY = -relX * sinAngle + relY * cosAngle;
+
+        double halfWidth = this.width / 2.0;
+        double halfHeight = this.height / 2.0;
+        double dx = localX - Math.max(-halfWidth, Math.min(localX, halfWidth));
+        double dy = localY - Math.max(-halfHeight, Math.min(localY, halfHeight));
+        return dx * dx + dy * dy < r * r;
+    }
+
+    @Override
+    boolean solidBounds(double[] out) {
+        double extentX = Math.abs(this.width / 2.0 * cosAngle) + Math.abs(this.height / 2.0 * sinAngle);
+        double extentY = Math.abs(this.width / 2.0 * sinAngle) + Math.abs(this.height / 2.0 * cosAngle);
+        out[0] = this.pos.x - extentX;
+        out[1] = this.pos.y - extentY;
+        out[2] = this.pos.x + extentX;
+        out[3] = this.pos.y + extentY;
+        return true;
+    }
+
+    // Penetration of a circle into this box with the push-out normal written to normalOut, 0 when apart.
+    // Mirrors checkCollision (including the shallowest-axis case for a center inside the box) on primitives.
+    double contact(double cx, double cy, double r, double[] normalOut) {
+        double relX = cx - this.pos.x;
+        double relY = cy - this.pos.y;
+        double localX = relX * cosAngle + relY * sinAngle;
+        double localY = -relX * sinAngle + relY * cosAngle;
+
+        double halfWidth = this.width / 2.0;
+        double halfHeight = this.height / 2.0;
+        double nx, ny, penetration;
+        if (Math.abs(localX) <= halfWidth && Math.abs(localY) <= halfHeight) { // Center inside or exactly on an edge
+            double dx = halfWidth - Math.abs(localX);
+            double dy = halfHeight - Math.abs(localY);
+            if (dx < dy) {
+                nx = localX > 0 ? 1 : -1;
+                ny = 0;
+                penetration = r + dx;
+            } else {
+                nx = 0;
+                ny = localY > 0 ? 1 : -1;
+                penetration = r + dy;
+            }
+        } else {
+            double dx = localX - Math.max(-halfWidth, Math.min(localX, halfWidth));
+            double dy = localY - Math.max(-halfHeight, Math.min(localY, halfHeight));
+            double distSq = dx * dx + dy * dy;
+            if (distSq >= r * r) return 0;
+            double dist = Math.sqrt(distSq);
+            nx = dx / dist;
+            ny = dy / dist;
+            penetration = r - dist;
+        }
+        // Back to world space
+        normalOut[0] = nx * cosAngle - ny * sinAngle;
+        normalOut[1] = nx * sinAngle + ny * cosAngle;
+        return penetration;
+    }
+
+    // Whether the segment passes through the box itself, slab test in the box's local frame
+    boolean segmentHits(double x0, double y0, double x1, double y1) {
+        double rx0 = x0 - this.pos.x, ry0 = y0 - this.pos.y;
+        double rx1 = x1 - this.pos.x, ry1 = y1 - this.pos.y;
+        double lx0 = rx0 * cosAngle + ry0 * sinAngle, ly0 = -rx0 * sinAngle + ry0 * cosAngle;
+        double lx1 = rx1 * cosAngle + ry1 * sinAngle, ly1 = -rx1 * sinAngle + ry1 * cosAngle;
+
+        double tMin = 0, tMax = 1;
+        double[] origin = {lx0, ly0};
+        double[] dir = {lx1 - lx0, ly1 - ly0};
+        double[] half = {this.width / 2.0, this.height / 2.0};
+        for (int axis = 0; axis < 2; axis++) {
+            if (Math.abs(dir[axis]) < 1e-12) {
+                if (Math.abs(origin[axis]) >= half[axis]) return false;
+            } else {
+                double t1 = (-half[axis] - origin[axis]) / dir[axis];
+                double t2 = (half[axis] - origin[axis]) / dir[axis];
+                tMin = Math.max(tMin, Math.min(t1, t2));
+                tMax = Math.min(tMax, Math.max(t1, t2));
+                if (tMin > tMax) return false;
+            }
+        }
+        return true;
+    }
+
+    // Slab test in the box's local frame, like segmentHits but unbounded and returning the entry distance
+    @Override
+    double rayDistance(double ox, double oy, double dirX, double dirY) {
+        double rx = ox - this.pos.x, ry = oy - this.pos.y;
+        double lx = rx * cosAngle + ry * sinAngle, ly = -rx * sinAngle + ry * cosAngle;
+        double ldx = dirX * cosAngle + dirY * sinAngle, ldy = -dirX * sinAngle + dirY * cosAngle;
+        double halfWidth = this.width / 2.0, halfHeight = this.height / 2.0;
+
+        double tMin = 0, tMax = Double.POSITIVE_INFINITY;
+        if (Math.abs(ldx) < 1e-12) {
+            if (Math.abs(lx) > halfWidth) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (-halfWidth - lx) / ldx, t2 = (halfWidth - lx) / ldx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (Math.abs(ldy) < 1e-12) {
+            if (Math.abs(ly) > halfHeight) return Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (-halfHeight - ly) / ldy, t2 = (halfHeight - ly) / ldy;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        return tMin <= tMax ? tMin : Double.POSITIVE_INFINITY;
+    }
+
+    // The face whose slab the point is deepest in relative to its half extent, rotated back to world space
+    @Override
+    void surfaceNormal(double x, double y, double[] out) {
+        double rx = x - this.pos.x, ry = y - this.pos.y;
+        double lx = rx * cosAngle + ry * sinAngle, ly = -rx * sinAngle + ry * cosAngle;
+        double nx = 0, ny = 0;
+        if (Math.abs(lx) / this.width > Math.abs(ly) / this.height) nx = Math.signum(lx);
+        else ny = ly < 0 ? -1 : 1;
+        out[0] = nx * cosAngle - ny * sinAngle;
+        out[1] = nx * sinAngle + ny * cosAngle;
+    }
+
+    @Override
+    double signedDistance(double x, double y) {
+        double rx = x - this.pos.x, ry = y - this.pos.y;
+        double qx = Math.abs(rx * cosAngle + ry * sinAngle) - this.width / 2.0;
+        double qy = Math.abs(-rx * sinAngle + ry * cosAngle) - this.height / 2.0;
+        double outX = Math.max(qx, 0), outY = Math.max(qy, 0);
+        return Math.sqrt(outX * outX + outY * outY) + Math.min(Math.max(qx, qy), 0);
+    }
+
     // New handleCollision method for RectangleObstacle
     void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
         if (this.fatal) c.revive();
@@ -210,28 +507,33 @@ class RectangleObstacle extends Obstacle {
         // Ensure penetration is positive
         penetration = Math.max(0, penetration);
         c.pos.add(normal.getX() * (penetration + epsilon), normal.getY() * (penetration + epsilon));
-        c.body.setCenterX(c.pos.getX());
-        c.body.setCenterY(c.pos.getY());
+        c.syncBody();
 
         // 2. Velocity Adjustment for Sliding and Bounce
-        double vDotN = c.v.dot(normal);
+        double[] v = {c.v.x, c.v.y};
+        reflect(v, normal.getX(), normal.getY());
+        c.v.setX(v[0]);
+        c.v.setY(v[1]);
+    }
+
+    // Velocity response to a contact with the given normal, applied to v in place.
+    // Shared with ReachabilityAnalyzer, which simulates the ball on primitives.
+    void reflect(double[] v, double nx, double ny) {
+        double vDotN = v[0] * nx + v[1] * ny;
 
         if (vDotN < 0) { // Character is moving into the surface
             double restitution = 0.5; // Low restitution for less bounce, more slide
             double surfaceFrictionCoefficient = 0.01; // Friction for sliding along the surface
 
             // Decompose velocity into normal and tangential components
-            Point2D vn = normal.scale(vDotN); // Normal component of velocity (points into surface)
-            Point2D vt = new Point2D(c.v.getX() - vn.getX(), c.v.getY() - vn.getY()); // Tangential component
+            double vnX = nx * vDotN, vnY = ny * vDotN;       // Normal component of velocity (points into surface)
+            double vtX = v[0] - vnX, vtY = v[1] - vnY;       // Tangential component
 
             // New velocity:
             // Normal component: Reflects with restitution (bounce)
             // Tangential component: Scaled by friction (slide)
-            double newVx = -vn.getX() * restitution + vt.getX() * (1.0 - surfaceFrictionCoefficient);
-            double newVy = -vn.getY() * restitution + vt.getY() * (1.0 - surfaceFrictionCoefficient);
-
-            c.v.setX(newVx);
-            c.v.setY(newVy);
+            v[0] = -vnX * restitution + vtX * (1.0 - surfaceFrictionCoefficient);
+            v[1] = -vnY * restitution + vtY * (1.0 - surfaceFrictionCoefficient);
         }
     }
 
@@ -242,26 +544,223 @@ class RectangleObstacle extends Obstacle {
 }
 
 class CutOffObstacle extends Obstacle {
-    Shape body;
+    // A solid shape with another shape carved out of it. The carved outline is split into convex pieces
+    // once here (see ConvexDecomposition), each with its own AABB, so a contact costs a few edge tests
+    // on the pieces near the ball, like a rectangle. The whole shape is one Broadphase solid.
+    private final ConvexDecomposition.Piece[] pieces;
+    private final double minX, minY, maxX, maxY;
 
     CutOffObstacle(Pane pane, Shape main, Shape cut, Color color) {
+        this(pane, main, cut, color, false);
+    }
+
+    CutOffObstacle(Pane pane, Shape main, Shape cut, Color color, boolean fatal) {
+        this(pane, main, cut, color, fatal, null);
+    }
+
+    // geometryKey identifies the shape (its line), so identical ones share their pieces (SharedGeometry);
+    // null decomposes this one on its own
+    CutOffObstacle(Pane pane, Shape main, Shape cut, Color color, boolean fatal, String geometryKey) {
         this.body = Shape.subtract(main, cut);
-        this.body.setFill(color);
+        this.fatal = fatal;
+        this.color = (fatal ? Color.RED : color);
+        this.body.setFill(this.color);
         this.body.setStroke(Color.BLACK);
         pane.getChildren().add(this.body);
+
+        Shape outline = this.body;
+        this.pieces = geometryKey == null ? decompose(outline)
+                : SharedGeometry.intern("CutOffObstacle " + geometryKey, () -> decompose(outline));
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (ConvexDecomposition.Piece piece : pieces) {
+            x0 = Math.min(x0, piece.minX);
+            y0 = Math.min(y0, piece.minY);
+            x1 = Math.max(x1, piece.maxX);
+            y1 = Math.max(y1, piece.maxY);
+        }
+        this.minX = x0;
+        this.minY = y0;
+        this.maxX = x1;
+        this.maxY = y1;
+        this.pos = new Point2D((x0 + x1) / 2, (y0 + y1) / 2);
+    }
+
+    private static ConvexDecomposition.Piece[] decompose(Shape outline) {
+        return ConvexDecomposition.decompose(outline).toArray(new ConvexDecomposition.Piece[0]);
     }
 
+    @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
-        // Complex collision for generic shapes, typically involves checking path intersections
-        // or using libraries for this. For now, returning false.
-        return false;
+        double[] normal = new double[2];
+        double penetration = contact(c.pos.getX() + dispX, c.pos.getY() + dispY, c.radius, normal);
+        if (penetration <= 0) return false;
+        handleCollision(c, new Point2D(normal[0], normal[1]), penetration, deltaTime);
+        return true;
     }
 
-    // No specific handleCollision defined for CutOffObstacle yet.
-    // If it were to be used, it would need its own collision response.
+    // Penetration of a circle into the carved shape with the push-out normal written to normalOut, 0 when
+    // apart. Pieces whose AABB or edge axes (SAT) separate them from the circle are skipped; of the rest,
+    // only outline edges give the closest point, so the seams between pieces never push the ball.
+    // Thread-safe, like CircleObstacle.contact and RectangleObstacle.contact.
+    double contact(double cx, double cy, double r, double[] normalOut) {
+        if (cx + r < minX || cx - r > maxX || cy + r < minY || cy - r > maxY) return 0;
+        boolean inside = false;
+        double[] closest = {Double.POSITIVE_INFINITY, 0, 0};
+        for (ConvexDecomposition.Piece piece : pieces) {
+            if (cx + r < piece.minX || cx - r > piece.maxX || cy + r < piece.minY || cy - r > piece.maxY) continue;
+            double separation = piece.separation(cx, cy);
+            if (separation >= r) continue;
+            if (separation <= 0) inside = true;
+            closestOutlinePoint(piece, cx, cy, closest);
+        }
+        if (inside && closest[0] == Double.POSITIVE_INFINITY) { // Deeper than the radius, look further out
+            for (ConvexDecomposition.Piece piece : pieces) closestOutlinePoint(piece, cx, cy, closest);
+        }
+        double dist = Math.sqrt(closest[0]);
+        if (!inside && dist >= r) return 0;
+        if (dist < 1e-12) { // Exactly on the outline, any nearby piece edge normal will do
+            surfaceNormal(cx, cy, normalOut);
+        } else {
+            double sign = inside ? -1 : 1; // From the outline towards the center, flipped when the center is inside
+            normalOut[0] = sign * (cx - closest[1]) / dist;
+            normalOut[1] = sign * (cy - closest[2]) / dist;
+        }
+        return inside ? r + dist : r - dist;
+    }
+
+    // Keeps the nearest point on the piece's outline edges to (px, py) in best as {distSq, x, y}
+    private static void closestOutlinePoint(ConvexDecomposition.Piece piece, double px, double py, double[] best) {
+        int n = piece.x.length;
+        for (int i = 0; i < n; i++) {
+            if (!piece.outline[i]) continue;
+            int j = (i + 1) % n;
+            double ex = piece.x[j] - piece.x[i], ey = piece.y[j] - piece.y[i];
+            double lenSq = ex * ex + ey * ey;
+            double t = lenSq == 0 ? 0 : ((px - piece.x[i]) * ex + (py - piece.y[i]) * ey) / lenSq;
+            t = Math.max(0, Math.min(1, t));
+            double qx = piece.x[i] + ex * t, qy = piece.y[i] + ey * t;
+            double dSq = (px - qx) * (px - qx) + (py - qy) * (py - qy);
+            if (dSq < best[0]) {
+                best[0] = dSq;
+                best[1] = qx;
+                best[2] = qy;
+            }
+        }
+    }
+
+    @Override
+    boolean overlapsCircle(double cx, double cy, double r) {
+        return contact(cx, cy, r, new double[2]) > 0;
+    }
+
+    // Whether the segment passes through the carved shape itself
+    boolean segmentHits(double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0, dy = y1 - y0;
+        double len = Math.sqrt(dx * dx + dy * dy);
+        if (len == 0) return signedDistance(x0, y0) < 0;
+        return rayDistance(x0, y0, dx / len, dy / len) < len;
+    }
+
+    @Override
+    boolean solidBounds(double[] out) {
+        out[0] = minX;
+        out[1] = minY;
+        out[2] = maxX;
+        out[3] = maxY;
+        return true;
+    }
+
+    // Entry distance into the nearest piece, each clipped against its edge half-planes (Cyrus-Beck)
+    @Override
+    double rayDistance(double ox, double oy, double dirX, double dirY) {
+        double best = Double.POSITIVE_INFINITY;
+        for (ConvexDecomposition.Piece piece : pieces) {
+            double tMin = 0, tMax = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < piece.x.length && tMin <= tMax; i++) {
+                double dist = (ox - piece.x[i]) * piece.nx[i] + (oy - piece.y[i]) * piece.ny[i];
+                double rate = dirX * piece.nx[i] + dirY * piece.ny[i];
+                if (Math.abs(rate) < 1e-12) {
+                    if (dist > 0) tMin = Double.POSITIVE_INFINITY; // Parallel and outside this edge
+                } else if (rate < 0) {
+                    tMin = Math.max(tMin, -dist / rate); // Entering through this edge
+                } else {
+                    tMax = Math.min(tMax, -dist / rate);
+                }
+            }
+            if (tMin <= tMax && tMin < best) best = tMin;
+        }
+        return best;
+    }
+
+    // Normal of the nearest outline edge
+    @Override
+    void surfaceNormal(double x, double y, double[] out) {
+        double bestSq = Double.POSITIVE_INFINITY;
+        out[0] = 0;
+        out[1] = -1;
+        for (ConvexDecomposition.Piece piece : pieces) {
+            int n = piece.x.length;
+            for (int i = 0; i < n; i++) {
+                if (!piece.outline[i]) continue;
+                int j = (i + 1) % n;
+                double ex = piece.x[j] - piece.x[i], ey = piece.y[j] - piece.y[i];
+                double lenSq = ex * ex + ey * ey;
+                double t = lenSq == 0 ? 0 : Math.max(0, Math.min(1, ((x - piece.x[i]) * ex + (y - piece.y[i]) * ey) / lenSq));
+                double dx = x - piece.x[i] - ex * t, dy = y - piece.y[i] - ey * t;
+                double dSq = dx * dx + dy * dy;
+                if (dSq < bestSq) {
+                    bestSq = dSq;
+                    out[0] = piece.nx[i];
+                    out[1] = piece.ny[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    double signedDistance(double x, double y) {
+        boolean inside = false;
+        double[] closest = {Double.POSITIVE_INFINITY, 0, 0};
+        for (ConvexDecomposition.Piece piece : pieces) {
+            if (!inside && piece.separation(x, y) <= 0) inside = true;
+            closestOutlinePoint(piece, x, y, closest);
+        }
+        double dist = Math.sqrt(closest[0]);
+        return inside ? -dist : dist;
+    }
+
+    // Same response as a rectangle: carved shapes are level geometry the ball slides along
+    void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
+        if (this.fatal) c.revive();
+
+        c.jumpCount = 0;
+
+        penetration = Math.max(0, penetration);
+        c.pos.add(normal.getX() * (penetration + epsilon), normal.getY() * (penetration + epsilon));
+        c.syncBody();
+
+        double[] v = {c.v.x, c.v.y};
+        reflect(v, normal.getX(), normal.getY());
+        c.v.setX(v[0]);
+        c.v.setY(v[1]);
+    }
+
+    // Velocity response to a contact with the given normal, applied to v in place, as RectangleObstacle's
+    void reflect(double[] v, double nx, double ny) {
+        double vDotN = v[0] * nx + v[1] * ny;
+        if (vDotN < 0) {
+            double restitution = 0.5;
+            double surfaceFrictionCoefficient = 0.01;
+            double vnX = nx * vDotN, vnY = ny * vDotN;
+            double vtX = v[0] - vnX, vtY = v[1] - vnY;
+            v[0] = -vnX * restitution + vtX * (1.0 - surfaceFrictionCoefficient);
+            v[1] = -vnY * restitution + vtY * (1.0 - surfaceFrictionCoefficient);
+        }
+    }
 
     @Override
     public void update(double deltaTime) {
         // No active update logic needed for this obstacle type
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,15 @@
 package com.binge;
 
-import com.binge.LaserObstacle;
-import com.binge.LaserObstacle.LaserOrientation;
-import com.binge.SpinningLaserObstacle;
-import com.binge.TrackingLaserObstacle;
-import com.binge.HomingMissileLauncherObstacle;
-import com.binge.SpiralMissileLauncherObstacle;
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Arrays; // For error message
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
 import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.paint.Color;
@@ -71,423 +70,320 @@ public class PageLoader {
         pane.getChildren().add(stageBtn);
 
         stageBtn.setOnAction(e -> {
-            character.inGame = true;
-            character.levelNum = 1;
-            character.sublevelNum = 1;
             loadStage(1);
+            startRun(); // Only after loading, a simulation thread must not step a half-built level
         });
 
         Main.scene.setRoot(pane);
     }
 
     public static void loadStage(int n) {
+        loadStage("src/com/binge/Stages/stage" + n + "/", n);
+    }
+
+    // Any stage directory, e.g. the level editor's
+    public static void loadStage(String path, int n) {
+        GameEvents.StageLoadEvent loadEvent = new GameEvents.StageLoadEvent();
+        loadEvent.begin();
+
+        SharedGeometry.clear(); // Nothing of the previous stage is built again
+        Level level = World.enabled ? World.buildLevel(path, n) // A world streams its chunks
+                : LeanMode.enabled ? LeanMode.buildLevel(path, n) // Only the sublevels the player is near are built
+                : buildLevel(path, n);
+        for (Sublevel sublevel : level.sublevels) loadEvent.bytes += sublevel.sourceBytes;
+
+        for (Character c : Main.characters) {
+            c.levelNum = n;
+            c.sublevelNum = 1;
+        }
+        pane = level.sublevels.getFirst().pane;
+        pane.getChildren().add(canvas);
+        Main.scene.setRoot(World.enabled ? World.viewport() : pane);
+
+        Main.currentLevel = level;
+        Main.currentSublevel = level.sublevels.getFirst();
+        TickScheduler.clear(); // Cooldowns and size changes of the previous run don't carry over
+        StageWatcher.watch(path, level);
+
+        loadEvent.stage = n;
+        loadEvent.sublevels = level.levelLength;
+        loadEvent.commit();
+    }
+
+    // Parses every sublevel file of a stage directory into a Level, without touching the scene
+    public static Level buildLevel(String path, int n) {
         Level level = new Level(n);
-        String path = "src/com/binge/Stages/stage" + n + "/";
         File dir = new File(path);
-        File[] directoryListing = dir.listFiles();
+        File[] directoryListing = sublevelFiles(dir);
         if (directoryListing != null) {
             for (File child : directoryListing) {
-                Sublevel sublevel = loadStageFromFile(path + child.getName(), level.levelLength+1);
+                Sublevel sublevel = loadStageFromFile(new File(dir, child.getName()).getPath(), level.levelLength+1);
+                sublevel.sourceBytes = child.length();
                 level.sublevels.add(sublevel);
                 level.checkpoints.add(sublevel.checkpoint);
                 if (sublevel.checkpoint != null) sublevel.checkpoint.substageNum = level.sublevels.size();
                 level.levelLength += 1;
             }
         }
-        character.levelNum = n;
-        character.sublevelNum = 1;
-        pane = level.sublevels.getFirst().pane;
-        pane.getChildren().add(canvas);
-        Main.scene.setRoot(pane);
+        return level;
+    }
 
-        Main.currentLevel = level;
-        Main.currentSublevel = level.sublevels.getFirst();
+    // Builds a sublevel from its file without the ball placement of "initial position", which only sets
+    // the spawn: for sublevels built after the run started (World chunks, LeanMode rooms)
+    static Sublevel buildDetached(String file, int n) {
+        ArrayList<StageRecord> records = parseStageFile(file);
+        Point2D spawn = null;
+        for (StageRecord record : records) {
+            if (record.section.equals("initial position") && record.tokens.length >= 2) {
+                spawn = new Point2D(Double.parseDouble(record.tokens[0]), Double.parseDouble(record.tokens[1]));
+            }
+        }
+        records.removeIf(record -> record.section.equals("initial position"));
+        Sublevel fresh = buildSublevel(records, n);
+        fresh.spawn = spawn;
+        fresh.sourceBytes = new File(file).length();
+        return fresh;
+    }
+
+    // The .in files of a stage directory in sublevel order (1.in, 2.in, ... 10.in), other files such as
+    // cached analysis results are ignored. null if the directory does not exist.
+    static File[] sublevelFiles(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".in"));
+        if (files == null) return null;
+        Arrays.sort(files, Comparator.comparingInt(PageLoader::sublevelIndex).thenComparing(File::getName));
+        return files;
+    }
+
+    private static int sublevelIndex(File file) {
+        String name = file.getName();
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - ".in".length()));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    // One data line of a .in file, tagged with the section header it appeared under
+    static class StageRecord {
+        final String section;
+        final String[] tokens;
+
+        StageRecord(String section, String[] tokens) {
+            this.section = section;
+            this.tokens = tokens;
+        }
+
+        // A number as it is written back into a line: integers without a fraction, the rest to two decimals
+        static String number(double value) {
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+            String s = String.format(Locale.ROOT, "%.2f", value);
+            return s.replaceAll("0+$", "").replaceAll("\\.$", "");
+        }
+    }
+
+    // What one record created in its sublevel: the objects in each list and the nodes it added to the pane
+    static class BuiltRecord {
+        final StageRecord record;
+        final ArrayList<Obstacle> obstacles = new ArrayList<>();
+        final ArrayList<Collectible> items = new ArrayList<>();
+        final ArrayList<Displacer> displacers = new ArrayList<>();
+        final ArrayList<Lock> locks = new ArrayList<>();
+        final ArrayList<Node> nodes = new ArrayList<>();
+        Checkpoint checkpoint;
+        Goal goal;
+
+        private final int obstacleMark, itemMark, displacerMark, lockMark, nodeMark;
+        private final Checkpoint checkpointBefore;
+        private final Goal goalBefore;
+
+        // Taken just before the record is built, collect() then picks up whatever was added since
+        BuiltRecord(StageRecord record, Sublevel sublevel) {
+            this.record = record;
+            this.obstacleMark = sublevel.obstacles.size();
+            this.itemMark = sublevel.items.size();
+            this.displacerMark = sublevel.displacers.size();
+            this.lockMark = sublevel.locks.size();
+            this.nodeMark = sublevel.pane.getChildren().size();
+            this.checkpointBefore = sublevel.checkpoint;
+            this.goalBefore = sublevel.goal;
+        }
+
+        BuiltRecord collect(Sublevel sublevel) {
+            obstacles.addAll(sublevel.obstacles.subList(obstacleMark, sublevel.obstacles.size()));
+            items.addAll(sublevel.items.subList(itemMark, sublevel.items.size()));
+            displacers.addAll(sublevel.displacers.subList(displacerMark, sublevel.displacers.size()));
+            locks.addAll(sublevel.locks.subList(lockMark, sublevel.locks.size()));
+            if (sublevel.checkpoint != checkpointBefore) checkpoint = sublevel.checkpoint;
+            if (sublevel.goal != goalBefore) goal = sublevel.goal;
+            nodes.addAll(sublevel.pane.getChildren().subList(nodeMark, sublevel.pane.getChildren().size()));
+            return this;
+        }
     }
 
     public static Sublevel loadStageFromFile(String filename, int n) {
-        Sublevel sublevel = new Sublevel(n);
+        GameEvents.SublevelLoadEvent loadEvent = new GameEvents.SublevelLoadEvent();
+        loadEvent.begin();
+
+        // Parsing and node creation are kept apart so each can be measured on its own
+        long parseStart = System.nanoTime();
+        ArrayList<StageRecord> records = parseStageFile(filename);
+        long buildStart = System.nanoTime();
+        Sublevel sublevel = buildSublevel(records, n);
+        long buildEnd = System.nanoTime();
+
+        loadEvent.end();
+        if (loadEvent.shouldCommit()) {
+            loadEvent.file = filename;
+            loadEvent.sublevel = n;
+            loadEvent.bytes = new File(filename).length();
+            loadEvent.records = records.size();
+            loadEvent.parseTime = buildStart - parseStart;
+            loadEvent.buildTime = buildEnd - buildStart;
+            loadEvent.commit();
+        }
+        return sublevel;
+    }
 
-//        Main.obstacles.clear();
-//        Main.items.clear();
-//        Main.displacers.clear();
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-//            pane.getChildren().clear();
-//
-//            stage.getChildren().add(Main.canvas);
+    // Reads a .in file into records without touching the scene graph
+    public static ArrayList<StageRecord> parseStageFile(String filename) {
+        ArrayList<StageRecord> records = new ArrayList<>();
 
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             String line;
             String section = "";
             while ((line = br.readLine()) != null) {
                 line = line.trim();
-                if (line.isEmpty()) continue;
+                if (line.isEmpty() || line.startsWith("#")) continue; // Blank line or comment
 
                 if (line.startsWith("stage")) {
                     continue;
-                } else if (line.equals("initial position") ||line.equals("CircleObstacle") ||
-                        line.equals("RectangleObstacle") || line.equals("Coin") ||
-                        line.equals("SizeShifter") || line.equals("GrapplePoint") || line.equals("Checkpoint") ||
-                        line.equals("CircleTrap") || line.equals("Goal") || line.equals("Lock") || line.equals("LaserObstacle") || line.equals("VerticalLaserObstacle") || line.equals("SpinningLaserObstacle") || line.equals("TrackingLaserObstacle") || line.equals("HomingMissileLauncherObstacle") || line.equals("SpiralMissileLauncherObstacle")) {
+                } else if (line.equals("initial position") || line.equals("Coin") || line.equals("SizeShifter") ||
+                        line.equals("GrapplePoint") || line.equals("Checkpoint") || line.equals("CircleTrap") ||
+                        line.equals("Goal") || line.equals("Lock") || ObstacleRegistry.lookup(line) != null) {
                     section = line;
-                } else {
-                    String[] tokens = line.split("\\s+");
-                    switch (section) {
-                        case "initial position":
-                            if (tokens.length >= 2) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-//                                character = new Character(x, y, 20, Color.rgb(255,241,204));
-                                character.pos.setX(x);
-                                character.pos.setY(y);
-                                sublevel.pane.getChildren().add(character.body);
-                            }
-                            break;
-                        case "CircleObstacle":
-                            if (tokens.length >= 3) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-                                int radius = Integer.parseInt(tokens[2]);
-                                boolean fatal = false;
-                                if (tokens.length >= 4) {
-                                    fatal = Boolean.parseBoolean(tokens[3]);
-                                }
-                                CircleObstacle co = new CircleObstacle(sublevel.pane, x, y, radius, Color.GRAY, fatal);
-                                sublevel.obstacles.add(co);
-                            }
-
-                            break;
-                        case "RectangleObstacle":
-                            if (tokens.length >= 5) {
-                                double cx = Double.parseDouble(tokens[0]);
-                                double cy = Double.parseDouble(tokens[1]);
-                                double width = Double.parseDouble(tokens[2]);
-                                double height = Double.parseDouble(tokens[3]);
-                                double angle = Double.parseDouble(tokens[4]);
-                                boolean fatal = false;
-                                if (tokens.length >= 6) {
-                                    fatal = Boolean.parseBoolean(tokens[5]);
-                                }
-                                RectangleObstacle ro = new RectangleObstacle(sublevel.pane, cx, cy, width, height, angle, Color.GRAY, fatal);
-                                sublevel.obstacles.add(ro);
-                            }
-                            break;
-                        case "Checkpoint":
-                            if (tokens.length >= 2) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-                                sublevel.checkpoint = new Checkpoint(sublevel.pane, x, y);
-                            }
-                            break;
-                        case "Coin":
-                            if (tokens.length >= 4) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-                                int radius = Integer.parseInt(tokens[2]);
-                                int value = Integer.parseInt(tokens[3]);
-                                Coin coin = new Coin(sublevel.pane, x, y, radius, value);
-                                sublevel.items.add(coin);
-                            }
-                            break;
-                        case "Lock":
-                            if (tokens.length >= 4) {
-                                double lockX = Double.parseDouble(tokens[0]);
-                                double lockY = Double.parseDouble(tokens[1]);
-                                double keyX = Double.parseDouble(tokens[2]);
-                                double keyY = Double.parseDouble(tokens[3]);
-                                Random rand = new Random();
-                                Color color = new Color(rand.nextDouble(), rand.nextDouble(), rand.nextDouble(), 1.0); // 1.0 is full opacity
-
-                                Lock lock = new Lock(sublevel.pane, lockX, lockY, 30, 50, color,
-                                        keyX, keyY);
-                                sublevel.locks.add(lock);
-                            }
-                            break;
-                        case "SizeShifter":
-                            if (tokens.length >= 4) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-                                int radius = Integer.parseInt(tokens[2]);
-                                int increment = Integer.parseInt(tokens[3]);
-                                SizeShifter ss = new SizeShifter(sublevel.pane, x, y, radius, increment);
-                                sublevel.items.add(ss);
-                            }
-                            break;
-                        case "GrapplePoint":
-                            if (tokens.length >= 3) {
-                                double x = Double.parseDouble(tokens[0]);
-                                double y = Double.parseDouble(tokens[1]);
-                                int radius = Integer.parseInt(tokens[2]);
-                                GrapplePoint gp = new GrapplePoint(sublevel.pane, x, y, radius);
-                                sublevel.displacers.add(gp);
-                            }
-                            break;
-                        case "Goal":
-                            if (tokens.length >= 1) {
-                                double x = Double.parseDouble(tokens[0]);
-                                sublevel.goal = new Goal(sublevel.pane, x);
-                            }
-                            break;
-                        case "LaserObstacle":
-                            if (tokens.length >= 3) {
-                                double yPos = Double.parseDouble(tokens[0]);
-                                double startX = Double.parseDouble(tokens[1]);
-                                double endX = Double.parseDouble(tokens[2]);
-                                double initialTimerOffset = 0.0; // Default value
-                                if (tokens.length >= 4) {
-                                    initialTimerOffset = Double.parseDouble(tokens[3]);
-                                }
-                                // Calculate initiallyOn based on offset, consistent with LaserObstacle constructor
-                                boolean initiallyOn = (initialTimerOffset % 4.0) < 2.0; // Assuming cycleDuration=4.0, onDuration=2.0
-
-                                boolean isPulsing = false;
-                                double minThickness = 3.0; // DEFAULT_LASER_THICKNESS
-                                double maxThickness = 3.0; // DEFAULT_LASER_THICKNESS
-                                double pulseDuration = 1.0;
-
-                                // tokens[4] is isPulsing
-                                if (tokens.length > 4) {
-                                    isPulsing = Integer.parseInt(tokens[4]) == 1;
-                                    if (isPulsing) {
-                                        // tokens[5] is minThickness, tokens[6] is maxThickness, tokens[7] is pulseDuration
-                                        if (tokens.length > 7) {
-                                            minThickness = Double.parseDouble(tokens[5]);
-                                            maxThickness = Double.parseDouble(tokens[6]);
-                                            pulseDuration = Double.parseDouble(tokens[7]);
-                                        } else { // isPulsing is true, but not all 3 specific params given
-                                            minThickness = 1.0;
-                                            maxThickness = 5.0;
-                                        }
-                                    }
-                                }
-
-                                LaserObstacle laser = new LaserObstacle(
-                                        sublevel.pane,
-                                        LaserOrientation.HORIZONTAL,
-                                        yPos, startX, endX,
-                                        initiallyOn, initialTimerOffset,
-                                        isPulsing, minThickness, maxThickness, pulseDuration // New params
-                                );
-                                sublevel.obstacles.add(laser);
-                            }
-                            break;
-                        case "VerticalLaserObstacle":
-                            if (tokens.length >= 3) {
-                                double xPos = Double.parseDouble(tokens[0]);     // primaryAxisPos (x for vertical)
-                                double startY = Double.parseDouble(tokens[1]);  // startSecondaryAxis (startY for vertical)
-                                double endY = Double.parseDouble(tokens[2]);    // endSecondaryAxis (endY for vertical)
-                                double initialTimerOffset = 0.0;
-                                if (tokens.length >= 4) {
-                                    initialTimerOffset = Double.parseDouble(tokens[3]);
-                                }
-                                boolean initiallyOn = (initialTimerOffset % 4.0) < 2.0; // Consistent calculation
-
-                                boolean isPulsing = false;
-                                double minThickness = 3.0; // DEFAULT_LASER_THICKNESS
-                                double maxThickness = 3.0; // DEFAULT_LASER_THICKNESS
-                                double pulseDuration = 1.0;
-
-                                // tokens[4] is isPulsing
-                                if (tokens.length > 4) {
-                                    isPulsing = Integer.parseInt(tokens[4]) == 1;
-                                    if (isPulsing) {
-                                        // tokens[5] is minThickness, tokens[6] is maxThickness, tokens[7] is pulseDuration
-                                        if (tokens.length > 7) {
-                                            minThickness = Double.parseDouble(tokens[5]);
-                                            maxThickness = Double.parseDouble(tokens[6]);
-                                            pulseDuration = Double.parseDouble(tokens[7]);
-                                        } else { // isPulsing is true, but not all 3 specific params given
-                                            minThickness = 1.0;
-                                            maxThickness = 5.0;
-                                        }
-                                    }
-                                }
-
-                                LaserObstacle verticalLaser = new LaserObstacle(
-                                        sublevel.pane,
-                                        LaserOrientation.VERTICAL,
-                                        xPos, startY, endY,
-                                        initiallyOn, initialTimerOffset,
-                                        isPulsing, minThickness, maxThickness, pulseDuration // New params
-                                );
-                                sublevel.obstacles.add(verticalLaser);
-                            }
-                            break;
-                        case "SpinningLaserObstacle":
-                            // Expected format: pivotX pivotY length initialAngleDeg rotationSpeedDegPerSec [timerOffset] [isPulsing] [minThick] [maxThick] [pulseDur]
-                            if (tokens.length >= 5) {
-                                double pivotX = Double.parseDouble(tokens[0]);
-                                double pivotY = Double.parseDouble(tokens[1]);
-                                double length = Double.parseDouble(tokens[2]);
-                                double initialAngleDegrees = Double.parseDouble(tokens[3]);
-                                double rotationSpeedDegrees = Double.parseDouble(tokens[4]);
-                                double initialTimerOffsetSpin = 0.0; // Default
-                                if (tokens.length >= 6) {
-                                    initialTimerOffsetSpin = Double.parseDouble(tokens[5]);
-                                }
-
-                                Point2D pivot = new Point2D(pivotX, pivotY);
-
-                                boolean isPulsingSpin = false;
-                                double minThicknessSpin = 3.0; // DEFAULT_LASER_THICKNESS
-                                double maxThicknessSpin = 3.0; // DEFAULT_LASER_THICKNESS
-                                double pulseDurationSpin = 1.0;
-
-                                // tokens[6] is isPulsing for spinning lasers
-                                if (tokens.length > 6) {
-                                    isPulsingSpin = Integer.parseInt(tokens[6]) == 1;
-                                    if (isPulsingSpin) {
-                                        // tokens[7] is minThickness, tokens[8] is maxThickness, tokens[9] is pulseDuration
-                                        if (tokens.length > 9) {
-                                            minThicknessSpin = Double.parseDouble(tokens[7]);
-                                            maxThicknessSpin = Double.parseDouble(tokens[8]);
-                                            pulseDurationSpin = Double.parseDouble(tokens[9]);
-                                        } else { // isPulsing is true, but not all 3 specific params given
-                                            minThicknessSpin = 1.0;
-                                            maxThicknessSpin = 5.0;
-                                        }
-                                    }
-                                }
-
-                                SpinningLaserObstacle spinningLaser = new SpinningLaserObstacle(
-                                        sublevel.pane,
-                                        pivot, length,
-                                        initialAngleDegrees, rotationSpeedDegrees,
-                                        initialTimerOffsetSpin,
-                                        isPulsingSpin, minThicknessSpin, maxThicknessSpin, pulseDurationSpin // New params
-                                );
-                                sublevel.obstacles.add(spinningLaser);
-                            }
-                            break;
-                        case "TrackingLaserObstacle":
-                            // Expected format: emitterX emitterY rotationSpeedDeg detectionRange beamLength chargeSecs fireSecs cooldownSecs [initialAngleDeg]
-                            if (tokens.length >= 8) {
-                                double emitterX = Double.parseDouble(tokens[0]);
-                                double emitterY = Double.parseDouble(tokens[1]);
-                                double rotationSpeedDeg = Double.parseDouble(tokens[2]);
-                                double detectionRange = Double.parseDouble(tokens[3]);
-                                double beamLength = Double.parseDouble(tokens[4]);
-                                double chargeSecs = Double.parseDouble(tokens[5]);
-                                double fireSecs = Double.parseDouble(tokens[6]);
-                                double cooldownSecs = Double.parseDouble(tokens[7]);
-
-                                double initialAngleDeg = 0.0; // Default initial angle
-                                if (tokens.length >= 9) {
-                                    initialAngleDeg = Double.parseDouble(tokens[8]);
-                                }
-
-                                Point2D emitterPos = new Point2D(emitterX, emitterY);
-
-                                TrackingLaserObstacle trackingLaser = new TrackingLaserObstacle(
-                                        sublevel.pane,
-                                        emitterPos,
-                                        rotationSpeedDeg,
-                                        detectionRange,
-                                        beamLength,
-                                        chargeSecs,
-                                        fireSecs,
-                                        cooldownSecs,
-                                        initialAngleDeg
-                                );
-                                sublevel.obstacles.add(trackingLaser);
-                            }
-                            break;
-                        case "HomingMissileLauncherObstacle":
-                            // New Format: emitterX emitterY rotSpeedDeg detectRange lockonSecs fireInterval numProjectilesInSpread spreadAngleDeg cooldownSecs projSpeed projTurnRateDeg projLifespan [initialAngleDeg]
-                            if (tokens.length >= 12) { // Now 12 mandatory parameters
-                                double emitterX = Double.parseDouble(tokens[0]);
-                                double emitterY = Double.parseDouble(tokens[1]);
-                                double rotSpeedDeg = Double.parseDouble(tokens[2]);
-                                double detectRange = Double.parseDouble(tokens[3]);
-                                double lockonSecs = Double.parseDouble(tokens[4]);
-                                double fireInterval = Double.parseDouble(tokens[5]); // Still parsed, though current spread logic might not use it
-                                int numProjectilesInSpread = Integer.parseInt(tokens[6]); // Formerly volleySize
-                                double spreadAngleDegParam = Double.parseDouble(tokens[7]); // New spread angle param
-                                double cooldownSecs = Double.parseDouble(tokens[8]);      // Index shifted
-                                double projSpeed = Double.parseDouble(tokens[9]);         // Index shifted
-                                double projTurnRateDeg = Double.parseDouble(tokens[10]); // Index shifted
-                                double projLifespan = Double.parseDouble(tokens[11]);    // Index shifted
-
-                                double initialAngleDeg = 0.0; // Default initial angle
-                                if (tokens.length >= 13) { // Index shifted
-                                    initialAngleDeg = Double.parseDouble(tokens[12]);
-                                }
-
-                                Point2D emitterPos = new Point2D(emitterX, emitterY);
-
-                                HomingMissileLauncherObstacle launcher = new HomingMissileLauncherObstacle(
-                                        sublevel.pane,
-                                        emitterPos,
-                                        rotSpeedDeg,
-                                        detectRange,
-                                        lockonSecs,
-                                        fireInterval,
-                                        numProjectilesInSpread, // Passed as numProjectilesInSpread
-                                        spreadAngleDegParam,  // New argument
-                                        cooldownSecs,
-                                        projSpeed,
-                                        projTurnRateDeg,
-                                        projLifespan,
-                                        initialAngleDeg
-                                );
-                                sublevel.obstacles.add(launcher);
-                            } else {
-                                System.err.println("HomingMissileLauncherObstacle: Not enough parameters. Expected at least 12, got " + tokens.length + " for line: " + java.util.Arrays.toString(tokens));
-                            }
-                            break;
-                        case "SpiralMissileLauncherObstacle":
-                            // Expected format: emitterX emitterY initialAimRotSpeedDeg spiralRotSpeedDeg detectionRange aimTimeSecs spiralFireDurSecs fireIntervalSecs cooldownSecs projSpeed projTurnRateDeg projLifespanSecs [initialAngleDeg]
-                            if (tokens.length >= 12) { // 12 mandatory parameters
-                                double emitterX = Double.parseDouble(tokens[0]);
-                                double emitterY = Double.parseDouble(tokens[1]);
-                                double initialAimRotSpeedDeg = Double.parseDouble(tokens[2]);
-                                double spiralRotSpeedDeg = Double.parseDouble(tokens[3]);
-                                double detectionRange = Double.parseDouble(tokens[4]);
-                                double aimTimeSecs = Double.parseDouble(tokens[5]);
-                                double spiralFireDurSecs = Double.parseDouble(tokens[6]);
-                                double fireIntervalSecs = Double.parseDouble(tokens[7]);
-                                double cooldownSecs = Double.parseDouble(tokens[8]);
-                                double projSpeed = Double.parseDouble(tokens[9]);
-                                double projTurnRateDeg = Double.parseDouble(tokens[10]);
-                                double projLifespanSecs = Double.parseDouble(tokens[11]);
-
-                                double initialAngleDeg = 0.0; // Default initial angle
-                                if (tokens.length >= 13) {
-                                    initialAngleDeg = Double.parseDouble(tokens[12]);
-                                }
-
-                                Point2D emitterPos = new Point2D(emitterX, emitterY);
-
-                                SpiralMissileLauncherObstacle spiralLauncher = new SpiralMissileLauncherObstacle(
-                                        sublevel.pane, // Pass the sublevel's pane
-                                        emitterPos,
-                                        initialAimRotSpeedDeg,
-                                        spiralRotSpeedDeg,
-                                        detectionRange,
-                                        aimTimeSecs,
-                                        spiralFireDurSecs,
-                                        fireIntervalSecs,
-                                        cooldownSecs,
-                                        projSpeed,
-                                        projTurnRateDeg,
-                                        projLifespanSecs,
-                                        initialAngleDeg
-                                );
-                                sublevel.obstacles.add(spiralLauncher);
-                            } else {
-                                System.err.println("SpiralMissileLauncherObstacle: Not enough parameters. Expected at least 12, got " + tokens.length + " for line: " + java.util.Arrays.toString(tokens));
-                            }
-                            break;
-                    }
+                } else if (!section.isEmpty()) {
+                    records.add(new StageRecord(section, line.split("\\s+")));
                 }
             }
         } catch (IOException e) {
             System.err.println("Error reading file: " + filename);
         }
 
+        return records;
+    }
+
+    // Puts every ball into the freshly loaded stage, the player and its companions alike
+    static void startRun() {
+        for (Character c : Main.characters) {
+            c.v.setX(0);
+            c.v.setY(0);
+            c.jumpCount = 0;
+            c.lastCheckpoint = null;
+            c.inGame = true;
+        }
+    }
+
+    public static Sublevel buildSublevel(ArrayList<StageRecord> records, int n) {
+        Sublevel sublevel = new Sublevel(n);
+        if (StageWatcher.enabled) sublevel.built = new ArrayList<>();
+        buildRecords(sublevel, records);
+        sublevel.reindex();
         return sublevel;
     }
 
+    // Creates the objects and nodes of each record in the sublevel. With hot reload on, what each record
+    // created is remembered in sublevel.built, so StageWatcher can later replace just that record
+    // ("initial position" creates nothing and isn't remembered). Obstacle sections are built by their
+    // ObstacleFactory; the switch only holds the spawn, items, displacers, checkpoint, locks and goal.
+    static void buildRecords(Sublevel sublevel, List<StageRecord> records) {
+        for (StageRecord record : records) {
+            String section = record.section;
+            String[] tokens = record.tokens;
+            BuiltRecord built = sublevel.built != null ? new BuiltRecord(record, sublevel) : null;
+
+            switch (section) {
+                case "initial position":
+                    if (tokens.length >= 2) {
+                        double x = Double.parseDouble(tokens[0]);
+                        double y = Double.parseDouble(tokens[1]);
+//                                character = new Character(x, y, 20, Color.rgb(255,241,204));
+                        for (Character c : Main.characters) { // Every ball starts the level here
+                            c.pos.setX(x);
+                            c.pos.setY(y);
+                            sublevel.pane.getChildren().add(c.body);
+                        }
+                        sublevel.spawn = new Point2D(x, y);
+                    }
+                    break;
+                case "Checkpoint":
+                    if (tokens.length >= 2) {
+                        double x = Double.parseDouble(tokens[0]);
+                        double y = Double.parseDouble(tokens[1]);
+                        sublevel.checkpoint = new Checkpoint(sublevel.pane, x, y);
+                    }
+                    break;
+                case "Coin":
+                    if (tokens.length >= 4) {
+                        double x = Double.parseDouble(tokens[0]);
+                        double y = Double.parseDouble(tokens[1]);
+                        int radius = Integer.parseInt(tokens[2]);
+                        int value = Integer.parseInt(tokens[3]);
+                        Coin coin = new Coin(sublevel.pane, x, y, radius, value);
+                        sublevel.items.add(coin);
+                    }
+                    break;
+                case "Lock":
+                    if (tokens.length >= 4) {
+                        double lockX = Double.parseDouble(tokens[0]);
+                        double lockY = Double.parseDouble(tokens[1]);
+                        double keyX = Double.parseDouble(tokens[2]);
+                        double keyY = Double.parseDouble(tokens[3]);
+                        Random rand = new Random();
+                        Color color = LeanMode.enabled ? LeanMode.lockColor(rand)
+                                : new Color(rand.nextDouble(), rand.nextDouble(), rand.nextDouble(), 1.0); // 1.0 is full opacity
+
+                        Lock lock = new Lock(sublevel.pane, lockX, lockY, 30, 50, color,
+                                keyX, keyY);
+                        sublevel.locks.add(lock);
+                    }
+                    break;
+                case "SizeShifter":
+                    if (tokens.length >= 4) {
+                        double x = Double.parseDouble(tokens[0]);
+                        double y = Double.parseDouble(tokens[1]);
+                        int radius = Integer.parseInt(tokens[2]);
+                        int increment = Integer.parseInt(tokens[3]);
+                        SizeShifter ss = new SizeShifter(sublevel.pane, x, y, radius, increment);
+                        sublevel.items.add(ss);
+                    }
+                    break;
+                case "GrapplePoint":
+                    if (tokens.length >= 3) {
+                        double x = Double.parseDouble(tokens[0]);
+                        double y = Double.parseDouble(tokens[1]);
+                        int radius = Integer.parseInt(tokens[2]);
+                        GrapplePoint gp = new GrapplePoint(sublevel.pane, x, y, radius);
+                        sublevel.displacers.add(gp);
+                    }
+                    break;
+                case "Goal":
+                    if (tokens.length >= 1) {
+                        double x = Double.parseDouble(tokens[0]);
+                        sublevel.goal = new Goal(sublevel.pane, x);
+                    }
+                    break;
+                default: { // An obstacle kind
+                    ObstacleFactory factory = ObstacleRegistry.lookup(section);
+                    if (factory != null) ObstacleRegistry.build(sublevel, factory, tokens);
+                    break;
+                }
+            }
+            if (built != null && !section.equals("initial position")) sublevel.built.add(built.collect(sublevel));
+        }
+    }
+
     public static void loadCustomStage() {
-        Pane custom = new Pane(canvas);
+        LevelEditor.open();
     }
 
     public static void loadFinishPage() {
@@ -545,8 +441,8 @@ public class PageLoader {
         retry.setLayoutX(600);
         retry.setLayoutY(480);
         retry.setOnAction(event_retry -> {
-            character.inGame = true;
             loadStage(1);
+            startRun();
         });
         deathPage.getChildren().add(retry);
 
@@ -13,6 +13,14 @@ public class Sublevel {
     Checkpoint checkpoint;
     Goal goal;
     Pane pane;
+    Point2D spawn; // "initial position" of this file, if it has one
+    long sourceBytes; // Size of the .in file this was built from
+    EntityStore entities; // Runtime view of the lists above, built once loading is done
+    SignedDistanceField field; // Baked static solids, null unless SignedDistanceField.enabled
+    volatile ArrayList<PageLoader.BuiltRecord> built; // What each line of the file created, only kept for StageWatcher
+    final ArrayList<HomingLaserProjectile> projectiles = new ArrayList<>(); // In flight, launched by this sublevel's turrets
+    long dormantSince = -1; // TickScheduler.tick the player left, -1 while it is simulated
+    private Broadphase broadphase;
 
     Sublevel(int n) {
         this.num = n;
@@ -21,5 +29,20 @@ public class Sublevel {
         this.items = new ArrayList<>();
         this.displacers = new ArrayList<>();
         this.locks = new ArrayList<>();
+        this.entities = new EntityStore();
+    }
+
+    // Built by PageLoader once every obstacle is added, before any worker thread can query it
+    Broadphase broadphase() {
+        if (broadphase == null) broadphase = new Broadphase(this);
+        return broadphase;
+    }
+
+    // Rebuilds everything derived from the lists above, after loading or after StageWatcher changed them.
+    // On the thread that runs the simulation, between ticks.
+    void reindex() {
+        broadphase = new Broadphase(this); // Turrets ray-cast it from ObstacleUpdater workers, so not lazily
+        field = SignedDistanceField.enabled ? SignedDistanceField.bake(this) : null;
+        entities = EntityStore.build(this); // After the field, which marks what it covers
     }
 }
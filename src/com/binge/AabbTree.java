@@ -0,0 +1,260 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// Dynamic AABB tree: a binary tree of boxes whose leaves are objects and whose inner nodes bound their
+// children, kept balanced by rotations as leaves come and go. Unlike Broadphase, which is built once
+// for static solids, it is meant for things that move all the time (the editor's objects while being
+// dragged): a leaf stores a box fattened by MARGIN, so small moves don't touch the tree at all, and a
+// bigger one is a remove plus insert costing O(log n). Queries visit only subtrees whose box overlaps.
+// Nodes live in parallel arrays and are recycled through a free list, so the tree itself allocates
+// only when it grows. Single-threaded.
+class AabbTree {
+
+    static final double MARGIN = 8;
+    private static final int NULL = -1;
+
+    interface Visitor {
+        // Return false to stop the query early
+        boolean visit(int proxy, Object data);
+    }
+
+    private double[] minX = new double[16], minY = new double[16], maxX = new double[16], maxY = new double[16];
+    private int[] parent = new int[16], left = new int[16], right = new int[16], height = new int[16];
+    private Object[] data = new Object[16];
+    private int root = NULL, freeList = NULL, nodeCount;
+    private int[] stack = new int[64];
+
+    AabbTree() {
+        initFree(0);
+    }
+
+    // Adds a leaf for the box, returning its proxy id
+    int insert(double x0, double y0, double x1, double y1, Object value) {
+        int leaf = allocate();
+        minX[leaf] = x0 - MARGIN;
+        minY[leaf] = y0 - MARGIN;
+        maxX[leaf] = x1 + MARGIN;
+        maxY[leaf] = y1 + MARGIN;
+        data[leaf] = value;
+        height[leaf] = 0;
+        insertLeaf(leaf);
+        return leaf;
+    }
+
+    void remove(int proxy) {
+        removeLeaf(proxy);
+        release(proxy);
+    }
+
+    // New tight box for a leaf. Returns true if the leaf had to be reinserted.
+    boolean move(int proxy, double x0, double y0, double x1, double y1) {
+        if (minX[proxy] <= x0 && minY[proxy] <= y0 && maxX[proxy] >= x1 && maxY[proxy] >= y1
+                && x0 - minX[proxy] < 4 * MARGIN && maxX[proxy] - x1 < 4 * MARGIN
+                && y0 - minY[proxy] < 4 * MARGIN && maxY[proxy] - y1 < 4 * MARGIN) {
+            return false; // Still inside the fat box and not much smaller, nothing to do
+        }
+        removeLeaf(proxy);
+        minX[proxy] = x0 - MARGIN;
+        minY[proxy] = y0 - MARGIN;
+        maxX[proxy] = x1 + MARGIN;
+        maxY[proxy] = y1 + MARGIN;
+        insertLeaf(proxy);
+        return true;
+    }
+
+    Object data(int proxy) {
+        return data[proxy];
+    }
+
+    int size() {
+        return nodeCount == 0 ? 0 : (nodeCount + 1) / 2;
+    }
+
+    // Visits every leaf whose fat box overlaps the query box. The caller checks the exact shape.
+    boolean query(double x0, double y0, double x1, double y1, Visitor visitor) {
+        if (root == NULL) return true;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (minX[node] > x1 || maxX[node] < x0 || minY[node] > y1 || maxY[node] < y0) continue;
+            if (left[node] == NULL) {
+                if (!visitor.visit(node, data[node])) return false;
+            } else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+            }
+        }
+        return true;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        // Walk down to the sibling that grows the tree's total perimeter the least
+        int index = root;
+        while (left[index] != NULL) {
+            int l = left[index], r = right[index];
+            double area = perimeter(index);
+            double combined = perimeter(index, leaf);
+            double cost = 2 * combined;
+            double inheritance = 2 * (combined - area); // Every ancestor of the new node grows by this much
+            double costLeft = descendCost(l, leaf) + inheritance;
+            double costRight = descendCost(r, leaf) + inheritance;
+            if (cost < costLeft && cost < costRight) break;
+            index = costLeft < costRight ? l : r;
+        }
+
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocate();
+        parent[newParent] = oldParent;
+        data[newParent] = null;
+        union(newParent, sibling, leaf);
+        height[newParent] = height[sibling] + 1;
+        left[newParent] = sibling;
+        right[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+        if (oldParent == NULL) {
+            root = newParent;
+        } else if (left[oldParent] == sibling) {
+            left[oldParent] = newParent;
+        } else {
+            right[oldParent] = newParent;
+        }
+        refit(parent[leaf]);
+    }
+
+    private double descendCost(int child, int leaf) {
+        double grown = perimeter(child, leaf);
+        return left[child] == NULL ? grown : grown - perimeter(child);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grand = parent[p];
+        int sibling = left[p] == leaf ? right[p] : left[p];
+        if (grand == NULL) {
+            root = sibling;
+            parent[sibling] = NULL;
+        } else {
+            if (left[grand] == p) left[grand] = sibling;
+            else right[grand] = sibling;
+            parent[sibling] = grand;
+        }
+        release(p);
+        if (grand != NULL) refit(grand);
+    }
+
+    // Rebalances and re-bounds every node from index up to the root
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int l = left[index], r = right[index];
+            height[index] = 1 + Math.max(height[l], height[r]);
+            union(index, l, r);
+            index = parent[index];
+        }
+    }
+
+    // AVL-style rotation if one child is two levels taller than the other; returns the subtree's new root
+    private int balance(int a) {
+        if (left[a] == NULL || height[a] < 2) return a;
+        int b = left[a], c = right[a];
+        int diff = height[c] - height[b];
+        if (diff > 1) return rotate(a, c, b);
+        if (diff < -1) return rotate(a, b, c);
+        return a;
+    }
+
+    // Lifts the tall child up to a's place; its taller grandchild stays under it, the shorter goes to a
+    private int rotate(int a, int tall, int shortChild) {
+        int f = left[tall], g = right[tall];
+        left[tall] = a;
+        parent[tall] = parent[a];
+        parent[a] = tall;
+        if (parent[tall] == NULL) root = tall;
+        else if (left[parent[tall]] == a) left[parent[tall]] = tall;
+        else right[parent[tall]] = tall;
+
+        int keep = height[f] > height[g] ? f : g;
+        int give = keep == f ? g : f;
+        right[tall] = keep;
+        left[a] = shortChild;
+        right[a] = give;
+        parent[give] = a;
+        union(a, shortChild, give);
+        height[a] = 1 + Math.max(height[shortChild], height[give]);
+        union(tall, a, keep);
+        height[tall] = 1 + Math.max(height[a], height[keep]);
+        return tall;
+    }
+
+    private void union(int into, int a, int b) {
+        minX[into] = Math.min(minX[a], minX[b]);
+        minY[into] = Math.min(minY[a], minY[b]);
+        maxX[into] = Math.max(maxX[a], maxX[b]);
+        maxY[into] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private double perimeter(int n) {
+        return (maxX[n] - minX[n]) + (maxY[n] - minY[n]);
+    }
+
+    private double perimeter(int a, int b) {
+        return (Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b]))
+                + (Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]));
+    }
+
+    private int allocate() {
+        if (freeList == NULL) grow();
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        left[node] = NULL;
+        right[node] = NULL;
+        nodeCount++;
+        return node;
+    }
+
+    private void release(int node) {
+        data[node] = null;
+        height[node] = -1;
+        parent[node] = freeList;
+        freeList = node;
+        nodeCount--;
+    }
+
+    private void grow() {
+        int old = parent.length, n = old * 2;
+        minX = Arrays.copyOf(minX, n);
+        minY = Arrays.copyOf(minY, n);
+        maxX = Arrays.copyOf(maxX, n);
+        maxY = Arrays.copyOf(maxY, n);
+        parent = Arrays.copyOf(parent, n);
+        left = Arrays.copyOf(left, n);
+        right = Arrays.copyOf(right, n);
+        height = Arrays.copyOf(height, n);
+        data = Arrays.copyOf(data, n);
+        initFree(old);
+    }
+
+    private void initFree(int from) {
+        for (int i = from; i < parent.length; i++) {
+            parent[i] = i + 1 < parent.length ? i + 1 : NULL;
+            height[i] = -1;
+        }
+        freeList = from;
+    }
+}
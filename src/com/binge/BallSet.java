@@ -0,0 +1,27 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// One bit per ball (Character.id). Holds the part of an item's or key's state that each ball has its
+// own copy of when the balls play separate runs of one sublevel (EntitySystems.perBall, the Gym):
+// who took the item, who holds the key. Written on the simulation thread, read by ray workers only
+// between ticks.
+final class BallSet {
+    private long[] bits = new long[1];
+
+    boolean contains(int ball) {
+        int word = ball >>> 6;
+        return ball >= 0 && word < bits.length && (bits[word] & (1L << ball)) != 0;
+    }
+
+    void add(int ball) {
+        int word = ball >>> 6;
+        if (word >= bits.length) bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+        bits[word] |= 1L << ball;
+    }
+
+    void remove(int ball) {
+        int word = ball >>> 6;
+        if (word < bits.length) bits[word] &= ~(1L << ball);
+    }
+}
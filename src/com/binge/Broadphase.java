@@ -0,0 +1,136 @@
+package com.binge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Uniform grid over the screen holding the AABBs of a sublevel's static solids (circles, rectangles, locks).
+// Built once per sublevel when loading is done; solids never move after loading, so it is never updated.
+// Queries only read, so they are safe from any thread once built.
+class Broadphase {
+
+    static final int CELL = 100;
+
+    interface Visitor {
+        // Return false to stop the query early
+        boolean visit(Obstacle obs);
+    }
+
+    final Obstacle[] solids;
+    final Obstacle[] dynamic;      // Everything else (lasers, turrets, moving obstacles), few, for RayCast beams
+    final Obstacle[] kinematic;    // The dynamic ones that are solid but move (MovingPlatform), tested one by one
+    private final double[] bounds; // minX, minY, maxX, maxY per solid
+    private final int cols, rows;
+    private final int[][] cells;   // Solid indices per cell, row-major
+
+    Broadphase(Sublevel sublevel) {
+        List<Obstacle> list = new ArrayList<>();
+        List<Obstacle> others = new ArrayList<>();
+        List<Obstacle> moving = new ArrayList<>();
+        double[] scratch = new double[4];
+        for (Obstacle obs : sublevel.obstacles) {
+            if (obs.solidBounds(scratch)) {
+                list.add(obs);
+            } else {
+                others.add(obs);
+                if (obs.sweptBounds(scratch)) moving.add(obs);
+            }
+        }
+        list.addAll(sublevel.locks);
+        this.solids = list.toArray(new Obstacle[0]);
+        this.dynamic = others.toArray(new Obstacle[0]);
+        this.kinematic = moving.toArray(new Obstacle[0]);
+        this.bounds = new double[solids.length * 4];
+        this.cols = (Main.WINDOW_WIDTH + CELL - 1) / CELL;
+        this.rows = (Main.WINDOW_HEIGHT + CELL - 1) / CELL;
+
+        int[] counts = new int[cols * rows];
+        double[] b = new double[4];
+        for (int i = 0; i < solids.length; i++) {
+            solids[i].solidBounds(b);
+            System.arraycopy(b, 0, bounds, i * 4, 4);
+            for (int cy = row(b[1]); cy <= row(b[3]); cy++) {
+                for (int cx = col(b[0]); cx <= col(b[2]); cx++) counts[cy * cols + cx]++;
+            }
+        }
+        this.cells = new int[cols * rows][];
+        for (int c = 0; c < cells.length; c++) cells[c] = new int[counts[c]];
+        int[] fill = new int[cols * rows];
+        for (int i = 0; i < solids.length; i++) {
+            for (int cy = row(bounds[i * 4 + 1]); cy <= row(bounds[i * 4 + 3]); cy++) {
+                for (int cx = col(bounds[i * 4]); cx <= col(bounds[i * 4 + 2]); cx++) {
+                    int c = cy * cols + cx;
+                    cells[c][fill[c]++] = i;
+                }
+            }
+        }
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor(x / CELL)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / CELL)));
+    }
+
+    // Visits every solid whose AABB overlaps the query box, each exactly once
+    boolean query(double minX, double minY, double maxX, double maxY, Visitor visitor) {
+        int qMinCol = col(minX), qMinRow = row(minY);
+        for (int cy = qMinRow; cy <= row(maxY); cy++) {
+            for (int cx = qMinCol; cx <= col(maxX); cx++) {
+                for (int i : cells[cy * cols + cx]) {
+                    int o = i * 4;
+                    if (bounds[o] > maxX || bounds[o + 2] < minX || bounds[o + 1] > maxY || bounds[o + 3] < minY) continue;
+                    // Report only from the first cell shared by the query and the solid, so no visited set is needed
+                    if (cx != Math.max(qMinCol, col(bounds[o])) || cy != Math.max(qMinRow, row(bounds[o + 1]))) continue;
+                    if (!visitor.visit(solids[i])) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // First solid hit by the ray from (ox, oy) in unit direction (dirX, dirY) within maxDist. Walks the
+    // cells the ray crosses in order and stops at the first cell that holds a hit closer than the cell's
+    // far side, so the cost follows the ray's length, not the solid count. Open locks are skipped.
+    // Returns the index into solids, or -1 with hit[0] = maxDist; hit[0] is the distance.
+    int raycast(double ox, double oy, double dirX, double dirY, double maxDist, double[] hit) {
+        return raycast(ox, oy, dirX, dirY, maxDist, hit, -1);
+    }
+
+    // The same, for one ball's sensors: locks that ball holds the key of count as open too
+    int raycast(double ox, double oy, double dirX, double dirY, double maxDist, double[] hit, int ball) {
+        int cx = col(ox), cy = row(oy);
+        int stepX = dirX > 0 ? 1 : -1, stepY = dirY > 0 ? 1 : -1;
+        double tDeltaX = dirX != 0 ? CELL / Math.abs(dirX) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dirY != 0 ? CELL / Math.abs(dirY) : Double.POSITIVE_INFINITY;
+        double tMaxX = dirX != 0 ? ((dirX > 0 ? cx + 1 : cx) * (double) CELL - ox) / dirX : Double.POSITIVE_INFINITY;
+        double tMaxY = dirY != 0 ? ((dirY > 0 ? cy + 1 : cy) * (double) CELL - oy) / dirY : Double.POSITIVE_INFINITY;
+
+        double best = maxDist;
+        int bestIndex = -1;
+        while (true) {
+            for (int i : cells[cy * cols + cx]) {
+                if (solids[i] instanceof Lock lock && lock.key.opensFor(ball)) continue;
+                double t = solids[i].rayDistance(ox, oy, dirX, dirY);
+                if (t < best) {
+                    best = t;
+                    bestIndex = i;
+                }
+            }
+            double cellExit = Math.min(tMaxX, tMaxY);
+            if (best <= cellExit || cellExit >= maxDist) break;
+            if (tMaxX < tMaxY) {
+                cx += stepX;
+                if (cx < 0 || cx >= cols) break;
+                tMaxX += tDeltaX;
+            } else {
+                cy += stepY;
+                if (cy < 0 || cy >= rows) break;
+                tMaxY += tDeltaY;
+            }
+        }
+        hit[0] = best;
+        return bestIndex;
+    }
+}
@@ -0,0 +1,377 @@
+package com.binge;
+
+import com.binge.LaserObstacle.LaserOrientation;
+import com.binge.ObstacleFactory.EditorHandles;
+import com.binge.ObstacleFactory.Param;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import javafx.scene.transform.Rotate;
+
+import java.util.List;
+
+import static com.binge.ObstacleFactory.Type.BOOLEAN;
+import static com.binge.ObstacleFactory.Type.INTEGER;
+import static com.binge.ObstacleFactory.Type.NUMBER;
+import static com.binge.ObstacleFactory.Type.WORDS;
+
+// The obstacle kinds the game ships with, as ObstacleFactories registered ahead of any provider.
+// Each is the section's former branch of PageLoader.buildRecords with its format written as a schema.
+class BuiltinObstacles {
+
+    static List<ObstacleFactory> all() {
+        return List.of(
+                new CircleObstacleFactory(),
+                new RectangleObstacleFactory(),
+                new CutOffObstacleFactory(),
+                new LaserFactory("LaserObstacle", LaserOrientation.HORIZONTAL),
+                new LaserFactory("VerticalLaserObstacle", LaserOrientation.VERTICAL),
+                new SpinningLaserFactory(),
+                new TrackingLaserFactory(),
+                new HomingLauncherFactory(),
+                new SpiralLauncherFactory(),
+                new MovingPlatformFactory());
+    }
+
+    private static int[] at(int... indices) {
+        return indices;
+    }
+
+    // Format: x y radius [fatal]
+    static class CircleObstacleFactory implements ObstacleFactory {
+        public String section() {
+            return "CircleObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("x", NUMBER), Param.required("y", NUMBER),
+                    Param.required("radius", INTEGER), Param.optional("fatal", BOOLEAN, "false")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), -1);
+        }
+
+        public String editorTemplate() {
+            return "X Y 30";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            return new CircleObstacle(pane, args.number(0), args.number(1), args.integer(2), Color.GRAY, args.bool(3));
+        }
+    }
+
+    // Format: centerX centerY width height angle [fatal]
+    static class RectangleObstacleFactory implements ObstacleFactory {
+        public String section() {
+            return "RectangleObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("centerX", NUMBER), Param.required("centerY", NUMBER),
+                    Param.required("width", NUMBER), Param.required("height", NUMBER),
+                    Param.required("angle", NUMBER), Param.optional("fatal", BOOLEAN, "false")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), 4);
+        }
+
+        public String editorTemplate() {
+            return "X Y 120 30 0";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            return new RectangleObstacle(pane, args.number(0), args.number(1), args.number(2), args.number(3),
+                    args.number(4), Color.GRAY, args.bool(5));
+        }
+    }
+
+    // Format: <main shape> <cut shape> [fatal], each shape either
+    // "circle x y radius" or "rect centerX centerY width height angle"
+    static class CutOffObstacleFactory implements ObstacleFactory {
+        public String section() {
+            return "CutOffObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("shapes", WORDS)};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(null, null, -1);
+        }
+
+        public String editorTemplate() {
+            return "rect X Y 160 80 0 circle X Y-40 40";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            String[] tokens = args.tokens();
+            int[] next = {0};
+            Shape main = parseShape(tokens, next);
+            Shape cut = main == null ? null : parseShape(tokens, next);
+            if (cut == null) return null;
+            boolean fatal = next[0] < tokens.length && Boolean.parseBoolean(tokens[next[0]]);
+            return new CutOffObstacle(pane, main, cut, Color.GRAY, fatal, String.join(" ", tokens));
+        }
+
+        // One shape starting at tokens[next[0]], which is moved past it. null if malformed.
+        private static Shape parseShape(String[] tokens, int[] next) {
+            int i = next[0];
+            if (i < tokens.length && tokens[i].equals("circle") && i + 3 < tokens.length) {
+                next[0] = i + 4;
+                return new Circle(Double.parseDouble(tokens[i + 1]), Double.parseDouble(tokens[i + 2]), Double.parseDouble(tokens[i + 3]));
+            }
+            if (i < tokens.length && tokens[i].equals("rect") && i + 5 < tokens.length) {
+                double cx = Double.parseDouble(tokens[i + 1]), cy = Double.parseDouble(tokens[i + 2]);
+                double width = Double.parseDouble(tokens[i + 3]), height = Double.parseDouble(tokens[i + 4]);
+                Rectangle rect = new Rectangle(-width / 2, -height / 2, width, height);
+                rect.setLayoutX(cx);
+                rect.setLayoutY(cy);
+                rect.getTransforms().add(new Rotate(Double.parseDouble(tokens[i + 5]), 0, 0));
+                next[0] = i + 6;
+                return rect;
+            }
+            return null;
+        }
+    }
+
+    // Format: primaryAxisPos start end [timerOffset] [isPulsing] [minThickness maxThickness pulseDuration]
+    // A horizontal laser's primary axis is y and it runs from start to end in x, a vertical one the other way
+    static class LaserFactory implements ObstacleFactory {
+        private final String section;
+        private final LaserOrientation orientation;
+
+        LaserFactory(String section, LaserOrientation orientation) {
+            this.section = section;
+            this.orientation = orientation;
+        }
+
+        public String section() {
+            return section;
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("primaryAxisPos", NUMBER), Param.required("start", NUMBER),
+                    Param.required("end", NUMBER), Param.optional("timerOffset", NUMBER, "0.0"),
+                    Param.optional("isPulsing", INTEGER, "0"), Param.optional("minThickness", NUMBER, "1.0"),
+                    Param.optional("maxThickness", NUMBER, "5.0"), Param.optional("pulseDuration", NUMBER, "1.0")};
+        }
+
+        public EditorHandles editorHandles() {
+            return orientation == LaserOrientation.HORIZONTAL
+                    ? new EditorHandles(at(1, 2), at(0), -1)
+                    : new EditorHandles(at(0), at(1, 2), -1);
+        }
+
+        public String editorTemplate() {
+            return orientation == LaserOrientation.HORIZONTAL ? "Y X-100 X+100 0.0" : "X Y-100 Y+100 0.0";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            double initialTimerOffset = args.number(3);
+            // Calculate initiallyOn based on offset, consistent with LaserObstacle constructor
+            boolean initiallyOn = (initialTimerOffset % 4.0) < 2.0; // Assuming cycleDuration=4.0, onDuration=2.0
+
+            boolean isPulsing = args.integer(4) == 1;
+            double minThickness = 3.0; // DEFAULT_LASER_THICKNESS
+            double maxThickness = 3.0;
+            double pulseDuration = 1.0;
+            if (isPulsing) {
+                // All three given, or the 1.0 to 5.0 pulse when some are left out
+                boolean all = args.given() > 7;
+                minThickness = all ? args.number(5) : 1.0;
+                maxThickness = all ? args.number(6) : 5.0;
+                pulseDuration = all ? args.number(7) : 1.0;
+            }
+            return new LaserObstacle(pane, orientation, args.number(0), args.number(1), args.number(2),
+                    initiallyOn, initialTimerOffset, isPulsing, minThickness, maxThickness, pulseDuration);
+        }
+    }
+
+    // Format: pivotX pivotY length initialAngleDeg rotationSpeedDegPerSec [timerOffset] [isPulsing] [minThick] [maxThick] [pulseDur]
+    static class SpinningLaserFactory implements ObstacleFactory {
+        public String section() {
+            return "SpinningLaserObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("pivotX", NUMBER), Param.required("pivotY", NUMBER),
+                    Param.required("length", NUMBER), Param.required("initialAngleDeg", NUMBER),
+                    Param.required("rotationSpeedDeg", NUMBER), Param.optional("timerOffset", NUMBER, "0.0"),
+                    Param.optional("isPulsing", INTEGER, "0"), Param.optional("minThickness", NUMBER, "1.0"),
+                    Param.optional("maxThickness", NUMBER, "5.0"), Param.optional("pulseDuration", NUMBER, "1.0")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), 3);
+        }
+
+        public String editorTemplate() {
+            return "X Y 200 0 45";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            boolean isPulsing = args.integer(6) == 1;
+            double minThickness = 3.0; // DEFAULT_LASER_THICKNESS
+            double maxThickness = 3.0;
+            double pulseDuration = 1.0;
+            if (isPulsing) {
+                boolean all = args.given() > 9;
+                minThickness = all ? args.number(7) : 1.0;
+                maxThickness = all ? args.number(8) : 5.0;
+                pulseDuration = all ? args.number(9) : 1.0;
+            }
+            return new SpinningLaserObstacle(pane, new Point2D(args.number(0), args.number(1)), args.number(2),
+                    args.number(3), args.number(4), args.number(5),
+                    isPulsing, minThickness, maxThickness, pulseDuration);
+        }
+    }
+
+    // Format: emitterX emitterY rotationSpeedDeg detectionRange beamLength chargeSecs fireSecs cooldownSecs [initialAngleDeg]
+    static class TrackingLaserFactory implements ObstacleFactory {
+        public String section() {
+            return "TrackingLaserObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("emitterX", NUMBER), Param.required("emitterY", NUMBER),
+                    Param.required("rotationSpeedDeg", NUMBER), Param.required("detectionRange", NUMBER),
+                    Param.required("beamLength", NUMBER), Param.required("chargeSecs", NUMBER),
+                    Param.required("fireSecs", NUMBER), Param.required("cooldownSecs", NUMBER),
+                    Param.optional("initialAngleDeg", NUMBER, "0.0")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), 8);
+        }
+
+        public String editorTemplate() {
+            return "X Y 60 400 600 1.0 0.5 1.5 0";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            return new TrackingLaserObstacle(pane, new Point2D(args.number(0), args.number(1)), args.number(2),
+                    args.number(3), args.number(4), args.number(5), args.number(6), args.number(7), args.number(8));
+        }
+    }
+
+    // Format: emitterX emitterY rotSpeedDeg detectRange lockonSecs fireInterval numProjectilesInSpread
+    // spreadAngleDeg cooldownSecs projSpeed projTurnRateDeg projLifespan [initialAngleDeg]
+    static class HomingLauncherFactory implements ObstacleFactory {
+        public String section() {
+            return "HomingMissileLauncherObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("emitterX", NUMBER), Param.required("emitterY", NUMBER),
+                    Param.required("rotSpeedDeg", NUMBER), Param.required("detectRange", NUMBER),
+                    Param.required("lockonSecs", NUMBER), Param.required("fireInterval", NUMBER),
+                    Param.required("numProjectilesInSpread", INTEGER), Param.required("spreadAngleDeg", NUMBER),
+                    Param.required("cooldownSecs", NUMBER), Param.required("projSpeed", NUMBER),
+                    Param.required("projTurnRateDeg", NUMBER), Param.required("projLifespan", NUMBER),
+                    Param.optional("initialAngleDeg", NUMBER, "0.0")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), 12);
+        }
+
+        public String editorTemplate() {
+            return "X Y 90 500 1.0 2.0 3 30 2.0 250 120 5 0";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            return new HomingMissileLauncherObstacle(pane, new Point2D(args.number(0), args.number(1)),
+                    args.number(2), args.number(3), args.number(4), args.number(5), args.integer(6),
+                    args.number(7), args.number(8), args.number(9), args.number(10), args.number(11), args.number(12));
+        }
+    }
+
+    // Format: emitterX emitterY initialAimRotSpeedDeg spiralRotSpeedDeg detectionRange aimTimeSecs
+    // spiralFireDurSecs fireIntervalSecs cooldownSecs projSpeed projTurnRateDeg projLifespanSecs [initialAngleDeg]
+    static class SpiralLauncherFactory implements ObstacleFactory {
+        public String section() {
+            return "SpiralMissileLauncherObstacle";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("emitterX", NUMBER), Param.required("emitterY", NUMBER),
+                    Param.required("initialAimRotSpeedDeg", NUMBER), Param.required("spiralRotSpeedDeg", NUMBER),
+                    Param.required("detectionRange", NUMBER), Param.required("aimTimeSecs", NUMBER),
+                    Param.required("spiralFireDurSecs", NUMBER), Param.required("fireIntervalSecs", NUMBER),
+                    Param.required("cooldownSecs", NUMBER), Param.required("projSpeed", NUMBER),
+                    Param.required("projTurnRateDeg", NUMBER), Param.required("projLifespanSecs", NUMBER),
+                    Param.optional("initialAngleDeg", NUMBER, "0.0")};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(0), at(1), 12);
+        }
+
+        public String editorTemplate() {
+            return "X Y 90 180 500 1.0 3.0 0.15 2.0 250 90 5 0";
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            return new SpiralMissileLauncherObstacle(pane, new Point2D(args.number(0), args.number(1)),
+                    args.number(2), args.number(3), args.number(4), args.number(5), args.number(6),
+                    args.number(7), args.number(8), args.number(9), args.number(10), args.number(11), args.number(12));
+        }
+    }
+
+    // Format: <shape> <path> <loop|pingpong> speed startDistance x0 y0 x1 y1 ... [fatal], the shape either
+    // "rect width height angle" or "circle radius", the path "linear", "bezier" (point, handle, handle,
+    // point, ...) or "catmull". The points sit at different indices per shape, so it isn't in the editor.
+    static class MovingPlatformFactory implements ObstacleFactory {
+        public String section() {
+            return "MovingPlatform";
+        }
+
+        public Param[] schema() {
+            return new Param[]{Param.required("shape", WORDS)};
+        }
+
+        public EditorHandles editorHandles() {
+            return new EditorHandles(at(), at(), -1);
+        }
+
+        public Obstacle create(Pane pane, Args args) {
+            String[] tokens = args.tokens();
+            int i;
+            double width, height = -1, angle = 0;
+            if (tokens.length > 3 && tokens[0].equals("rect")) {
+                width = Double.parseDouble(tokens[1]);
+                height = Double.parseDouble(tokens[2]);
+                angle = Double.parseDouble(tokens[3]);
+                i = 4;
+            } else if (tokens.length > 1 && tokens[0].equals("circle")) {
+                width = Double.parseDouble(tokens[1]);
+                i = 2;
+            } else {
+                return null;
+            }
+            if (i + 4 > tokens.length) return null;
+            PlatformPath.Kind kind = switch (tokens[i]) {
+                case "linear" -> PlatformPath.Kind.LINEAR;
+                case "bezier" -> PlatformPath.Kind.BEZIER;
+                case "catmull" -> PlatformPath.Kind.CATMULL_ROM;
+                default -> null;
+            };
+            boolean closed = tokens[i + 1].equals("loop");
+            if (kind == null || !closed && !tokens[i + 1].equals("pingpong")) return null;
+            double speed = Double.parseDouble(tokens[i + 2]);
+            double start = Double.parseDouble(tokens[i + 3]);
+            int end = tokens.length;
+            boolean fatal = false;
+            if (tokens[end - 1].equals("true") || tokens[end - 1].equals("false")) fatal = Boolean.parseBoolean(tokens[--end]);
+            double[] points = new double[end - i - 4];
+            for (int k = 0; k < points.length; k++) points[k] = Double.parseDouble(tokens[i + 4 + k]);
+            PlatformPath path = PlatformPath.create(kind, closed, points);
+            return path == null ? null : new MovingPlatform(pane, path, speed, width, height, angle, start, fatal);
+        }
+    }
+}
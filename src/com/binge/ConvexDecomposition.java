@@ -0,0 +1,378 @@
+package com.binge;
+
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.QuadCurveTo;
+import javafx.scene.shape.Shape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Turns an arbitrary filled JavaFX shape (a Shape.subtract result, holes and all) into convex pieces
+// once at load, so collision against it is a handful of circle-vs-convex tests instead of path math.
+// Curves are flattened, holes are bridged into their outer contour, the result is ear-clipped and the
+// triangles are merged back into convex polygons wherever a shared diagonal can go (Hertel-Mehlhorn).
+// Every piece edge remembers whether it is the shape's real outline or a diagonal the decomposition
+// added, so contacts are only ever resolved against the outline and the ball can't snag on a seam.
+class ConvexDecomposition {
+
+    static final int CURVE_SEGMENTS = 12; // Per quadratic or cubic segment, a quarter circle in Shape.subtract output
+    private static final double EPS = 1e-9;
+    private static final double SAME_POINT = 1e-3; // Shape.subtract repeats vertices with float noise
+
+    static class Piece {
+        final double[] x, y;       // Interior on the left of every edge (cross > 0), so outward normals are (dy, -dx)
+        final double[] nx, ny;     // Outward unit normal of edge i (vertex i to i + 1)
+        final boolean[] outline;   // Whether edge i is part of the shape's outline
+        double minX, minY, maxX, maxY;
+
+        Piece(double[] x, double[] y, boolean[] outline) {
+            int n = x.length;
+            this.x = x;
+            this.y = y;
+            this.outline = outline;
+            this.nx = new double[n];
+            this.ny = new double[n];
+            minX = minY = Double.POSITIVE_INFINITY;
+            maxX = maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                int j = (i + 1) % n;
+                double ex = x[j] - x[i], ey = y[j] - y[i];
+                double len = Math.sqrt(ex * ex + ey * ey);
+                nx[i] = len == 0 ? 0 : ey / len;
+                ny[i] = len == 0 ? 0 : -ex / len;
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+        }
+
+        // Largest signed distance of the point from the edge lines: the separating axis test for a point.
+        // <= 0 inside, and a circle of radius r is separated from the piece if this is >= r.
+        double separation(double px, double py) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < x.length; i++) {
+                double s = (px - x[i]) * nx[i] + (py - y[i]) * ny[i];
+                if (s > max) max = s;
+            }
+            return max;
+        }
+    }
+
+    // Convex pieces covering the filled area of the shape, in the coordinates of the shape's parent
+    static List<Piece> decompose(Shape shape) {
+        List<double[]> contours = contours(shape instanceof Path path ? path : (Path) Shape.union(shape, shape));
+        List<Piece> pieces = new ArrayList<>();
+
+        // A contour is a hole if an odd number of others surround it; the outline of a Path from
+        // Shape.subtract is never self-intersecting, so testing one vertex is enough
+        int n = contours.size();
+        int[] depth = new int[n];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = -1;
+            double[] c = contours.get(i);
+            for (int j = 0; j < n; j++) {
+                if (i != j && contains(contours.get(j), c[0], c[1])) {
+                    depth[i]++;
+                    if (parent[i] < 0 || contains(contours.get(parent[i]), contours.get(j)[0], contours.get(j)[1])) parent[i] = j;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (depth[i] % 2 == 1) continue;
+            List<double[]> holes = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                if (depth[j] % 2 == 1 && parent[j] == i) holes.add(oriented(contours.get(j), false));
+            }
+            double[] outer = oriented(contours.get(i), true);
+            List<double[]> ring = new ArrayList<>();
+            List<Boolean> outline = new ArrayList<>();
+            for (int k = 0; k < outer.length; k += 2) {
+                ring.add(new double[]{outer[k], outer[k + 1]});
+                outline.add(true);
+            }
+            holes.sort((a, b) -> Double.compare(maxX(b), maxX(a)));
+            for (double[] hole : holes) bridge(ring, outline, hole);
+            mergeTriangles(earClip(ring, outline), pieces);
+        }
+        return pieces;
+    }
+
+    // Flattened closed contours as x0, y0, x1, y1, ...
+    private static List<double[]> contours(Path path) {
+        List<double[]> contours = new ArrayList<>();
+        List<Double> current = new ArrayList<>();
+        double startX = 0, startY = 0, lastX = 0, lastY = 0;
+        for (PathElement element : path.getElements()) {
+            if (element instanceof MoveTo move) {
+                closeContour(current, contours);
+                startX = lastX = move.getX();
+                startY = lastY = move.getY();
+                current.add(lastX);
+                current.add(lastY);
+            } else if (element instanceof LineTo line) {
+                lastX = line.getX();
+                lastY = line.getY();
+                addPoint(current, lastX, lastY);
+            } else if (element instanceof QuadCurveTo quad) {
+                for (int s = 1; s <= CURVE_SEGMENTS; s++) {
+                    double t = (double) s / CURVE_SEGMENTS, u = 1 - t;
+                    addPoint(current,
+                            u * u * lastX + 2 * u * t * quad.getControlX() + t * t * quad.getX(),
+                            u * u * lastY + 2 * u * t * quad.getControlY() + t * t * quad.getY());
+                }
+                lastX = quad.getX();
+                lastY = quad.getY();
+            } else if (element instanceof CubicCurveTo cubic) {
+                for (int s = 1; s <= CURVE_SEGMENTS; s++) {
+                    double t = (double) s / CURVE_SEGMENTS, u = 1 - t;
+                    addPoint(current,
+                            u * u * u * lastX + 3 * u * u * t * cubic.getControlX1() + 3 * u * t * t * cubic.getControlX2() + t * t * t * cubic.getX(),
+                            u * u * u * lastY + 3 * u * u * t * cubic.getControlY1() + 3 * u * t * t * cubic.getControlY2() + t * t * t * cubic.getY());
+                }
+                lastX = cubic.getX();
+                lastY = cubic.getY();
+            } else if (element instanceof ClosePath) {
+                closeContour(current, contours);
+                lastX = startX;
+                lastY = startY;
+            }
+        }
+        closeContour(current, contours);
+        return contours;
+    }
+
+    private static void addPoint(List<Double> contour, double x, double y) {
+        int n = contour.size();
+        if (n >= 2 && Math.abs(contour.get(n - 2) - x) < SAME_POINT && Math.abs(contour.get(n - 1) - y) < SAME_POINT) return;
+        contour.add(x);
+        contour.add(y);
+    }
+
+    private static void closeContour(List<Double> current, List<double[]> contours) {
+        int n = current.size();
+        if (n >= 2 && Math.abs(current.get(0) - current.get(n - 2)) < SAME_POINT && Math.abs(current.get(1) - current.get(n - 1)) < SAME_POINT) {
+            current.remove(n - 1);
+            current.remove(n - 2);
+        }
+        if (current.size() >= 6) {
+            double[] c = new double[current.size()];
+            for (int i = 0; i < c.length; i++) c[i] = current.get(i);
+            if (Math.abs(area(c)) > EPS) contours.add(c);
+        }
+        current.clear();
+    }
+
+    // Twice the signed area, positive when the interior is on the left of the edges (as cross() sees it;
+    // that is clockwise as drawn, y pointing down)
+    private static double area(double[] c) {
+        double a = 0;
+        for (int i = 0; i < c.length; i += 2) {
+            int j = (i + 2) % c.length;
+            a += c[i] * c[j + 1] - c[j] * c[i + 1];
+        }
+        return a;
+    }
+
+    private static double[] oriented(double[] c, boolean positive) {
+        if ((area(c) > 0) == positive) return c;
+        double[] r = new double[c.length];
+        for (int i = 0; i < c.length; i += 2) {
+            r[c.length - 2 - i] = c[i];
+            r[c.length - 1 - i] = c[i + 1];
+        }
+        return r;
+    }
+
+    private static double maxX(double[] c) {
+        double m = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < c.length; i += 2) m = Math.max(m, c[i]);
+        return m;
+    }
+
+    private static boolean contains(double[] c, double px, double py) {
+        boolean in = false;
+        for (int i = 0, j = c.length - 2; i < c.length; j = i, i += 2) {
+            if ((c[i + 1] > py) != (c[j + 1] > py)
+                    && px < (c[j] - c[i]) * (py - c[i + 1]) / (c[j + 1] - c[i + 1]) + c[i]) in = !in;
+        }
+        return in;
+    }
+
+    // Splices a negatively oriented hole into the positively oriented ring through a pair of mutually visible
+    // vertices. The two bridge edges are interior, so they are not outline.
+    private static void bridge(List<double[]> ring, List<Boolean> outline, double[] hole) {
+        int m = 0;
+        for (int i = 2; i < hole.length; i += 2) if (hole[i] > hole[m]) m = i;
+        double mx = hole[m], my = hole[m + 1];
+
+        int best = -1;
+        double bestDist = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < ring.size(); i++) {
+            double[] v = ring.get(i);
+            double d = (v[0] - mx) * (v[0] - mx) + (v[1] - my) * (v[1] - my);
+            if (d >= bestDist || !visible(ring, hole, mx, my, v[0], v[1])) continue;
+            best = i;
+            bestDist = d;
+        }
+        if (best < 0) return; // Degenerate input, the hole is dropped rather than breaking the ring
+
+        double[] anchor = ring.get(best);
+        List<double[]> splice = new ArrayList<>();
+        List<Boolean> spliceOutline = new ArrayList<>();
+        int count = hole.length / 2;
+        for (int k = 0; k <= count; k++) {
+            int i = ((m / 2 + k) % count) * 2;
+            splice.add(new double[]{hole[i], hole[i + 1]});
+            spliceOutline.add(k < count); // The last one, back at the bridge vertex, starts the return bridge
+        }
+        splice.add(new double[]{anchor[0], anchor[1]});
+        spliceOutline.add(outline.get(best));
+        outline.set(best, false); // Anchor to the hole
+        ring.addAll(best + 1, splice);
+        outline.addAll(best + 1, spliceOutline);
+    }
+
+    // Whether the segment between the two points crosses no edge of the ring or the hole
+    private static boolean visible(List<double[]> ring, double[] hole, double ax, double ay, double bx, double by) {
+        for (int i = 0; i < ring.size(); i++) {
+            double[] p = ring.get(i), q = ring.get((i + 1) % ring.size());
+            if (properlyCross(ax, ay, bx, by, p[0], p[1], q[0], q[1])) return false;
+        }
+        for (int i = 0; i < hole.length; i += 2) {
+            int j = (i + 2) % hole.length;
+            if (properlyCross(ax, ay, bx, by, hole[i], hole[i + 1], hole[j], hole[j + 1])) return false;
+        }
+        return true;
+    }
+
+    private static boolean properlyCross(double ax, double ay, double bx, double by,
+                                         double cx, double cy, double dx, double dy) {
+        if (same(ax, ay, cx, cy) || same(ax, ay, dx, dy) || same(bx, by, cx, cy) || same(bx, by, dx, dy)) return false;
+        double d1 = cross(cx, cy, dx, dy, ax, ay), d2 = cross(cx, cy, dx, dy, bx, by);
+        double d3 = cross(ax, ay, bx, by, cx, cy), d4 = cross(ax, ay, bx, by, dx, dy);
+        return ((d1 > EPS && d2 < -EPS) || (d1 < -EPS && d2 > EPS)) && ((d3 > EPS && d4 < -EPS) || (d3 < -EPS && d4 > EPS));
+    }
+
+    private static boolean same(double ax, double ay, double bx, double by) {
+        return Math.abs(ax - bx) < SAME_POINT && Math.abs(ay - by) < SAME_POINT;
+    }
+
+    // z of (b - a) x (p - a); positive when a, b, p turn the same way as a piece's vertices
+    private static double cross(double ax, double ay, double bx, double by, double px, double py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    // Triangles as {ax, ay, bx, by, cx, cy, outlineAB, outlineBC, outlineCA} with 1 for outline edges
+    private static List<double[]> earClip(List<double[]> ring, List<Boolean> outline) {
+        List<double[]> triangles = new ArrayList<>();
+        List<double[]> v = new ArrayList<>(ring);
+        List<Boolean> e = new ArrayList<>(outline);
+        while (v.size() > 3) { // Every pass removes a vertex or gives up
+            boolean clipped = false;
+            for (int i = 0; i < v.size(); i++) {
+                int p = (i + v.size() - 1) % v.size(), nxt = (i + 1) % v.size();
+                double[] a = v.get(p), b = v.get(i), c = v.get(nxt);
+                double turn = cross(a[0], a[1], b[0], b[1], c[0], c[1]);
+                if (turn < -EPS) continue; // Reflex, or a spike from a bridge
+                boolean ear = true;
+                if (turn > EPS) {
+                    for (int k = 0; k < v.size() && ear; k++) {
+                        if (k == p || k == i || k == nxt) continue;
+                        double[] q = v.get(k);
+                        if (same(q[0], q[1], a[0], a[1]) || same(q[0], q[1], b[0], b[1]) || same(q[0], q[1], c[0], c[1])) continue;
+                        if (cross(a[0], a[1], b[0], b[1], q[0], q[1]) >= -EPS && cross(b[0], b[1], c[0], c[1], q[0], q[1]) >= -EPS
+                                && cross(c[0], c[1], a[0], a[1], q[0], q[1]) >= -EPS) ear = false;
+                    }
+                }
+                if (!ear) continue;
+                if (turn > EPS) { // Collinear vertices are dropped without a triangle
+                    triangles.add(new double[]{a[0], a[1], b[0], b[1], c[0], c[1],
+                            e.get(p) ? 1 : 0, e.get(i) ? 1 : 0, 0});
+                    e.set(p, false); // The new diagonal
+                } else {
+                    e.set(p, e.get(p) && e.get(i));
+                }
+                v.remove(i);
+                e.remove(i);
+                clipped = true;
+                break;
+            }
+            if (!clipped) break; // Numerically stuck, keep what was clipped
+        }
+        if (v.size() == 3) {
+            double[] a = v.get(0), b = v.get(1), c = v.get(2);
+            if (cross(a[0], a[1], b[0], b[1], c[0], c[1]) > EPS) {
+                triangles.add(new double[]{a[0], a[1], b[0], b[1], c[0], c[1],
+                        e.get(0) ? 1 : 0, e.get(1) ? 1 : 0, e.get(2) ? 1 : 0});
+            }
+        }
+        return triangles;
+    }
+
+    // Hertel-Mehlhorn: join polygons across a shared diagonal while the union stays convex
+    private static void mergeTriangles(List<double[]> triangles, List<Piece> out) {
+        List<List<double[]>> polys = new ArrayList<>(); // Vertices as {x, y, outlineOfEdgeFromHere}
+        for (double[] t : triangles) {
+            List<double[]> poly = new ArrayList<>();
+            poly.add(new double[]{t[0], t[1], t[6]});
+            poly.add(new double[]{t[2], t[3], t[7]});
+            poly.add(new double[]{t[4], t[5], t[8]});
+            polys.add(poly);
+        }
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            search:
+            for (int a = 0; a < polys.size(); a++) {
+                List<double[]> pa = polys.get(a);
+                for (int i = 0; i < pa.size(); i++) {
+                    if (pa.get(i)[2] != 0) continue;
+                    double[] u = pa.get(i), w = pa.get((i + 1) % pa.size());
+                    for (int b = a + 1; b < polys.size(); b++) {
+                        List<double[]> pb = polys.get(b);
+                        for (int j = 0; j < pb.size(); j++) {
+                            double[] s = pb.get(j), t = pb.get((j + 1) % pb.size());
+                            if (!same(s[0], s[1], w[0], w[1]) || !same(t[0], t[1], u[0], u[1])) continue;
+                            List<double[]> joined = new ArrayList<>();
+                            for (int k = 1; k <= pa.size(); k++) joined.add(pa.get((i + k) % pa.size())); // w ... u
+                            joined.set(joined.size() - 1, pb.get((j + 1) % pb.size()).clone()); // u with b's next edge
+                            for (int k = 2; k < pb.size(); k++) joined.add(pb.get((j + k) % pb.size()));
+                            if (!convex(joined)) continue;
+                            polys.set(a, joined);
+                            polys.remove(b);
+                            merged = true;
+                            break search;
+                        }
+                    }
+                }
+            }
+        }
+        for (List<double[]> poly : polys) {
+            int n = poly.size();
+            double[] x = new double[n], y = new double[n];
+            boolean[] outline = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = poly.get(i)[0];
+                y[i] = poly.get(i)[1];
+                outline[i] = poly.get(i)[2] != 0;
+            }
+            out.add(new Piece(x, y, outline));
+        }
+    }
+
+    private static boolean convex(List<double[]> poly) {
+        int n = poly.size();
+        for (int i = 0; i < n; i++) {
+            double[] a = poly.get(i), b = poly.get((i + 1) % n), c = poly.get((i + 2) % n);
+            if (cross(a[0], a[1], b[0], b[1], c[0], c[1]) < -EPS) return false;
+        }
+        return true;
+    }
+}
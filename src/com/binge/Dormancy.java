@@ -0,0 +1,56 @@
+package com.binge;
+
+import java.util.Iterator;
+
+// The dormant tier of the simulation. Only the player's sublevel (and with a World, the chunks around it)
+// is stepped every tick; the others are dormant and cost nothing. A sublevel remembers the tick it went
+// to sleep, and when it is simulated again its obstacles and projectiles catch up on the elapsed time in
+// one closed-form step (Obstacle.fastForward, HomingLaserProjectile.fastForward): blink timers and
+// spinning lasers land where they would have been, turrets have lost their target, and projectiles have
+// flown on straight, expired, hit a wall or left the screen.
+// Projectiles belong to the sublevel whose launcher fired them, and Main.activeProjectiles is always the
+// list of the one being stepped, so a missile never steers at a ball in another room's coordinates.
+class Dormancy {
+
+    private static Sublevel active; // The sublevel simulated on the last tick
+    private static final RayCast.Hit hit = new RayCast.Hit();
+
+    // Start of a tick: puts the sublevel the player left to sleep and wakes the one it is in now, whether
+    // it walked there, was revived there or a new stage was loaded. A World does this per chunk instead.
+    static void track() {
+        Sublevel current = Main.currentSublevel;
+        if (World.enabled && Main.currentLevel == World.level) {
+            active = current;
+            return;
+        }
+        if (current == active) return;
+        if (active != null) sleep(active);
+        wake(current);
+        active = current;
+        Main.activeProjectiles = current.projectiles;
+    }
+
+    static void sleep(Sublevel sublevel) {
+        if (sublevel.dormantSince < 0) sublevel.dormantSince = TickScheduler.tick;
+    }
+
+    // Catches the sublevel up on the time it slept, on the thread that runs the simulation
+    static void wake(Sublevel sublevel) {
+        long since = sublevel.dormantSince;
+        sublevel.dormantSince = -1;
+        if (since < 0 || TickScheduler.tick <= since) return; // Never slept, or the clock was reset since
+        double seconds = (TickScheduler.tick - since) * Main.FIXED_PHYSICS_DT;
+
+        for (Obstacle obs : sublevel.obstacles) {
+            obs.fastForward(seconds);
+            obs.deferredTime = 0;
+            if (!SimulationThread.isSimulationThread()) obs.syncVisuals(); // Otherwise the next snapshot does
+        }
+        Iterator<HomingLaserProjectile> it = sublevel.projectiles.iterator();
+        while (it.hasNext()) {
+            HomingLaserProjectile projectile = it.next();
+            projectile.fastForward(sublevel, seconds, hit);
+            if (!projectile.isActive()) it.remove();
+        }
+    }
+}
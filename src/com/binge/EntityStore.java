@@ -0,0 +1,170 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// Dense component storage for everything a Sublevel simulates against the ball.
+// An entity is an index; its mask says which components it has and each component is a parallel
+// primitive array, so a system scans only the arrays it needs. Entities are kept in creation order
+// (the order the per-tick phases used to run in) and destroyed ones are compacted away at the end of a tick.
+//
+// Components:
+//   TRANSFORM - center x, y
+//   COLLIDER  - half extents of an AABB around the center, a cheap conservative test before the exact one
+//   OBSTACLE  - owner is an Obstacle resolved in the obstacle collision phase
+//   TRIGGER   - owner reacts to the ball touching it, trigger says how (see EntitySystems)
+//   BAKED     - an OBSTACLE already in the sublevel's SignedDistanceField
+//   KINEMATIC - an OBSTACLE that moves along a path; its COLLIDER is the AABB it swept during the last
+//               update, refreshed each tick by EntitySystems.collideObstacles
+// Delayed effects are not a component, they are scheduled on TickScheduler. A countdown component
+// (TIMER, for the grapple cooldown only) was tried first and dropped: it had a system scan every entity
+// each tick for the few that wait, its seconds drifted from the tick count, and effects that outlive
+// their entity or belong to the ball, like SizeShifter's, had nowhere to live.
+class EntityStore {
+
+    static final int TRANSFORM = 1;
+    static final int COLLIDER = 1 << 1;
+    static final int OBSTACLE = 1 << 2;
+    static final int TRIGGER = 1 << 3;
+    static final int BAKED = 1 << 4;
+    static final int KINEMATIC = 1 << 5;
+
+    // Trigger kinds
+    static final byte ITEM = 0, GRAPPLE = 1, CHECKPOINT = 2, KEY = 3, LOCK = 4, GOAL = 5;
+
+    int count;
+    int[] mask = new int[16];
+    Object[] owner = new Object[16];
+    double[] x = new double[16], y = new double[16];
+    double[] halfWidth = new double[16], halfHeight = new double[16];
+    byte[] trigger = new byte[16];
+
+    private boolean needsCompaction;
+
+    int create(Object owner, int mask) {
+        if (count == this.mask.length) grow();
+        int e = count++;
+        this.owner[e] = owner;
+        this.mask[e] = mask;
+        return e;
+    }
+
+    private void grow() {
+        int n = mask.length * 2;
+        mask = Arrays.copyOf(mask, n);
+        owner = Arrays.copyOf(owner, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        halfWidth = Arrays.copyOf(halfWidth, n);
+        halfHeight = Arrays.copyOf(halfHeight, n);
+        trigger = Arrays.copyOf(trigger, n);
+    }
+
+    void setTransform(int e, double x, double y) {
+        this.x[e] = x;
+        this.y[e] = y;
+        this.mask[e] |= TRANSFORM;
+    }
+
+    // Bounds as minX, minY, maxX, maxY (see Obstacle.solidBounds), stored relative to the transform
+    void setCollider(int e, double[] bounds) {
+        setTransform(e, (bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2);
+        this.halfWidth[e] = (bounds[2] - bounds[0]) / 2;
+        this.halfHeight[e] = (bounds[3] - bounds[1]) / 2;
+        this.mask[e] |= COLLIDER;
+    }
+
+    void setTrigger(int e, byte kind) {
+        this.trigger[e] = kind;
+        this.mask[e] |= TRIGGER;
+    }
+
+    // Whether a circle of radius reach around (cx, cy) can touch the collider's AABB
+    boolean mayTouch(int e, double cx, double cy, double reach) {
+        return Math.abs(cx - x[e]) < halfWidth[e] + reach && Math.abs(cy - y[e]) < halfHeight[e] + reach;
+    }
+
+    // Safe during iteration, the slot is only reclaimed by compact()
+    void destroy(int e) {
+        mask[e] = 0;
+        owner[e] = null;
+        needsCompaction = true;
+    }
+
+    // Closes the gaps left by destroy(), keeping the remaining entities in order
+    void compact() {
+        if (!needsCompaction) return;
+        int to = 0;
+        for (int from = 0; from < count; from++) {
+            if (mask[from] == 0) continue;
+            if (to != from) {
+                mask[to] = mask[from];
+                owner[to] = owner[from];
+                x[to] = x[from];
+                y[to] = y[from];
+                halfWidth[to] = halfWidth[from];
+                halfHeight[to] = halfHeight[from];
+                trigger[to] = trigger[from];
+            }
+            to++;
+        }
+        Arrays.fill(owner, to, count, null);
+        count = to;
+        needsCompaction = false;
+    }
+
+    // Creates the entities of a freshly loaded sublevel, in the order the tick phases run
+    static EntityStore build(Sublevel sublevel) {
+        EntityStore store = new EntityStore();
+        double[] bounds = new double[4];
+
+        for (Obstacle obs : sublevel.obstacles) {
+            int e = store.create(obs, OBSTACLE);
+            if (obs.solidBounds(bounds)) {
+                store.setCollider(e, bounds);
+            } else if (obs.sweptBounds(bounds)) {
+                store.setCollider(e, bounds);
+                store.mask[e] |= KINEMATIC;
+            } // Lasers and turrets are always tested
+            if (sublevel.field != null && sublevel.field.bakes(obs)) store.mask[e] |= BAKED;
+        }
+        for (Collectible item : sublevel.items) {
+            int e = store.create(item, 0);
+            store.setCollider(e, new double[]{item.pos.x - item.radius, item.pos.y - item.radius,
+                    item.pos.x + item.radius, item.pos.y + item.radius});
+            store.setTrigger(e, ITEM);
+        }
+        for (Displacer d : sublevel.displacers) {
+            if (d instanceof GrapplePoint gp) {
+                int e = store.create(gp, 0);
+                store.setCollider(e, new double[]{gp.pos.x - gp.radius, gp.pos.y - gp.radius,
+                        gp.pos.x + gp.radius, gp.pos.y + gp.radius});
+                store.setTrigger(e, GRAPPLE);
+            }
+        }
+        if (sublevel.checkpoint != null) {
+            int e = store.create(sublevel.checkpoint, 0);
+            sublevel.checkpoint.solidBounds(bounds);
+            store.setCollider(e, bounds);
+            store.setTrigger(e, CHECKPOINT);
+        }
+        for (Lock lock : sublevel.locks) {
+            Key key = lock.key;
+            int k = store.create(key, 0);
+            store.setCollider(k, new double[]{key.ringX - Key.RING_OUTER, key.ringY - Key.RING_OUTER,
+                    Math.max(key.ringX + Key.RING_OUTER, key.bitMaxX), key.stemMaxY});
+            store.setTrigger(k, KEY);
+
+            int l = store.create(lock, 0);
+            lock.solidBounds(bounds);
+            store.setCollider(l, bounds);
+            store.setTrigger(l, LOCK);
+        }
+        if (sublevel.goal != null) {
+            int e = store.create(sublevel.goal, 0);
+            sublevel.goal.solidBounds(bounds);
+            store.setCollider(e, bounds);
+            store.setTrigger(e, GOAL);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,151 @@
+package com.binge;
+
+import java.util.ArrayList;
+
+// The per-tick systems that run over a Sublevel's EntityStore. Each one scans the mask array and
+// touches only the components it needs; adding a mechanic means a new trigger kind or component,
+// not another loop in updateGamePhysics.
+class EntitySystems {
+
+    // Every ball plays its own run of the sublevel: an item or key one ball takes stays in place for the
+    // others (Collectible.takenBy, Key.heldBy) and a lock opens only for the balls holding its key.
+    // Set by the Gym, whose agents share one world; the game has the first ball take things for all.
+    static boolean perBall = false;
+
+    // Predicted centers and radii of the balls, gathered once per tick for the batched obstacle pass
+    private static double[] nextX = new double[0], nextY = new double[0], reach = new double[0];
+    private static boolean[] active = new boolean[0], fielded = new boolean[0];
+    private static final double[] gradient = new double[2];
+    private static final double[] swept = new double[4];
+
+    // The TickProfiler row each trigger kind's time goes to, indexed by EntityStore trigger kind;
+    // a key and its lock share LOCKS
+    private static final TickProfiler.Phase[] TRIGGER_PHASES = {
+            TickProfiler.Phase.COLLECTIBLES, TickProfiler.Phase.DISPLACERS, TickProfiler.Phase.CHECKPOINTS,
+            TickProfiler.Phase.LOCKS, TickProfiler.Phase.LOCKS, TickProfiler.Phase.GOAL
+    };
+
+    // Obstacle phase, every ball against the world in one pass: OBSTACLE entities in load order on the
+    // outside, balls on the inside, so an entity is loaded once and its AABB is tested against the
+    // primitive arrays above before any exact checkCollision. Each ball still meets the obstacles in
+    // load order with the velocity left by the previous one, and balls don't collide with each other,
+    // so the result is the same as one loop per ball. collided[i] says whether ball i was resolved.
+    // With a SignedDistanceField, a ball it covers first meets all static solids in one lookup and then
+    // skips the BAKED entities; a ball too big or fast for the field meets them one by one as before.
+    // KINEMATIC entities moved in the update phase just before, so their collider is re-swept first.
+    static void collideObstacles(Sublevel sublevel, ArrayList<Character> characters, double dt, boolean[] collided) {
+        EntityStore store = sublevel.entities;
+        SignedDistanceField field = sublevel.field;
+        int n = characters.size();
+        if (active.length < n) {
+            nextX = new double[n * 2];
+            nextY = new double[n * 2];
+            reach = new double[n * 2];
+            active = new boolean[n * 2];
+            fielded = new boolean[n * 2];
+        }
+        for (int i = 0; i < n; i++) {
+            Character c = characters.get(i);
+            collided[i] = false;
+            fielded[i] = false;
+            if (field != null && c.inGame) {
+                double speed = Math.sqrt(c.v.x * c.v.x + c.v.y * c.v.y);
+                if (field.covers(c.radius, speed * dt)) {
+                    fielded[i] = true;
+                    if (field.collide(c, dt, gradient)) collided[i] = true;
+                }
+            }
+            active[i] = c.inGame;
+            predict(i, c, dt);
+        }
+
+        int[] mask = store.mask;
+        for (int e = 0; e < store.count; e++) {
+            if ((mask[e] & EntityStore.OBSTACLE) == 0) continue;
+            // A COLLIDER lets a far-away static solid skip checkCollision entirely; circles and rectangles
+            // have no side effects when they don't collide.
+            boolean bounded = (mask[e] & EntityStore.COLLIDER) != 0;
+            boolean baked = (mask[e] & EntityStore.BAKED) != 0;
+            Obstacle obs = (Obstacle) store.owner[e];
+            if ((mask[e] & EntityStore.KINEMATIC) != 0 && obs.sweptBounds(swept)) store.setCollider(e, swept);
+            for (int i = 0; i < n; i++) {
+                if (!active[i]) continue;
+                if (baked && fielded[i]) continue;
+                if (bounded && !store.mayTouch(e, nextX[i], nextY[i], reach[i])) continue;
+
+                Character c = characters.get(i);
+                long obsStart = TickProfiler.now();
+                if (obs.checkCollision(c, c.v.x * dt, c.v.y * dt, dt)) collided[i] = true;
+                TickProfiler.recordObstacle(obs, obsStart);
+                predict(i, c, dt); // A response or a revive moved the ball
+                active[i] = c.inGame;
+            }
+        }
+    }
+
+    private static void predict(int i, Character c, double dt) {
+        nextX[i] = c.pos.x + c.v.x * dt;
+        nextY[i] = c.pos.y + c.v.y * dt;
+        reach[i] = c.radius;
+    }
+
+    // Touch phase: every TRIGGER entity near the ball runs its exact test and reaction.
+    // Entity order is items, grapple points, checkpoint, key/lock pairs, goal, as the old per-list loops ran.
+    static void runTriggers(Sublevel sublevel, Character c, double dt) {
+        EntityStore store = sublevel.entities;
+        int[] mask = store.mask;
+        // Checkpoints test the predicted position, so reach covers this tick's displacement
+        double reach = c.radius + Math.max(Math.abs(c.v.x), Math.abs(c.v.y)) * dt;
+
+        for (int e = 0; e < store.count; e++) {
+            if ((mask[e] & (EntityStore.TRIGGER | EntityStore.COLLIDER)) != (EntityStore.TRIGGER | EntityStore.COLLIDER)) continue;
+            if (!store.mayTouch(e, c.pos.x, c.pos.y, reach)) continue;
+
+            byte kind = store.trigger[e];
+            long start = TickProfiler.now();
+            switch (kind) {
+                case EntityStore.ITEM:
+                    Collectible item = (Collectible) store.owner[e];
+                    if (perBall) {
+                        if (!item.takenBy.contains(c.id) && item.checkCollision(c)) {
+                            item.takenBy.add(c.id);
+                            item.handleCollision(c);
+                        }
+                    } else if (item.checkCollision(c)) {
+                        item.handleCollision(c);
+                        if (item.hitbox != null && item.hitbox.body != null) {
+                            SimulationThread.runOnScene(() -> sublevel.pane.getChildren().remove(item.hitbox.body));
+                        }
+                        sublevel.items.remove(item);
+                        store.destroy(e);
+                    }
+                    break;
+                case EntityStore.GRAPPLE:
+                    GrapplePoint gp = (GrapplePoint) store.owner[e];
+                    if (gp.checkCollision(c) && !gp.cooldown) {
+                        c.grapple = gp; // The frame draws the line, see RenderSnapshot
+                        c.grappleFromX = c.pos.x;
+                        c.grappleFromY = c.pos.y;
+                        if (c.specialTransport) gp.handleCollision(c);
+                    }
+                    break;
+                case EntityStore.CHECKPOINT:
+                    Checkpoint checkpoint = (Checkpoint) store.owner[e];
+                    checkpoint.checkCollision(c, c.v.x * dt, c.v.y * dt, dt);
+                    break;
+                case EntityStore.KEY:
+                    ((Key) store.owner[e]).checkCollision(c); // No-op once collected
+                    break;
+                case EntityStore.LOCK:
+                    ((Lock) store.owner[e]).checkCollision(c, 0, 0, dt);
+                    break;
+                case EntityStore.GOAL:
+                    ((Goal) store.owner[e]).checkCollision(c, 0, 0, dt);
+                    break;
+                default:
+                    break;
+            }
+            TickProfiler.recordPart(TRIGGER_PHASES[kind], start);
+        }
+    }
+}
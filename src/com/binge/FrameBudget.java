@@ -0,0 +1,95 @@
+package com.binge;
+
+// Frame-time budget guard. Watches how long each physics tick takes and, when ticks keep eating
+// too much of the 60Hz frame, sheds optional work one level at a time:
+//   1 - laser pulse-thickness animation
+//   2 - emitter rotation visuals
+//   3 - far-away turrets are updated every FAR_TURRET_INTERVAL ticks (with the skipped time folded in)
+//   4 - cap on live HomingLaserProjectiles
+// Collision is never touched, so whatever is simulated is still resolved exactly.
+public class FrameBudget {
+
+    static boolean enabled = true;
+
+    static final double FRAME_BUDGET_MS = 1000.0 / 60.0;
+    static final double SHED_THRESHOLD_MS = FRAME_BUDGET_MS * 0.5;     // Physics may use half the frame, rendering needs the rest
+    static final double RECOVER_THRESHOLD_MS = FRAME_BUDGET_MS * 0.25;
+    static final double SMOOTHING = 0.1;        // EWMA weight of the newest tick
+    static final int TICKS_TO_SHED = 10;        // React quickly to a stutter...
+    static final int TICKS_TO_RECOVER = 180;    // ...but only restore work after 3 calm seconds
+
+    static final int MAX_LEVEL = 4;
+    static final int FAR_TURRET_INTERVAL = 4;
+    static final double FAR_TURRET_DISTANCE = 600;
+    static int projectileCap = 48; // Only enforced at MAX_LEVEL, 0 disables the cap
+
+    static int level = 0;
+    static double averageTickMs = 0;
+    private static int ticksOverBudget = 0;
+    private static int ticksUnderBudget = 0;
+    private static long tickCount = 0;
+
+    public static void recordTick(long tickNanos) {
+        tickCount++;
+        if (!enabled) {
+            level = 0;
+            return;
+        }
+
+        double tickMs = tickNanos / 1_000_000.0;
+        averageTickMs += SMOOTHING * (tickMs - averageTickMs);
+
+        if (averageTickMs > SHED_THRESHOLD_MS) {
+            ticksUnderBudget = 0;
+            if (++ticksOverBudget >= TICKS_TO_SHED && level < MAX_LEVEL) {
+                changeLevel(level + 1);
+                ticksOverBudget = 0;
+            }
+        } else if (averageTickMs < RECOVER_THRESHOLD_MS) {
+            ticksOverBudget = 0;
+            if (++ticksUnderBudget >= TICKS_TO_RECOVER && level > 0) {
+                changeLevel(level - 1);
+                ticksUnderBudget = 0;
+            }
+        } else {
+            ticksOverBudget = 0;
+            ticksUnderBudget = 0;
+        }
+    }
+
+    // Level changes show up in a flight recording rather than on stdout
+    private static void changeLevel(int to) {
+        GameEvents.FrameBudgetEvent event = new GameEvents.FrameBudgetEvent();
+        event.from = level;
+        event.to = to;
+        event.averageTick = (long) (averageTickMs * 1_000_000);
+        event.commit();
+        level = to;
+    }
+
+    public static boolean pulseAnimationEnabled() {
+        return level < 1;
+    }
+
+    public static boolean emitterRotationEnabled() {
+        return level < 2;
+    }
+
+    // index staggers the throttled turrets so they don't all update on the same tick
+    public static boolean shouldUpdate(Obstacle obs, int index) {
+        if (level < 3 || !isTurret(obs) || obs.pos == null) return true;
+        Character c = Main.nearestCharacter(obs.pos.x, obs.pos.y); // Far from every ball, not just the player
+        if (c == null || obs.pos.distanceSquared(c.pos) < FAR_TURRET_DISTANCE * FAR_TURRET_DISTANCE) return true;
+        return (tickCount + index) % FAR_TURRET_INTERVAL == 0;
+    }
+
+    public static boolean allowProjectileSpawn() {
+        return level < MAX_LEVEL || projectileCap <= 0 || Main.activeProjectiles.size() < projectileCap;
+    }
+
+    private static boolean isTurret(Obstacle obs) {
+        return obs instanceof TrackingLaserObstacle
+                || obs instanceof HomingMissileLauncherObstacle
+                || obs instanceof SpiralMissileLauncherObstacle;
+    }
+}
@@ -0,0 +1,142 @@
+package com.binge;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Java Flight Recorder events for the game loop, stage loading and scene transitions.
+// They are enabled by default but cost next to nothing unless a recording is running, e.g.
+//   java -XX:StartFlightRecording=filename=bounce.jfr,settings=profile ...
+// Stack traces are off so a 60Hz tick event stays cheap.
+public final class GameEvents {
+
+    private GameEvents() {
+    }
+
+    @Name("com.binge.Tick")
+    @Label("Physics Tick")
+    @Category({"Bounce", "Game Loop"})
+    @Description("One fixed-step call of updateGamePhysics")
+    @StackTrace(false)
+    public static class TickEvent extends Event {
+        @Label("Sublevel")
+        int sublevel;
+
+        @Label("Obstacles")
+        int obstacles;
+
+        @Label("Collectibles")
+        int items;
+
+        @Label("Displacers")
+        int displacers;
+
+        @Label("Locks")
+        int locks;
+
+        @Label("Active Projectiles")
+        int projectiles;
+    }
+
+    @Name("com.binge.SublevelLoad")
+    @Label("Sublevel Load")
+    @Category({"Bounce", "Loading"})
+    @Description("Reading one .in file and building its Sublevel")
+    @StackTrace(false)
+    public static class SublevelLoadEvent extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Sublevel")
+        int sublevel;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Records")
+        int records;
+
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long parseTime;
+
+        @Label("Node Creation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long buildTime;
+    }
+
+    @Name("com.binge.StageLoad")
+    @Label("Stage Load")
+    @Category({"Bounce", "Loading"})
+    @Description("Loading every sublevel of a stage directory")
+    @StackTrace(false)
+    public static class StageLoadEvent extends Event {
+        @Label("Stage")
+        int stage;
+
+        @Label("Sublevels")
+        int sublevels;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("com.binge.SublevelTransition")
+    @Label("Sublevel Transition")
+    @Category({"Bounce", "Scene"})
+    @Description("Character crossed a screen edge into a neighbouring sublevel")
+    @StackTrace(false)
+    public static class SublevelTransitionEvent extends Event {
+        @Label("From")
+        int from;
+
+        @Label("To")
+        int to;
+    }
+
+    @Name("com.binge.Death")
+    @Label("Death")
+    @Category({"Bounce", "Scene"})
+    @Description("Character was killed; revived at a checkpoint or sent to the death page")
+    @StackTrace(false)
+    public static class DeathEvent extends Event {
+        @Label("Sublevel")
+        int sublevel;
+
+        @Label("X")
+        double x;
+
+        @Label("Y")
+        double y;
+
+        @Label("Revived")
+        boolean revived;
+
+        @Label("Checkpoint Sublevel")
+        int checkpointSublevel;
+    }
+
+    @Name("com.binge.FrameBudgetChange")
+    @Label("Frame Budget Change")
+    @Category({"Bounce", "Game Loop"})
+    @Description("FrameBudget shed optional work or restored it")
+    @StackTrace(false)
+    public static class FrameBudgetEvent extends Event {
+        @Label("From Level")
+        int from;
+
+        @Label("To Level")
+        int to;
+
+        @Label("Average Tick")
+        @Timespan(Timespan.NANOSECONDS)
+        long averageTick;
+    }
+}
@@ -0,0 +1,387 @@
+package com.binge;
+
+import javafx.scene.paint.Color;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Reinforcement-learning environment over the headless engine:
+//   java -cp <classpath> com.binge.Gym --stage DIR [--sublevel N] [--agents K] [--ticks-per-step T]
+//        [--episode-steps E] [--shm FILE --socket PATH | --bench STEPS]
+// K agents are K Characters in one sublevel (see Main.characters), all stepped by the same physics tick.
+// The world is Main's static state, so fully independent worlds mean one Gym process each; inside one
+// process agents don't collide with each other, and each takes its own coins and keys and opens its own
+// locks (EntitySystems.perBall). Moving platforms, turrets and grapple cooldowns are shared. Checkpoints
+// are ignored, a death ends the episode.
+//
+// Everything crosses in one little-endian buffer, direct or mapped from --shm so a local process reads
+// it in place (numpy.memmap) with no copies:
+//   0                      int agents, int obsSize, int rays, int reserved
+//   HEADER                 int   action[K]        written by the trainer: bits LEFT, RIGHT, JUMP, SPECIAL
+//   actionsEnd             float obs[K][obsSize]  x, y, vx, vy, jumps left, ray distances, ray hit is fatal
+//   observationsEnd        float reward[K]
+//   rewardsEnd             byte  done[K]          0 running, 1 terminal, 2 truncated
+// step() reads the actions, runs ticksPerStep physics ticks and writes the rest. An agent that is done
+// starts a new episode right away and its observation is already the first one of that episode.
+// Over --socket the trainer sends one byte per call, 'r' reset, 's' step or 'q' quit, and waits for
+// the one byte reply 'k' before reading the buffer.
+public class Gym {
+
+    static final int LEFT = 1, RIGHT = 2, JUMP = 4, SPECIAL = 8;
+
+    static final int RAYS = 16;
+    static final double RAY_LENGTH = 400;
+    static final int OBS_SIZE = 5 + 2 * RAYS;
+    static final int HEADER = 16;
+
+    static final float REWARD_PER_PIXEL = 0.01f; // Progress to the right
+    static final float REWARD_DEATH = -1f;
+    static final float REWARD_EXIT = 5f;         // Touching the right edge, where the next sublevel would start
+    static final float REWARD_GOAL = 10f;
+    static final float REWARD_PER_COIN = 0.5f;
+
+    static final int PARALLEL_THRESHOLD = 64; // Agents, below this observations are built serially
+    static final int CHUNK_SIZE = 32;
+
+    private static final double[] RAY_X = new double[RAYS], RAY_Y = new double[RAYS];
+
+    static {
+        for (int r = 0; r < RAYS; r++) {
+            RAY_X[r] = Math.cos(2 * Math.PI * r / RAYS);
+            RAY_Y[r] = Math.sin(2 * Math.PI * r / RAYS);
+        }
+    }
+
+    private static final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    final String stagePath;
+    final int sublevelNum, agents, ticksPerStep, episodeSteps;
+    final ByteBuffer buffer;
+    final int actionsOffset, observationsOffset, rewardsOffset, donesOffset;
+
+    private Point2D spawn;
+    private final int[] episodeStep;
+    private final float[] reward;   // Accumulated over the ticks of a step, OutcomeBus listener included
+    private final byte[] done;
+    private long firstTickOfStep;
+    private final ObserveRange[] ranges; // CHUNK_SIZE agents each, with their own ray scratch
+    private final ObserveAll observeAll;
+
+    Gym(String stagePath, int sublevelNum, int agents, int ticksPerStep, int episodeSteps, ByteBuffer buffer) {
+        this.stagePath = stagePath;
+        this.sublevelNum = sublevelNum;
+        this.agents = agents;
+        this.ticksPerStep = ticksPerStep;
+        this.episodeSteps = episodeSteps;
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.actionsOffset = HEADER;
+        this.observationsOffset = actionsOffset + 4 * agents;
+        this.rewardsOffset = observationsOffset + 4 * agents * OBS_SIZE;
+        this.donesOffset = rewardsOffset + 4 * agents;
+        this.episodeStep = new int[agents];
+        this.reward = new float[agents];
+        this.done = new byte[agents];
+        this.ranges = new ObserveRange[Math.max(1, (agents + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+        for (int r = 0; r < ranges.length; r++) {
+            ranges[r] = new ObserveRange(this, r * CHUNK_SIZE, Math.min(agents, (r + 1) * CHUNK_SIZE));
+        }
+        this.observeAll = new ObserveAll(ranges);
+
+        buffer.putInt(0, agents);
+        buffer.putInt(4, OBS_SIZE);
+        buffer.putInt(8, RAYS);
+
+        HeadlessStepper.init();
+        EntitySystems.perBall = true;
+        while (Main.characters.size() < agents) {
+            Main.addCharacter(new Character(0, 0, HeadlessStepper.CHARACTER_RADIUS, Color.rgb(255, 241, 204)), null);
+        }
+        for (int i = 0; i < agents; i++) Main.characters.get(i).input = this::applyAction;
+        OutcomeBus.addListener(this::onOutcome);
+    }
+
+    static int bufferSize(int agents) {
+        return HEADER + 4 * agents + 4 * agents * OBS_SIZE + 4 * agents + agents;
+    }
+
+    // Fresh level, every agent at the spawn point
+    void reset() {
+        Level level = HeadlessStepper.loadLevel(stagePath, 0);
+        Sublevel sublevel = level.sublevels.get(sublevelNum - 1);
+        // A level of just this sublevel, so its side walls are solid for every agent, the player included
+        Level world = new Level(level.index);
+        world.sublevels.add(sublevel);
+        world.levelLength = 1;
+        spawn = LevelValidator.respawnPoint(sublevel);
+        HeadlessStepper.enterSublevel(world, 1, spawn.x, spawn.y);
+        for (int i = 0; i < agents; i++) {
+            episodeStep[i] = 0;
+            reward[i] = 0;
+            done[i] = 0;
+        }
+        writeResults();
+    }
+
+    void step() {
+        for (int i = 0; i < agents; i++) {
+            reward[i] = 0;
+            done[i] = 0;
+        }
+        for (int i = 0; i < agents; i++) reward[i] -= REWARD_PER_PIXEL * (float) Main.characters.get(i).pos.x;
+        firstTickOfStep = TickScheduler.tick;
+        for (int t = 0; t < ticksPerStep; t++) {
+            for (int i = 0; i < agents; i++) {
+                Main.characters.get(i).lastCheckpoint = null; // Checkpoints would hide deaths from the trainer
+            }
+            stepTick();
+        }
+        for (int i = 0; i < agents; i++) {
+            Character c = Main.characters.get(i);
+            reward[i] += REWARD_PER_PIXEL * (float) c.pos.x; // Progress over the step, done agents stand still
+            episodeStep[i]++;
+            if (done[i] == 0 && episodeSteps > 0 && episodeStep[i] >= episodeSteps) done[i] = 2;
+            if (done[i] != 0) restart(c);
+        }
+        writeResults();
+    }
+
+    private void stepTick() {
+        HeadlessStepper.step();
+        for (int i = 0; i < agents; i++) {
+            Character c = Main.characters.get(i);
+            // The right edge is where the next sublevel would start; checked every tick, the wall bounces the ball back
+            if (done[i] == 0 && c.inGame && c.pos.x + c.radius >= Main.WINDOW_WIDTH - 0.5) {
+                reward[i] += REWARD_EXIT;
+                done[i] = 1;
+                c.inGame = false; // Sits out the rest of the step like a dead agent
+            }
+        }
+    }
+
+    // InputSource of every agent, reads its action out of the buffer
+    private void applyAction(Character c, long tick) {
+        if (done[c.id] != 0) {
+            c.movingLeft = c.movingRight = c.specialTransport = false;
+            return;
+        }
+        int action = buffer.getInt(actionsOffset + 4 * c.id);
+        c.movingLeft = (action & LEFT) != 0;
+        c.movingRight = (action & RIGHT) != 0;
+        c.specialTransport = (action & SPECIAL) != 0;
+        if ((action & JUMP) != 0 && tick == firstTickOfStep) c.jump(); // An impulse, once per step
+    }
+
+    private void onOutcome(byte type, int actor, Object subject, double x, double y, int value) {
+        if (actor >= agents) return;
+        switch (type) {
+            case OutcomeBus.DEATH:
+                reward[actor] += REWARD_DEATH;
+                done[actor] = 1;
+                break;
+            case OutcomeBus.GOAL_REACHED:
+                reward[actor] += REWARD_GOAL;
+                done[actor] = 1;
+                break;
+            case OutcomeBus.COIN_COLLECTED:
+                reward[actor] += REWARD_PER_COIN * value;
+                break;
+            default:
+                break;
+        }
+    }
+
+    // New episode for one agent, in the same world: its coins, keys and locks are back and a size change
+    // it picked up won't wear off later on the fresh ball
+    private void restart(Character c) {
+        for (Collectible item : Main.currentSublevel.items) {
+            item.takenBy.remove(c.id);
+            if (item instanceof SizeShifter shifter) TickScheduler.cancel(shifter, c.id);
+        }
+        for (Lock lock : Main.currentSublevel.locks) lock.key.heldBy.remove(c.id);
+        c.coins = 0;
+        c.pos.setX(spawn.x);
+        c.pos.setY(spawn.y);
+        c.v.setX(0);
+        c.v.setY(0);
+        c.jumpCount = 0;
+        c.sublevelNum = 1;
+        c.radius = HeadlessStepper.CHARACTER_RADIUS;
+        c.lastCheckpoint = null;
+        c.inGame = true;
+        episodeStep[c.id] = 0;
+    }
+
+    // The observations allocate nothing: the fork/join tasks and their scratch are made once and reused
+    private void writeResults() {
+        if (agents >= PARALLEL_THRESHOLD) {
+            observeAll.reinitialize();
+            for (ObserveRange range : ranges) range.reinitialize();
+            pool.invoke(observeAll);
+        } else {
+            for (ObserveRange range : ranges) range.observe();
+        }
+        for (int i = 0; i < agents; i++) {
+            buffer.putFloat(rewardsOffset + 4 * i, reward[i]);
+            buffer.put(donesOffset + i, done[i]);
+        }
+    }
+
+    // A range of agents and the scratch its rays are cast with. Only reads the world and writes its own
+    // agents' slots, so ranges run in parallel.
+    @SuppressWarnings("serial")
+    private static class ObserveRange extends RecursiveAction {
+        final Gym gym;
+        final int from, to;
+        final double[] rays = new double[4 * RAYS];
+        final double[] hits = new double[3 * RAYS];
+        final Obstacle[] hitObstacles = new Obstacle[RAYS];
+
+        ObserveRange(Gym gym, int from, int to) {
+            this.gym = gym;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            observe();
+        }
+
+        void observe() {
+            ByteBuffer buffer = gym.buffer;
+            for (int i = from; i < to; i++) {
+                Character c = Main.characters.get(i);
+                int o = gym.observationsOffset + 4 * OBS_SIZE * i;
+                buffer.putFloat(o, (float) (c.pos.x / Main.WINDOW_WIDTH));
+                buffer.putFloat(o + 4, (float) (c.pos.y / Main.WINDOW_HEIGHT));
+                buffer.putFloat(o + 8, (float) (c.v.x / Main.MAX_MOVE_SPEED));
+                buffer.putFloat(o + 12, (float) (c.v.y / Main.MAX_MOVE_SPEED));
+                buffer.putFloat(o + 16, (2 - c.jumpCount) / 2f);
+                for (int r = 0; r < RAYS; r++) {
+                    rays[4 * r] = c.pos.x;
+                    rays[4 * r + 1] = c.pos.y;
+                    rays[4 * r + 2] = RAY_X[r];
+                    rays[4 * r + 3] = RAY_Y[r];
+                }
+                RayCast.castAll(Main.currentSublevel, rays, RAYS, RAY_LENGTH, true, i, hits, hitObstacles);
+                for (int r = 0; r < RAYS; r++) {
+                    buffer.putFloat(o + 20 + 4 * r, (float) (hits[3 * r] / RAY_LENGTH));
+                    buffer.putFloat(o + 20 + 4 * (RAYS + r), hitObstacles[r] != null && hitObstacles[r].fatal ? 1f : 0f);
+                }
+            }
+            Arrays.fill(hitObstacles, null); // Nothing of a reset level stays reachable from here
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class ObserveAll extends RecursiveAction {
+        final ObserveRange[] ranges;
+
+        ObserveAll(ObserveRange[] ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(ranges);
+        }
+    }
+
+    private static void bench(Gym gym, long steps) {
+        for (long s = 0; s < steps; s++) {
+            for (int i = 0; i < gym.agents; i++) {
+                gym.buffer.putInt(gym.actionsOffset + 4 * i, RIGHT | ((s + i) % 8 == 0 ? JUMP : 0));
+            }
+            gym.step();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String stagePath = LevelValidator.DEFAULT_STAGES + "/stage1/";
+        int sublevel = 1, agents = 64, ticksPerStep = 4, episodeSteps = 1000;
+        long benchSteps = 0;
+        Path shm = null, socket = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stage": stagePath = args[++i]; break;
+                case "--sublevel": sublevel = Integer.parseInt(args[++i]); break;
+                case "--agents": agents = Integer.parseInt(args[++i]); break;
+                case "--ticks-per-step": ticksPerStep = Integer.parseInt(args[++i]); break;
+                case "--episode-steps": episodeSteps = Integer.parseInt(args[++i]); break;
+                case "--shm": shm = Path.of(args[++i]); break;
+                case "--socket": socket = Path.of(args[++i]); break;
+                case "--bench": benchSteps = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        ByteBuffer buffer;
+        if (shm != null) {
+            try (FileChannel channel = FileChannel.open(shm, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferSize(agents)); // Stays mapped after close
+            }
+        } else {
+            buffer = ByteBuffer.allocateDirect(bufferSize(agents));
+        }
+        Gym gym = new Gym(stagePath, sublevel, agents, ticksPerStep, episodeSteps, buffer);
+        gym.reset();
+
+        if (benchSteps > 0) {
+            // Everyone holds right and jumps now and then, the trainer's side of a step costs nothing here.
+            // A tenth of the steps again first, untimed, so the JIT has compiled the tick before the clock starts.
+            bench(gym, benchSteps / 10);
+            long start = System.nanoTime();
+            bench(gym, benchSteps);
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "%d agents, %d steps of %d ticks in %.2fs on %d cpus: %.0f agent-steps/s, %.0f agent-ticks/s%n",
+                    agents, benchSteps, ticksPerStep, secs, Runtime.getRuntime().availableProcessors(),
+                    agents * benchSteps / secs, agents * benchSteps * ticksPerStep / secs);
+            return;
+        }
+        if (socket == null) {
+            System.err.println("Either --socket (with --shm) or --bench is required");
+            System.exit(2);
+            return;
+        }
+
+        Files.deleteIfExists(socket);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            System.out.println("Gym ready: " + agents + " agents, buffer " + bufferSize(agents) + " bytes, socket " + socket);
+            try (SocketChannel client = server.accept()) {
+                ByteBuffer request = ByteBuffer.allocate(1);
+                ByteBuffer reply = ByteBuffer.allocate(1);
+                while (true) {
+                    request.clear();
+                    if (client.read(request) < 0) break;
+                    byte command = request.get(0);
+                    if (command == 'q') break;
+                    if (command == 'r') gym.reset();
+                    else if (command == 's') gym.step();
+                    reply.clear();
+                    reply.put((byte) 'k').flip();
+                    client.write(reply);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.binge;
+
+// Drives Main.updateGamePhysics without a JavaFX Application: no scene, no canvas, no Timeline.
+// Nodes are still created by the obstacle constructors but never shown. Profiler and frame-budget
+// shedding are switched off so a run depends only on the level and the inputs, not on wall-clock time.
+// The world is Main's static state, so there is one headless world per JVM.
+public class HeadlessStepper {
+
+    static final double DT = 1.0 / 60.0;
+    static final int CHARACTER_RADIUS = 20; // Same as Main.character
+
+    private static boolean initialized = false;
+
+    public static void init() {
+        if (initialized) return;
+        Main.headless = true;
+        Main.character.input = null; // No keyboard, callers set the player's flags; companions keep their InputSource
+        TickProfiler.enabled = false;
+        FrameBudget.enabled = false;
+        initialized = true;
+    }
+
+    public static Level loadLevel(String stagePath, int n) {
+        init();
+        Level level = PageLoader.buildLevel(stagePath, n);
+        Main.currentLevel = level;
+        return level;
+    }
+
+    // Places every ball at the sublevel's respawn point with a clean state
+    public static void enterSublevel(Level level, int sublevelNum, double x, double y) {
+        Main.currentLevel = level;
+        Main.currentSublevel = level.sublevels.get(sublevelNum - 1);
+        Main.currentSublevel.projectiles.clear();
+        Main.currentSublevel.dormantSince = -1; // A reset run starts from the sublevel as it is, no catching up
+        Main.activeProjectiles = Main.currentSublevel.projectiles;
+        TickScheduler.clear(); // A reset run must not inherit cooldowns or size changes
+
+        for (Character c : Main.characters) reset(c, level, sublevelNum, x, y);
+    }
+
+    private static void reset(Character c, Level level, int sublevelNum, double x, double y) {
+        c.levelNum = level.index;
+        c.sublevelNum = sublevelNum;
+        c.radius = CHARACTER_RADIUS;
+        c.pos.setX(x);
+        c.pos.setY(y);
+        c.v.setX(0);
+        c.v.setY(0);
+        c.jumpCount = 0;
+        c.movingLeft = c.movingRight = c.movingUp = c.specialTransport = false;
+        c.lastCheckpoint = null;
+        c.inGame = true;
+    }
+
+    public static void step() {
+        Main.updateGamePhysics();
+        OutcomeBus.drain(); // Only the listeners a headless tool registered, there is no scene
+    }
+}
@@ -0,0 +1,213 @@
+package com.binge;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Heap accounting per Level: what each kind of entity costs once built, objects and nodes together.
+//   java -cp <classpath> com.binge.HeapReport [--stages DIR] [--stage DIR] [--copies K]
+// For every stage (all stageN under --stages, or the one --stage names) it builds the records of each
+// section on their own and measures the heap they retain, then the whole level as the game builds it, and
+// prints bytes per entity type, the indexes (Broadphase, EntityStore, ...) and the panes of the sublevels,
+// what the eager level holds and what LeanMode keeps resident at most.
+// Retained bytes are the used heap after a full GC, before and after, so run it alone. Every build is done
+// --copies times over (default 20, each copy with its own SharedGeometry, as another level would) and
+// divided, which keeps the GC's few KB of noise out of small levels.
+public class HeapReport {
+
+    static final String DEFAULT_STAGES = LevelValidator.DEFAULT_STAGES;
+
+    // Everything measured of one stage, in bytes
+    static class LevelHeap {
+        final String stage;
+        final Map<String, long[]> kinds = new LinkedHashMap<>(); // Section -> {count, bytes}
+        final List<Long> sublevels = new ArrayList<>();         // Each sublevel built whole
+        long entities, indexes, panes, total;
+        int sharedGeometries, sharedHits;
+
+        LevelHeap(String stage) {
+            this.stage = stage;
+        }
+
+        // At most what LeanMode keeps built: its RETAIN biggest sublevels
+        long leanResident() {
+            Long[] sorted = sublevels.toArray(new Long[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(b, a));
+            long sum = 0;
+            for (int i = 0; i < Math.min(LeanMode.RETAIN, sorted.length); i++) sum += sorted[i];
+            return sum;
+        }
+    }
+
+    public static void main(String[] args) {
+        String stagesDir = DEFAULT_STAGES;
+        String stage = null;
+        int copies = 20;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stages": stagesDir = args[++i]; break;
+                case "--stage": stage = args[++i]; break;
+                case "--copies": copies = Math.max(1, Integer.parseInt(args[++i])); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        List<File> stages = new ArrayList<>();
+        if (stage != null) {
+            stages.add(new File(stage));
+        } else {
+            File[] dirs = new File(stagesDir).listFiles(File::isDirectory);
+            if (dirs != null) {
+                Arrays.sort(dirs);
+                stages.addAll(Arrays.asList(dirs));
+            }
+        }
+
+        HeadlessStepper.init(); // Nodes are built but never shown, no toolkit needed
+        for (File dir : stages) {
+            if (PageLoader.sublevelFiles(dir) == null) continue;
+            print(measure(dir, copies));
+        }
+    }
+
+    // Builds the stage's sublevels section by section, then whole, measuring what each build retains
+    static LevelHeap measure(File dir, int copies) {
+        File[] files = PageLoader.sublevelFiles(dir);
+        List<ArrayList<PageLoader.StageRecord>> records = new ArrayList<>();
+        for (File file : files) {
+            ArrayList<PageLoader.StageRecord> parsed = PageLoader.parseStageFile(file.getPath());
+            parsed.removeIf(record -> record.section.equals("initial position")); // Places the balls, builds nothing
+            records.add(parsed);
+        }
+        LevelHeap heap = new LevelHeap(dir.getName());
+        int n = records.size();
+
+        // Class loading and static tables are not the level's
+        for (int k = 0; k < n; k++) PageLoader.buildSublevel(records.get(k), k + 1);
+        heap.sharedGeometries = SharedGeometry.size();
+        heap.sharedHits = SharedGeometry.hits();
+        SharedGeometry.clear();
+
+        // Empty sublevels: a Pane, the lists and an EntityStore each
+        heap.panes = retained(copies, () -> {
+            Sublevel[] empty = new Sublevel[n];
+            for (int k = 0; k < n; k++) empty[k] = new Sublevel(k + 1);
+            return empty;
+        });
+
+        // Entities, per section in order of first appearance: built into empty sublevels, less those
+        Map<String, List<List<PageLoader.StageRecord>>> bySection = new LinkedHashMap<>();
+        for (int k = 0; k < n; k++) {
+            for (PageLoader.StageRecord record : records.get(k)) {
+                List<List<PageLoader.StageRecord>> perSublevel = bySection.computeIfAbsent(record.section, s -> {
+                    List<List<PageLoader.StageRecord>> lists = new ArrayList<>();
+                    for (int i = 0; i < n; i++) lists.add(new ArrayList<>());
+                    return lists;
+                });
+                perSublevel.get(k).add(record);
+            }
+        }
+        for (Map.Entry<String, List<List<PageLoader.StageRecord>>> entry : bySection.entrySet()) {
+            List<List<PageLoader.StageRecord>> perSublevel = entry.getValue();
+            int count = 0;
+            for (List<PageLoader.StageRecord> list : perSublevel) count += list.size();
+            long bytes = retained(copies, () -> {
+                Sublevel[] built = new Sublevel[n];
+                for (int k = 0; k < n; k++) {
+                    built[k] = new Sublevel(k + 1);
+                    PageLoader.buildRecords(built[k], perSublevel.get(k));
+                }
+                return built;
+            }) - heap.panes;
+            heap.kinds.put(entry.getKey(), new long[]{count, bytes});
+            heap.entities += bytes;
+        }
+
+        // Each sublevel whole, as the game builds it, then the level; indexes are what the parts don't cover
+        for (int k = 0; k < n; k++) {
+            int index = k;
+            heap.sublevels.add(retained(copies, () -> PageLoader.buildSublevel(records.get(index), index + 1)));
+        }
+        heap.total = retained(copies, () -> {
+            Sublevel[] level = new Sublevel[n];
+            for (int k = 0; k < n; k++) level[k] = PageLoader.buildSublevel(records.get(k), k + 1);
+            return level;
+        });
+        heap.indexes = Math.max(0, heap.total - heap.entities - heap.panes);
+        return heap;
+    }
+
+    // Heap retained per copy by what build returns, built copies times, each copy with SharedGeometry to
+    // itself. The builds happen in frames of their own, so no stale local keeps garbage alive across readings.
+    private static long retained(int copies, Supplier<Object> build) {
+        build.get(); // Whatever the previous measurement left pending is let go during a build
+        SharedGeometry.clear();
+        ArrayList<Object> held = new ArrayList<>();
+        long before = usedHeap();
+        for (int c = 0; c < copies; c++) {
+            held.add(build.get());
+            held.add(SharedGeometry.drain());
+        }
+        long after = usedHeap();
+        Reference.reachabilityFence(held);
+        return (after - before) / copies;
+    }
+
+    static void print(LevelHeap heap) {
+        System.out.printf(Locale.ROOT, "%s: %d sublevels, %s eager, %s resident at most in lean mode%n",
+                heap.stage, heap.sublevels.size(), kilobytes(heap.total), kilobytes(heap.leanResident()));
+        System.out.printf(Locale.ROOT, "    %-30s %7s %10s %10s %6s%n", "kind", "count", "total", "each", "share");
+        for (Map.Entry<String, long[]> entry : heap.kinds.entrySet()) {
+            long count = entry.getValue()[0], bytes = entry.getValue()[1];
+            System.out.printf(Locale.ROOT, "    %-30s %7d %10s %9dB %5.1f%%%n", entry.getKey(), count, kilobytes(bytes),
+                    count == 0 ? 0 : bytes / count, 100.0 * bytes / Math.max(1, heap.total));
+        }
+        System.out.printf(Locale.ROOT, "    %-30s %7d %10s %10s %5.1f%%%n", "(sublevel panes)", heap.sublevels.size(),
+                kilobytes(heap.panes), "", 100.0 * heap.panes / Math.max(1, heap.total));
+        System.out.printf(Locale.ROOT, "    %-30s %7s %10s %10s %5.1f%%%n", "(indexes)", "",
+                kilobytes(heap.indexes), "", 100.0 * heap.indexes / Math.max(1, heap.total));
+        StringBuilder perSublevel = new StringBuilder();
+        for (int k = 0; k < heap.sublevels.size(); k++) {
+            perSublevel.append(k == 0 ? "" : ", ").append(k + 1).append(": ").append(kilobytes(heap.sublevels.get(k)));
+        }
+        System.out.println("    sublevels " + perSublevel);
+        System.out.printf(Locale.ROOT, "    shared geometry: %d distinct, %d reused%n", heap.sharedGeometries, heap.sharedHits);
+    }
+
+    static String kilobytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1fKB", bytes / 1024.0);
+    }
+
+    // Used heap after full collections, settled: three readings in a row that agree. Some of what a build
+    // drops is only let go a collection or two later, once reference handling and the finalizer thread have
+    // run; the pauses also let the toolkit's renderer thread, which the first node starts, finish initializing.
+    @SuppressWarnings("removal")
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long last = -1;
+        int agreeing = 0;
+        for (int i = 0; i < 40 && agreeing < 2; i++) {
+            System.gc();
+            System.runFinalization();
+            try {
+                Thread.sleep(i == 0 ? 10 : 50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long used = runtime.totalMemory() - runtime.freeMemory();
+            agreeing = used == last ? agreeing + 1 : 0;
+            last = used;
+        }
+        return last;
+    }
+}
@@ -14,7 +14,7 @@ public class HomingLaserProjectile {
     double turnRateRadiansPerSec; // Max rate at which it can change its velocity direction
 
     double lifespanSecs; // How long it exists before disappearing
-    Character target;    // Reference to Main.character
+    Character target;    // Ball nearest to the launcher when it was spawned
 
     Shape body;          // Visual representation (e.g., small Circle)
     Pane projectilePane; // Pane this projectile belongs to, for removal
@@ -41,7 +41,8 @@ public class HomingLaserProjectile {
         // Ensure this new body is added to the pane passed in,
         // which should be the main game pane where the character and other elements reside.
         // This pane reference is also stored for later removal.
-        this.projectilePane.getChildren().add(this.body);
+        Shape newBody = this.body;
+        SimulationThread.runOnScene(() -> this.projectilePane.getChildren().add(newBody));
 
         this.isActive = true;
     }
@@ -91,14 +92,42 @@ public class HomingLaserProjectile {
         Point2D displacement = this.velocity.scale(deltaTime); // scale still returns a new Point2D
         this.position = this.position.add(displacement); // Now uses the new add method
 
-        // Update visual body's screen position
-        if (this.body instanceof Circle) {
+        // Update visual body's screen position (a RenderSnapshot does this when simulating off the FX thread)
+        if (this.body instanceof Circle && !SimulationThread.isSimulationThread()) {
             ((Circle)this.body).setCenterX(this.position.getX());
             ((Circle)this.body).setCenterY(this.position.getY());
         }
         // Else if using another shape, update its layoutX/Y or specific properties
     }
 
+    // Catch-up for a projectile of a dormant sublevel (see Dormancy), in closed form: with its target out of
+    // the room it would have flown straight, so it is deactivated if its lifespan ran out, a solid lies
+    // on that line or the line leaves the screen, and otherwise moved to the end of it.
+    void fastForward(Sublevel sublevel, double seconds, RayCast.Hit hit) {
+        if (!isActive) return;
+        double flight = Math.min(seconds, lifespanSecs);
+        lifespanSecs -= seconds;
+        double length = Math.sqrt(velocity.x * velocity.x + velocity.y * velocity.y);
+        if (length > 0) {
+            double dirX = velocity.x / length, dirY = velocity.y / length;
+            double distance = length * flight;
+            if (RayCast.cast(sublevel, position.x, position.y, dirX, dirY, distance, false, hit)) {
+                setActive(false);
+                return;
+            }
+            position = new Point2D(position.x + dirX * distance, position.y + dirY * distance);
+        }
+        if (lifespanSecs <= 0 || position.x < 0 || position.x > Main.WINDOW_WIDTH
+                || position.y < 0 || position.y > Main.WINDOW_HEIGHT) {
+            setActive(false);
+            return;
+        }
+        if (this.body instanceof Circle circle && !SimulationThread.isSimulationThread()) {
+            circle.setCenterX(position.x);
+            circle.setCenterY(position.y);
+        }
+    }
+
     public boolean checkCollisionWithPlayer(Character player) {
         if (!isActive) {
             return false; // Cannot collide if not active
@@ -143,7 +172,8 @@ public class HomingLaserProjectile {
     // Call this to remove the projectile's visual from the scene
     public void removeFromPane() {
         if (this.projectilePane != null && this.body != null) {
-            this.projectilePane.getChildren().remove(this.body);
+            Shape oldBody = this.body;
+            SimulationThread.runOnScene(() -> this.projectilePane.getChildren().remove(oldBody));
         }
     }
 
@@ -176,43 +206,39 @@ public class HomingLaserProjectile {
                 projectileRadius = ((Circle) this.body).getRadius();
             }
 
-            // --- Collision with CircleObstacle ---
-            if (obs instanceof CircleObstacle) {
-                CircleObstacle circleObs = (CircleObstacle) obs;
-                // CircleObstacle's 'pos' is its center, 'body' is a Circle shape
-                if (circleObs.body instanceof Circle) {
-                    double obsRadius = ((Circle)circleObs.body).getRadius();
-                    double distSq = this.position.distanceSquared(circleObs.pos);
-                    double sumRadii = projectileRadius + obsRadius;
-                    if (distSq < sumRadii * sumRadii) {
-                        this.setActive(false); // Deactivates and removes from pane
-                        return true; // Collision detected
-                    }
-                }
-            }
-            // --- Collision with RectangleObstacle (Using AABB for now) ---
-            else if (obs instanceof RectangleObstacle) {
-                RectangleObstacle rectObs = (RectangleObstacle) obs;
-                // Using Axis-Aligned Bounding Box (AABB) intersection as a temporary measure.
-                // This is less accurate for rotated rectangles than OBB.
-                if (this.body != null && rectObs.body != null && rectObs.body.isVisible()) {
-                    // Ensure projectile body is also visible for collision
-                    if (!this.body.isVisible()) return false;
-
-                    javafx.geometry.Bounds projBounds = this.body.getBoundsInParent();
-                    javafx.geometry.Bounds obsBounds = rectObs.body.getBoundsInParent();
-
-                    if (projBounds.intersects(obsBounds)) {
-                        this.setActive(false); // Deactivates and calls removeFromPane()
-                        return true; // Collision detected
-                    }
-                }
+            // Solid shapes answer on primitives, so it doesn't read node bounds; lasers and turrets say no
+            if (obs.overlapsCircle(this.position.getX(), this.position.getY(), projectileRadius)) {
+                this.setActive(false); // Deactivates and calls removeFromPane()
+                return true; // Collision detected
             }
-            // Add more 'else if' for other solid obstacle types if necessary
         }
         return false; // No collision with any obstacle
     }
 
+    // Same as checkCollisionWithObstacles for a sublevel with a SignedDistanceField: only circles,
+    // rectangles, cut-off shapes and moving platforms stop a projectile and the field holds all but the
+    // platforms (Broadphase.kinematic), so the list isn't walked
+    public boolean checkCollisionWithField(SignedDistanceField field, Obstacle[] moving) {
+        if (!isActive) {
+            return false;
+        }
+        double projectileRadius = DEFAULT_RADIUS;
+        if (this.body instanceof Circle) {
+            projectileRadius = ((Circle) this.body).getRadius();
+        }
+        if (field.overlaps(this.position.getX(), this.position.getY(), projectileRadius)) {
+            this.setActive(false);
+            return true;
+        }
+        for (Obstacle obs : moving) {
+            if (obs.overlapsCircle(this.position.getX(), this.position.getY(), projectileRadius)) {
+                this.setActive(false);
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Getter for the body, if needed externally (e.g. for adding to different layers)
     public Shape getBody() {
         return body;
@@ -15,6 +15,8 @@ public class HomingMissileLauncherObstacle extends Obstacle {
         COOLDOWN
     }
 
+    private static final LauncherState[] STATES = LauncherState.values(); // Cached, values() copies on every call
+
     // Launcher Properties
     Point2D emitterPosition;
     double currentAngleRadians;
@@ -92,15 +94,15 @@ public class HomingMissileLauncherObstacle extends Obstacle {
     public void update(double deltaTime) {
         stateTimerSecs += deltaTime;
 
-        // Ensure Main.character and its position are accessible for TRACKING state
         Point2D playerPos = null;
-        if (Main.character != null && Main.character.pos != null) {
-            playerPos = Main.character.pos;
+        Character target = Main.nearestCharacter(emitterPosition.getX(), emitterPosition.getY()); // Nearest ball in the run
+        // Only a ball the launcher can see counts, behind a wall it is as good as gone
+        if (target != null && RayCast.lineOfSight(Main.currentSublevel, emitterPosition.x, emitterPosition.y, target.pos.x, target.pos.y)) {
+            playerPos = target.pos;
         }
 
         switch (currentState) {
             case IDLE:
-                this.emitterBody.setFill(LAUNCHER_IDLE_COLOR);
                 if (playerPos != null && emitterPosition.distanceSquared(playerPos) < detectionRangeSq) {
                     currentState = LauncherState.TRACKING;
                     stateTimerSecs = 0.0;
@@ -109,7 +111,6 @@ public class HomingMissileLauncherObstacle extends Obstacle {
                 break;
 
             case TRACKING:
-                this.emitterBody.setFill(LAUNCHER_TRACKING_COLOR);
                 if (playerPos == null || emitterPosition.distanceSquared(playerPos) > detectionRangeSq) {
                     currentState = LauncherState.IDLE; // Player lost or out of range
                     stateTimerSecs = 0.0;
@@ -142,7 +143,6 @@ public class HomingMissileLauncherObstacle extends Obstacle {
                 break;
 
             case LOCKON:
-                this.emitterBody.setFill(LAUNCHER_LOCKON_COLOR);
                 if (playerPos == null || emitterPosition.distanceSquared(playerPos) > detectionRangeSq) {
                     currentState = LauncherState.IDLE; // Player lost during lockon
                     stateTimerSecs = 0.0;
@@ -167,34 +167,28 @@ public class HomingMissileLauncherObstacle extends Obstacle {
 
                     if (numToFire == 1) {
                         // Fire a single projectile straight ahead
-                        Point2D initialDir = new Point2D(Math.cos(centerAngle), Math.sin(centerAngle));
-                        HomingLaserProjectile projectile = new HomingLaserProjectile(
+                        queueProjectile(new ProjectileSpawn(
                                 this.obstaclePane,
-                                new Point2D(this.emitterPosition.getX(), this.emitterPosition.getY()),
-                                initialDir,
+                                this.emitterPosition.getX(), this.emitterPosition.getY(),
+                                Math.cos(centerAngle), Math.sin(centerAngle),
                                 this.projectileSpeed,
                                 this.projectileTurnRateDeg,
-                                this.projectileLifespanSecs,
-                                Main.character
-                        );
-                        Main.activeProjectiles.add(projectile);
+                                this.projectileLifespanSecs
+                        ));
                     } else {
                         double angleStep = this.spreadAngleRadians / (numToFire - 1);
                         double startAngle = centerAngle - this.spreadAngleRadians / 2.0;
 
                         for (int i = 0; i < numToFire; i++) {
                             double fireAngle = startAngle + (i * angleStep);
-                            Point2D initialDir = new Point2D(Math.cos(fireAngle), Math.sin(fireAngle));
-                            HomingLaserProjectile projectile = new HomingLaserProjectile(
+                            queueProjectile(new ProjectileSpawn(
                                     this.obstaclePane,
-                                    new Point2D(this.emitterPosition.getX(), this.emitterPosition.getY()), // New Point2D for safety
-                                    initialDir,
+                                    this.emitterPosition.getX(), this.emitterPosition.getY(),
+                                    Math.cos(fireAngle), Math.sin(fireAngle),
                                     this.projectileSpeed,
                                     this.projectileTurnRateDeg,
-                                    this.projectileLifespanSecs,
-                                    Main.character
-                            );
-                            Main.activeProjectiles.add(projectile);
+                                    this.projectileLifespanSecs
+                            ));
                         }
                     }
                     projectilesFiredThisVolley = numToFire; // Mark volley as complete
@@ -210,7 +204,6 @@ public class HomingMissileLauncherObstacle extends Obstacle {
                 break;
 
             case COOLDOWN:
-                this.emitterBody.setFill(LAUNCHER_COOLDOWN_COLOR);
                 if (stateTimerSecs >= cooldownDurationSecs) {
                     currentState = LauncherState.IDLE;
                     stateTimerSecs = 0.0;
@@ -223,6 +216,41 @@ public class HomingMissileLauncherObstacle extends Obstacle {
         // }
     }
 
+    // With nobody in the room a lock-on is lost and no volley is fired; a cooldown under way still runs out
+    @Override
+    void fastForward(double seconds) {
+        stateTimerSecs += seconds;
+        if (currentState == LauncherState.FIRING) { // Fired on entering the state, only the cooldown is left
+            currentState = LauncherState.COOLDOWN;
+            stateTimerSecs = seconds;
+        }
+        if (currentState != LauncherState.COOLDOWN || stateTimerSecs >= cooldownDurationSecs) {
+            currentState = LauncherState.IDLE;
+            stateTimerSecs = 0.0;
+        }
+    }
+
+    @Override
+    int visualSlots() {
+        return 1;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = currentState.ordinal();
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        switch (STATES[(int) in[offset]]) {
+            case TRACKING: this.emitterBody.setFill(LAUNCHER_TRACKING_COLOR); break;
+            case LOCKON:
+            case FIRING: this.emitterBody.setFill(LAUNCHER_LOCKON_COLOR); break;
+            case COOLDOWN: this.emitterBody.setFill(LAUNCHER_COOLDOWN_COLOR); break;
+            default: this.emitterBody.setFill(LAUNCHER_IDLE_COLOR); break;
+        }
+    }
+
     @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
         // Launcher itself might not be collidable, or simple circle collision with emitterBody
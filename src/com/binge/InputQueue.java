@@ -0,0 +1,47 @@
+package com.binge;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-producer single-consumer ring buffer carrying key presses from the FX thread to the
+// simulation thread. Events are packed into ints (key ordinal << 1 | pressed), so nothing is allocated.
+public class InputQueue {
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+
+    private final int[] ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, written by the producer
+
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // Round up to a power of two
+        this.ring = new int[size];
+        this.mask = size - 1;
+    }
+
+    // Producer (FX thread). Returns false and drops the event if the simulation fell that far behind.
+    public boolean offer(KeyCode code, boolean pressed) {
+        long t = tail.get();
+        if (t - head.get() >= ring.length) return false;
+        ring[(int) (t & mask)] = (code.ordinal() << 1) | (pressed ? 1 : 0);
+        tail.lazySet(t + 1); // Release: the slot write above becomes visible before the new tail
+        return true;
+    }
+
+    public interface KeyConsumer {
+        void accept(KeyCode code, boolean pressed);
+    }
+
+    // Consumer (simulation thread): hands every queued event to the consumer, oldest first
+    public void drain(KeyConsumer consumer) {
+        long h = head.get();
+        long t = tail.get();
+        while (h < t) {
+            int packed = ring[(int) (h & mask)];
+            consumer.accept(KEY_CODES[packed >>> 1], (packed & 1) != 0);
+            h++;
+        }
+        head.lazySet(h);
+    }
+}
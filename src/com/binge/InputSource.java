@@ -0,0 +1,8 @@
+package com.binge;
+
+// Whatever drives one ball: a keyboard binding, a scripted policy, an AI agent.
+// updateGamePhysics polls every ball's source once at the start of a tick, on the thread that runs
+// the simulation, so a source only has to be consistent with itself.
+public interface InputSource {
+    void apply(Character c, long tick);
+}
@@ -0,0 +1,52 @@
+package com.binge;
+
+import javafx.scene.input.KeyCode;
+
+// A set of keys driving one ball. Main.applyKey hands every key event to every binding, so a second
+// local player is just a second KeyboardInput on a second Character. Key events arrive on the
+// simulation's thread (SimulationThread.input or the FX thread with the Timeline), same as apply().
+class KeyboardInput implements InputSource {
+
+    final KeyCode[] left, right, jump, special;
+
+    private boolean leftHeld, rightHeld, specialHeld;
+    private boolean jumpPressed; // Latched until the next tick, a jump is an impulse
+
+    KeyboardInput(KeyCode[] left, KeyCode[] right, KeyCode[] jump, KeyCode[] special) {
+        this.left = left;
+        this.right = right;
+        this.jump = jump;
+        this.special = special;
+    }
+
+    // The original controls: WASD or the arrows, space for grapple points
+    static KeyboardInput primary() {
+        return new KeyboardInput(new KeyCode[]{KeyCode.A, KeyCode.LEFT}, new KeyCode[]{KeyCode.D, KeyCode.RIGHT},
+                new KeyCode[]{KeyCode.W, KeyCode.UP}, new KeyCode[]{KeyCode.SPACE});
+    }
+
+    void key(KeyCode code, boolean pressed) {
+        if (matches(left, code)) leftHeld = pressed;
+        if (matches(right, code)) rightHeld = pressed;
+        if (matches(special, code)) specialHeld = pressed;
+        if (pressed && matches(jump, code)) jumpPressed = true;
+    }
+
+    @Override
+    public void apply(Character c, long tick) {
+        c.movingLeft = leftHeld;
+        c.movingRight = rightHeld;
+        c.specialTransport = specialHeld;
+        if (jumpPressed) {
+            jumpPressed = false;
+            c.jump();
+        }
+    }
+
+    private static boolean matches(KeyCode[] codes, KeyCode code) {
+        for (KeyCode k : codes) {
+            if (k == code) return true;
+        }
+        return false;
+    }
+}
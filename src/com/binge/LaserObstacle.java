@@ -31,6 +31,7 @@ public class LaserObstacle extends Obstacle {
     double maxThickness;
     double pulseDuration; // Time for one full pulse cycle (e.g., grow and shrink)
     double pulseTimer;    // Timer for the pulse cycle
+    double visualThickness; // Stroke width computed by update(), applied in syncVisuals()
 
     public LaserObstacle(Pane pane, LaserOrientation orientation,
                          double primaryAxisPos, double startSecondaryAxis, double endSecondaryAxis,
@@ -81,6 +82,7 @@ public class LaserObstacle extends Obstacle {
         // or just base thickness and let update() fix it in the first frame.
         // Simpler to set to base thickness, update() will adjust if needed.
         lineBody.setStrokeWidth(this.thickness);
+        this.visualThickness = this.thickness;
         lineBody.setStroke(this.onColor);
         lineBody.setVisible(this.isOn);
 
@@ -92,34 +94,59 @@ public class LaserObstacle extends Obstacle {
     public void update(double deltaTime) {
         // Blinking logic
         timer = (timer + deltaTime) % cycleDuration;
-        boolean newIsOn = (timer < onDuration);
+        isOn = (timer < onDuration);
 
-        if (newIsOn != isOn) {
-            isOn = newIsOn;
-            if (this.body != null) {
-                this.body.setVisible(isOn);
-            }
+        // Pulsing logic
+        if (this.isOn && this.isPulsing && FrameBudget.pulseAnimationEnabled()) {
+            pulseTimer = (pulseTimer + deltaTime) % pulseDuration;
+
+            // Calculate sinusoidal pulse progress (0 to 1 and back to 0)
+            double pulseProgressRatio = pulseTimer / pulseDuration;
+            double wave = 0.5 * (1 - Math.cos(pulseProgressRatio * 2 * Math.PI)); // Value from 0 to 1
+
+            visualThickness = this.minThickness + (this.maxThickness - this.minThickness) * wave;
+        } else {
+            // Set to base thickness if not pulsing or not on
+            visualThickness = this.thickness;
         }
+    }
 
-        // Pulsing logic
-        if (this.body instanceof Line) { // Ensure body is a Line
-            Line lineBody = (Line) this.body;
-            if (this.isOn && this.isPulsing) {
-                pulseTimer = (pulseTimer + deltaTime) % pulseDuration;
-
-                // Calculate sinusoidal pulse progress (0 to 1 and back to 0)
-                double pulseProgressRatio = pulseTimer / pulseDuration;
-                double wave = 0.5 * (1 - Math.cos(pulseProgressRatio * 2 * Math.PI)); // Value from 0 to 1
-
-                double currentVisualThickness = this.minThickness + (this.maxThickness - this.minThickness) * wave;
-                lineBody.setStrokeWidth(currentVisualThickness);
-            } else {
-                // Set to base thickness if not pulsing or not on
-                lineBody.setStrokeWidth(this.thickness);
-            }
+    // The blink timer wraps around its cycle, so one long update lands exactly where the short ones would
+    @Override
+    void fastForward(double seconds) {
+        update(seconds);
+    }
+
+    @Override
+    int visualSlots() {
+        return 2;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = isOn ? 1 : 0;
+        out[offset + 1] = visualThickness;
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        if (this.body == null) return;
+        this.body.setVisible(in[offset] != 0); // No-op unless the blink state changed
+        if (this.body instanceof Line lineBody) {
+            lineBody.setStrokeWidth(in[offset + 1]);
         }
     }
 
+    @Override
+    boolean beamSegment(double[] out) {
+        if (!isOn) return false;
+        out[0] = startPoint.x;
+        out[1] = startPoint.y;
+        out[2] = endPoint.x;
+        out[3] = endPoint.y;
+        return true;
+    }
+
     @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
         if (!isOn) {
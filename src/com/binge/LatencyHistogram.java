@@ -0,0 +1,71 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// Fixed-size log-linear histogram in the spirit of HdrHistogram: exact below 64ns,
+// then 32 sub-buckets per power of two (about 3% relative error). Recording never allocates.
+class LatencyHistogram {
+    private static final int LINEAR_LIMIT = 64;  // 2^6
+    private static final int SUB_BUCKET_BITS = 5; // 32 sub-buckets per octave
+    private static final int MAX_EXPONENT = 40;   // ~18 minutes in ns, anything above is clamped
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - 6 + 1) * (1 << SUB_BUCKET_BITS);
+
+    private final long[] counts = new long[BUCKETS];
+    private long total, sum, max;
+
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[indexOf(nanos)]++;
+        total++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    private static int indexOf(long v) {
+        if (v < LINEAR_LIMIT) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) ((v >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1));
+        return LINEAR_LIMIT + (exponent - 6) * (1 << SUB_BUCKET_BITS) + sub;
+    }
+
+    // Lower bound of the value range a bucket covers
+    private static long valueOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int offset = index - LINEAR_LIMIT;
+        int exponent = 6 + offset / (1 << SUB_BUCKET_BITS);
+        int sub = offset % (1 << SUB_BUCKET_BITS);
+        return (1L << exponent) + ((long) sub << (exponent - SUB_BUCKET_BITS));
+    }
+
+    long percentile(double p) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(p / 100.0 * total);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(valueOf(i), max);
+        }
+        return max;
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.binge;
+
+import javafx.scene.paint.Color;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+// Optional memory-lean mode (-Dbounce.lean=true) for big levels on small machines. A Level keeps every
+// sublevel in its list, but only the RETAIN most recently entered are built, objects, nodes and all; the
+// others are empty stubs until the player walks in or is revived there (Level.enter), when the room is
+// built from its file on the spot. A room dropped back to a stub remembers its taken coins and opened
+// locks, and a rebuilt one catches up, through Dormancy, on the time since the stage was loaded, so blink
+// timers and platforms are where they would have been. Turrets' targets and projectiles in flight don't
+// survive a drop.
+// What is always shared, lean or not: geometry built from identical lines (SharedGeometry) and the colors
+// of fixed-color entities (static finals in their classes). Lean mode also draws lock colors from LOCK_COLORS
+// instead of making a new random one per lock. HeapReport shows what each kind of entity costs.
+class LeanMode {
+
+    static final boolean enabled = Boolean.getBoolean("bounce.lean");
+    static final int RETAIN = 2; // The player's room and the one it came from, so stepping back is free
+
+    static final Color[] LOCK_COLORS = {
+            Color.CRIMSON, Color.DARKORANGE, Color.GOLD, Color.YELLOWGREEN, Color.SEAGREEN, Color.TEAL,
+            Color.DEEPSKYBLUE, Color.ROYALBLUE, Color.SLATEBLUE, Color.DARKVIOLET, Color.ORCHID, Color.SADDLEBROWN
+    };
+
+    static class Room {
+        final int num;
+        final String source;
+        boolean built;
+        ArrayList<Collectible> builtItems = new ArrayList<>(); // As built, for remembering taken ones
+        ArrayList<Lock> builtLocks = new ArrayList<>();
+        final BitSet taken = new BitSet();
+        final BitSet opened = new BitSet();
+
+        Room(int num, String source) {
+            this.num = num;
+            this.source = source;
+        }
+    }
+
+    static Level level;
+    private static Room[] rooms = new Room[0];
+    private static final ArrayDeque<Room> recent = new ArrayDeque<>(); // Built rooms, last entered first
+    private static long loadedTick;
+
+    // Loads a stage with only its first sublevel built, as PageLoader would with its initial position
+    // placing the balls
+    static Level buildLevel(String path, int n) {
+        File[] files = PageLoader.sublevelFiles(new File(path));
+        level = new Level(n);
+        rooms = new Room[files == null ? 0 : files.length];
+        recent.clear();
+        loadedTick = TickScheduler.tick;
+        for (int k = 0; k < rooms.length; k++) {
+            rooms[k] = new Room(k + 1, files[k].getPath());
+            level.sublevels.add(new Sublevel(k + 1));
+            level.checkpoints.add(null);
+            level.levelLength++;
+        }
+        if (rooms.length > 0) {
+            Sublevel first = PageLoader.loadStageFromFile(rooms[0].source, 1);
+            first.sourceBytes = new File(rooms[0].source).length();
+            install(rooms[0], first);
+            recent.addFirst(rooms[0]);
+        }
+        return level;
+    }
+
+    // The sublevel numbered num, built if it was a stub; rooms beyond RETAIN are dropped.
+    // On the thread that runs the simulation: the new room's pane is detached until showSublevel.
+    static Sublevel enter(Level of, int num) {
+        if (of != level || num < 1 || num > rooms.length) return of.sublevels.get(num - 1);
+        Room room = rooms[num - 1];
+        if (!room.built) {
+            Sublevel fresh = PageLoader.buildDetached(room.source, num);
+            fresh.dormantSince = loadedTick; // Dormancy.track catches it up to now
+            install(room, fresh);
+        }
+        recent.remove(room);
+        recent.addFirst(room);
+        while (recent.size() > RETAIN) release(recent.removeLast());
+        return level.sublevels.get(num - 1);
+    }
+
+    private static void install(Room room, Sublevel fresh) {
+        room.builtItems = new ArrayList<>(fresh.items);
+        room.builtLocks = new ArrayList<>(fresh.locks);
+        boolean changed = false;
+        for (int i = room.taken.nextSetBit(0); i >= 0 && i < room.builtItems.size(); i = room.taken.nextSetBit(i + 1)) {
+            Collectible item = room.builtItems.get(i);
+            fresh.items.remove(item);
+            if (item.hitbox != null && item.hitbox.body != null) fresh.pane.getChildren().remove(item.hitbox.body);
+            changed = true;
+        }
+        for (int i = room.opened.nextSetBit(0); i >= 0 && i < room.builtLocks.size(); i = room.opened.nextSetBit(i + 1)) {
+            Key key = room.builtLocks.get(i).key;
+            key.collected = true;
+            key.body.setFill(Color.TRANSPARENT); // As OutcomeBus's KEY_COLLECTED leaves it
+            key.body.setStroke(Color.TRANSPARENT);
+        }
+        if (changed) fresh.reindex(); // Taken coins out of the EntityStore
+        if (fresh.checkpoint != null) fresh.checkpoint.substageNum = room.num;
+        level.sublevels.set(room.num - 1, fresh);
+        level.checkpoints.set(room.num - 1, fresh.checkpoint);
+        room.built = true;
+    }
+
+    // Back to an empty stub; its objects, nodes and projectiles become garbage. A ball's lastCheckpoint
+    // may still point at its Checkpoint, which only needs substageNum and pos to revive it.
+    private static void release(Room room) {
+        Sublevel sublevel = level.sublevels.get(room.num - 1);
+        Set<Collectible> left = Collections.newSetFromMap(new IdentityHashMap<>());
+        left.addAll(sublevel.items);
+        for (int i = 0; i < room.builtItems.size(); i++) {
+            if (!left.contains(room.builtItems.get(i))) room.taken.set(i);
+        }
+        for (int i = 0; i < room.builtLocks.size(); i++) {
+            if (room.builtLocks.get(i).key.collected) room.opened.set(i);
+        }
+        Sublevel stub = new Sublevel(room.num);
+        stub.spawn = sublevel.spawn;
+        level.sublevels.set(room.num - 1, stub);
+        level.checkpoints.set(room.num - 1, null);
+        room.builtItems = new ArrayList<>();
+        room.builtLocks = new ArrayList<>();
+        room.built = false;
+    }
+
+    // A lock's color, one of a dozen shared instances
+    static Color lockColor(Random rand) {
+        return LOCK_COLORS[rand.nextInt(LOCK_COLORS.length)];
+    }
+}
@@ -0,0 +1,633 @@
+package com.binge;
+
+import com.binge.PageLoader.StageRecord;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The "Custom level" page: place, drag, rotate and delete anything PageLoader understands, then save it
+// as a .in file or play it. An editor object is a line of the file (section and tokens); its nodes come
+// from PageLoader.buildRecords, so what is drawn is exactly what the game will build, and changing an
+// object means editing its tokens and rebuilding just that one line.
+// Picking and overlap highlighting go through an AabbTree of the objects' node bounds, so both stay
+// cheap with thousands of objects. Undo and redo keep commands that hold only the changed tokens of one
+// object, never copies of the level.
+//   left click: select and drag, or place the chosen kind on empty space
+//   right click, Delete: remove        scroll, Q / E: rotate        N: grid snapping on/off
+//   Ctrl+Z / Ctrl+Y: undo / redo       Ctrl+S: save                 Escape: deselect
+class LevelEditor {
+
+    static final String DIRECTORY = "src/com/binge/Stages/custom/";
+    static final String FILE = DIRECTORY + "1.in";
+    static final double GRID = 10;
+    static final double ROTATE_STEP = 15;
+    static final int UNDO_LIMIT = 10_000;
+
+    // How the tokens of each section move and turn. xs and ys are the token indices holding
+    // coordinates, angle the one holding a rotation in degrees (-1 if it can't turn), template the line a
+    // new one starts from, with X and Y standing for the click position.
+    static final class Kind {
+        final String section, template;
+        final int[] xs, ys;
+        final int angle;
+
+        Kind(String section, int[] xs, int[] ys, int angle, String template) {
+            this.section = section;
+            this.xs = xs;
+            this.ys = ys;
+            this.angle = angle;
+            this.template = template;
+        }
+    }
+
+    static final Map<String, Kind> KINDS = new LinkedHashMap<>();
+
+    static {
+        kind("initial position", new int[]{0}, new int[]{1}, -1, "X Y");
+        kind("Checkpoint", new int[]{0}, new int[]{1}, -1, "X Y");
+        kind("Coin", new int[]{0}, new int[]{1}, -1, "X Y 10 1");
+        kind("Lock", new int[]{0, 2}, new int[]{1, 3}, -1, "X Y X+100 Y");
+        kind("SizeShifter", new int[]{0}, new int[]{1}, -1, "X Y 15 5");
+        kind("GrapplePoint", new int[]{0}, new int[]{1}, -1, "X Y 15");
+        kind("Goal", new int[]{0}, new int[]{}, -1, "X");
+        // Obstacles, including those of obstacle packs, as their factories describe them
+        for (ObstacleFactory factory : ObstacleRegistry.all()) {
+            if (factory.editorTemplate() == null) continue;
+            ObstacleFactory.EditorHandles handles = factory.editorHandles();
+            kind(factory.section(), handles.xs(), handles.ys(), handles.angle(), factory.editorTemplate());
+        }
+    }
+
+    private static void kind(String section, int[] xs, int[] ys, int angle, String template) {
+        KINDS.put(section, new Kind(section, xs, ys, angle, template));
+    }
+
+    // One line of the level being edited
+    static final class Item {
+        final int id;
+        final String section;
+        String[] tokens;
+        List<Node> nodes = List.of();
+        int proxy = -1;
+        double minX, minY, maxX, maxY;
+
+        Item(int id, String section, String[] tokens) {
+            this.id = id;
+            this.section = section;
+            this.tokens = tokens;
+        }
+    }
+
+    // An undoable change of the item list. Each holds the one item it touched and only what changed.
+    interface Command {
+        void undo(LevelEditor editor);
+
+        void redo(LevelEditor editor);
+    }
+
+    record Place(int id, int index, String section, String[] tokens) implements Command {
+        public void undo(LevelEditor editor) {
+            editor.removeItem(id);
+        }
+
+        public void redo(LevelEditor editor) {
+            editor.insertItem(new Item(id, section, tokens.clone()), index);
+        }
+    }
+
+    record Delete(int id, int index, String section, String[] tokens) implements Command {
+        public void undo(LevelEditor editor) {
+            editor.insertItem(new Item(id, section, tokens.clone()), index);
+        }
+
+        public void redo(LevelEditor editor) {
+            editor.removeItem(id);
+        }
+    }
+
+    // Changed token positions with their old and new text, e.g. a drag is two or three short strings
+    record Change(int id, int[] indices, String[] before, String[] after) implements Command {
+        public void undo(LevelEditor editor) {
+            editor.setTokens(id, indices, before);
+        }
+
+        public void redo(LevelEditor editor) {
+            editor.setTokens(id, indices, after);
+        }
+    }
+
+    final Pane world = new Pane();               // The objects' nodes
+    final Canvas overlay = new Canvas(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+    final AabbTree tree = new AabbTree();
+    final ArrayList<Item> items = new ArrayList<>(); // File order, which is also collision order
+    private final Map<Integer, Item> byId = new LinkedHashMap<>();
+    private final ArrayDeque<Command> undo = new ArrayDeque<>(), redo = new ArrayDeque<>();
+    private final Sublevel scratch = new Sublevel(0); // buildRecords target whose pane is the world
+    private int nextId;
+
+    boolean snap = true;
+    String placing = "RectangleObstacle";
+    Item selected;
+    private String[] dragStart;    // Tokens of the selected item when the drag began
+    private double dragX, dragY;   // Mouse position the drag started at
+    private double dragOffsetX, dragOffsetY; // Movement applied so far, before snapping
+    private Label status;
+    private EventHandler<KeyEvent> keys;
+
+    LevelEditor() {
+        scratch.pane = world;
+        scratch.built = new ArrayList<>();
+        overlay.setMouseTransparent(true);
+    }
+
+    // --- Model: every change goes through these, the UI and undo/redo alike ---
+
+    Item insertItem(Item item, int index) {
+        items.add(Math.min(index, items.size()), item);
+        byId.put(item.id, item);
+        nextId = Math.max(nextId, item.id + 1);
+        rebuild(item);
+        return item;
+    }
+
+    void removeItem(int id) {
+        Item item = byId.remove(id);
+        if (item == null) return;
+        items.remove(item);
+        world.getChildren().removeAll(item.nodes);
+        if (item.proxy >= 0) tree.remove(item.proxy);
+        if (selected == item) selected = null;
+    }
+
+    void setTokens(int id, int[] indices, String[] values) {
+        Item item = byId.get(id);
+        if (item == null) return;
+        for (int i = 0; i < indices.length; i++) item.tokens[indices[i]] = values[i];
+        rebuild(item);
+    }
+
+    void execute(Command command) {
+        command.redo(this);
+        record(command);
+    }
+
+    private void record(Command command) {
+        undo.push(command);
+        if (undo.size() > UNDO_LIMIT) undo.removeLast();
+        redo.clear();
+    }
+
+    boolean undo() {
+        Command command = undo.poll();
+        if (command == null) return false;
+        command.undo(this);
+        redo.push(command);
+        return true;
+    }
+
+    boolean redo() {
+        Command command = redo.poll();
+        if (command == null) return false;
+        command.redo(this);
+        undo.push(command);
+        return true;
+    }
+
+    Item place(String section, double x, double y) {
+        Kind kind = KINDS.get(section);
+        String[] tokens = kind.template.split(" ");
+        for (int i = 0; i < tokens.length; i++) tokens[i] = fill(tokens[i], x, y);
+        Place command = new Place(nextId, items.size(), section, tokens);
+        execute(command);
+        return byId.get(command.id());
+    }
+
+    void delete(Item item) {
+        execute(new Delete(item.id, items.indexOf(item), item.section, item.tokens.clone()));
+    }
+
+    // Template token with X / Y and an optional +n / -n offset replaced by the position
+    private static String fill(String token, double x, double y) {
+        if (!token.startsWith("X") && !token.startsWith("Y")) return token;
+        double base = token.charAt(0) == 'X' ? x : y;
+        return StageRecord.number(token.length() > 1 ? base + Double.parseDouble(token.substring(1)) : base);
+    }
+
+    // Tokens moved by (dx, dy) from the given ones
+    static String[] translated(String section, String[] from, double dx, double dy) {
+        String[] tokens = from.clone();
+        Kind kind = KINDS.get(section);
+        if (kind.xs == null) { // CutOffObstacle: "circle x y r" and "rect cx cy w h angle" shapes
+            for (int i = 0; i + 2 < tokens.length; i++) {
+                if (tokens[i].equals("circle") || tokens[i].equals("rect")) {
+                    tokens[i + 1] = StageRecord.number(Double.parseDouble(tokens[i + 1]) + dx);
+                    tokens[i + 2] = StageRecord.number(Double.parseDouble(tokens[i + 2]) + dy);
+                }
+            }
+            return tokens;
+        }
+        for (int i : kind.xs) tokens[i] = StageRecord.number(Double.parseDouble(tokens[i]) + dx);
+        for (int i : kind.ys) tokens[i] = StageRecord.number(Double.parseDouble(tokens[i]) + dy);
+        return tokens;
+    }
+
+    // Tokens turned by degrees, or null if the kind doesn't turn. A cut-off shape turns as a whole
+    // around its first shape; the others only change their angle token.
+    static String[] rotated(String section, String[] from, double degrees) {
+        String[] tokens = from.clone();
+        Kind kind = KINDS.get(section);
+        if (kind.xs == null) {
+            if (tokens.length < 3) return null;
+            double cx = Double.parseDouble(tokens[1]), cy = Double.parseDouble(tokens[2]);
+            double cos = Math.cos(Math.toRadians(degrees)), sin = Math.sin(Math.toRadians(degrees));
+            for (int i = 0; i + 2 < tokens.length; i++) {
+                if (!tokens[i].equals("circle") && !tokens[i].equals("rect")) continue;
+                double x = Double.parseDouble(tokens[i + 1]) - cx, y = Double.parseDouble(tokens[i + 2]) - cy;
+                tokens[i + 1] = StageRecord.number(cx + x * cos - y * sin);
+                tokens[i + 2] = StageRecord.number(cy + x * sin + y * cos);
+                if (tokens[i].equals("rect") && i + 5 < tokens.length) {
+                    tokens[i + 5] = StageRecord.number(Double.parseDouble(tokens[i + 5]) + degrees);
+                }
+            }
+            return tokens;
+        }
+        if (kind.angle < 0) return null;
+        if (tokens.length <= kind.angle) { // Optional angle left out in the file
+            tokens = java.util.Arrays.copyOf(tokens, kind.angle + 1);
+            for (int i = from.length; i < tokens.length; i++) tokens[i] = "0";
+        }
+        tokens[kind.angle] = StageRecord.number((Double.parseDouble(tokens[kind.angle]) + degrees) % 360);
+        return tokens;
+    }
+
+    // Command that turns the item's tokens into the new ones, holding only the positions that differ
+    Change change(Item item, String[] before, String[] after) {
+        int n = 0;
+        for (int i = 0; i < after.length; i++) if (i >= before.length || !after[i].equals(before[i])) n++;
+        int[] indices = new int[n];
+        String[] was = new String[n], now = new String[n];
+        for (int i = 0, k = 0; i < after.length; i++) {
+            if (i < before.length && after[i].equals(before[i])) continue;
+            indices[k] = i;
+            was[k] = i < before.length ? before[i] : "0";
+            now[k++] = after[i];
+        }
+        return new Change(item.id, indices, was, now);
+    }
+
+    // Rebuilds one item's nodes from its tokens and refreshes its box in the tree
+    private void rebuild(Item item) {
+        world.getChildren().removeAll(item.nodes);
+        if (item.tokens.length > 0 && item.section.equals("initial position")) {
+            Circle marker = new Circle(Double.parseDouble(item.tokens[0]), Double.parseDouble(item.tokens[1]), 20,
+                    Color.rgb(255, 241, 204, 0.4));
+            marker.setStroke(Color.rgb(255, 241, 204));
+            marker.getStrokeDashArray().addAll(4.0, 4.0);
+            world.getChildren().add(marker);
+            item.nodes = List.of(marker);
+        } else {
+            scratch.obstacles.clear();
+            scratch.items.clear();
+            scratch.displacers.clear();
+            scratch.locks.clear();
+            scratch.built.clear();
+            try {
+                PageLoader.buildRecords(scratch, List.of(new StageRecord(item.section, item.tokens)));
+            } catch (RuntimeException e) {
+                setStatus("Can't build " + item.section + " " + String.join(" ", item.tokens) + ": " + e.getMessage());
+            }
+            item.nodes = scratch.built.isEmpty() ? List.of() : new ArrayList<>(scratch.built.getFirst().nodes);
+        }
+
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (Node node : item.nodes) {
+            Bounds b = node.getBoundsInParent();
+            x0 = Math.min(x0, b.getMinX());
+            y0 = Math.min(y0, b.getMinY());
+            x1 = Math.max(x1, b.getMaxX());
+            y1 = Math.max(y1, b.getMaxY());
+        }
+        if (x0 > x1) { // Nothing drawn, keep it pickable around its first coordinates
+            double x = anchor(item, true), y = anchor(item, false);
+            x0 = x - 10;
+            y0 = y - 10;
+            x1 = x + 10;
+            y1 = y + 10;
+        }
+        item.minX = x0;
+        item.minY = y0;
+        item.maxX = x1;
+        item.maxY = y1;
+        if (item.proxy < 0) item.proxy = tree.insert(x0, y0, x1, y1, item);
+        else tree.move(item.proxy, x0, y0, x1, y1);
+    }
+
+    private static double anchor(Item item, boolean x) {
+        Kind kind = KINDS.get(item.section);
+        int[] indices = kind.xs == null ? new int[]{x ? 1 : 2} : (x ? kind.xs : kind.ys);
+        try {
+            return indices.length == 0 ? (x ? 0 : Main.WINDOW_HEIGHT / 2.0) : Double.parseDouble(item.tokens[indices[0]]);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // Topmost item whose nodes contain the point, through the tree
+    Item pick(double x, double y) {
+        Item[] best = {null};
+        int[] bestIndex = {-1};
+        tree.query(x, y, x, y, (proxy, data) -> {
+            Item item = (Item) data;
+            if (x < item.minX || x > item.maxX || y < item.minY || y > item.maxY) return true;
+            boolean hit = item.nodes.isEmpty();
+            for (int i = 0; i < item.nodes.size() && !hit; i++) {
+                Node node = item.nodes.get(i);
+                hit = node.contains(node.parentToLocal(x, y));
+            }
+            if (!hit) return true;
+            int index = items.indexOf(item);
+            if (index > bestIndex[0]) {
+                best[0] = item;
+                bestIndex[0] = index;
+            }
+            return true;
+        });
+        return best[0];
+    }
+
+    // Items whose boxes overlap the given item's, through the tree
+    List<Item> overlaps(Item item) {
+        List<Item> found = new ArrayList<>();
+        tree.query(item.minX, item.minY, item.maxX, item.maxY, (proxy, data) -> {
+            Item other = (Item) data;
+            if (other != item && other.minX <= item.maxX && other.maxX >= item.minX
+                    && other.minY <= item.maxY && other.maxY >= item.minY) found.add(other);
+            return true;
+        });
+        return found;
+    }
+
+    // --- Files ---
+
+    // The level as .in text. A section header is written whenever the section changes, so the file
+    // keeps the editor's order, which is the order the game collides in.
+    String serialize() {
+        StringBuilder out = new StringBuilder();
+        String section = null;
+        for (Item item : items) {
+            if (!item.section.equals(section)) {
+                if (section != null) out.append('\n');
+                section = item.section;
+                out.append(section).append('\n');
+            }
+            out.append(String.join(" ", item.tokens)).append('\n');
+        }
+        return out.toString();
+    }
+
+    void save(String filename) throws IOException {
+        new File(filename).getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            writer.print(serialize());
+        }
+    }
+
+    // Replaces the contents with a .in file's, undo history included
+    void load(String filename) {
+        for (Item item : new ArrayList<>(items)) removeItem(item.id);
+        undo.clear();
+        redo.clear();
+        if (!new File(filename).exists()) return;
+        for (StageRecord record : PageLoader.parseStageFile(filename)) {
+            if (!KINDS.containsKey(record.section)) continue;
+            insertItem(new Item(nextId, record.section, record.tokens.clone()), items.size());
+        }
+    }
+
+    // --- UI ---
+
+    static void open() {
+        LevelEditor editor = new LevelEditor();
+        editor.load(FILE);
+        editor.show();
+    }
+
+    private void show() {
+        Pane root = new Pane(world, overlay);
+        status = new Label();
+        status.setTextFill(Color.WHITE);
+
+        ComboBox<String> kinds = new ComboBox<>();
+        kinds.getItems().addAll(KINDS.keySet());
+        kinds.setValue(placing);
+        kinds.setOnAction(e -> placing = kinds.getValue());
+        kinds.setFocusTraversable(false);
+
+        Button save = new Button("Save");
+        save.setOnAction(e -> trySave());
+        Button reload = new Button("Load");
+        reload.setOnAction(e -> {
+            load(FILE);
+            setStatus("Loaded " + FILE + ", " + items.size() + " objects");
+            redraw();
+        });
+        Button undoButton = new Button("Undo");
+        undoButton.setOnAction(e -> {
+            undo();
+            redraw();
+        });
+        Button redoButton = new Button("Redo");
+        redoButton.setOnAction(e -> {
+            redo();
+            redraw();
+        });
+        Button play = new Button("Play");
+        play.setOnAction(e -> {
+            if (!trySave()) return;
+            close();
+            PageLoader.loadStage(DIRECTORY, 1);
+            PageLoader.startRun();
+        });
+        Button back = new Button("Main page");
+        back.setOnAction(e -> {
+            close();
+            PageLoader.loadMainPage();
+        });
+        HBox bar = new HBox(6, kinds, save, reload, undoButton, redoButton, play, back, status);
+        bar.setLayoutX(10);
+        bar.setLayoutY(10);
+        for (Node node : bar.getChildren()) node.setFocusTraversable(false);
+        root.getChildren().add(bar);
+
+        root.setOnMousePressed(this::pressed);
+        root.setOnMouseDragged(this::dragged);
+        root.setOnMouseReleased(this::released);
+        root.setOnScroll(this::scrolled);
+        keys = this::key;
+        Main.scene.addEventFilter(KeyEvent.KEY_PRESSED, keys);
+
+        Main.scene.setRoot(root);
+        setStatus(items.size() + " objects, placing " + placing + (snap ? ", snapping to " + (int) GRID + "px" : ""));
+        redraw();
+    }
+
+    private void close() {
+        if (keys != null) Main.scene.removeEventFilter(KeyEvent.KEY_PRESSED, keys);
+        keys = null;
+    }
+
+    private boolean trySave() {
+        try {
+            save(FILE);
+            setStatus("Saved " + items.size() + " objects to " + FILE);
+            return true;
+        } catch (IOException e) {
+            setStatus("Save failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private double snapped(double v) {
+        return snap ? Math.round(v / GRID) * GRID : v;
+    }
+
+    private void pressed(MouseEvent e) {
+        if (e.getTarget() instanceof Node node && isToolbar(node)) return;
+        Item hit = pick(e.getX(), e.getY());
+        if (e.getButton() == MouseButton.SECONDARY) {
+            if (hit != null) delete(hit);
+            redraw();
+            return;
+        }
+        if (hit == null) hit = place(placing, snapped(e.getX()), snapped(e.getY()));
+        selected = hit;
+        dragStart = hit == null ? null : hit.tokens.clone();
+        dragX = e.getX();
+        dragY = e.getY();
+        dragOffsetX = dragOffsetY = 0;
+        redraw();
+    }
+
+    private boolean isToolbar(Node node) {
+        for (Node n = node; n != null; n = n.getParent()) {
+            if (n instanceof HBox) return true;
+        }
+        return false;
+    }
+
+    private void dragged(MouseEvent e) {
+        if (selected == null || dragStart == null) return;
+        double dx = snapped(e.getX() - dragX), dy = snapped(e.getY() - dragY);
+        if (dx == dragOffsetX && dy == dragOffsetY) return;
+        dragOffsetX = dx;
+        dragOffsetY = dy;
+        try {
+            selected.tokens = translated(selected.section, dragStart, dx, dy);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        rebuild(selected);
+        redraw();
+    }
+
+    // The whole drag becomes one command, from where it started to where it ended
+    private void released(MouseEvent e) {
+        if (selected == null || dragStart == null) return;
+        if (dragOffsetX != 0 || dragOffsetY != 0) record(change(selected, dragStart, selected.tokens));
+        dragStart = null;
+        redraw();
+    }
+
+    private void scrolled(ScrollEvent e) {
+        if (selected != null && e.getDeltaY() != 0) rotate(e.getDeltaY() > 0 ? ROTATE_STEP : -ROTATE_STEP);
+    }
+
+    private void rotate(double degrees) {
+        if (selected == null) return;
+        String[] turned;
+        try {
+            turned = rotated(selected.section, selected.tokens, degrees);
+        } catch (NumberFormatException ex) {
+            turned = null;
+        }
+        if (turned == null) {
+            setStatus(selected.section + " doesn't rotate");
+            return;
+        }
+        if (turned.length != selected.tokens.length) { // Optional angle written out, a plain token edit from here on
+            String[] before = selected.tokens;
+            selected.tokens = java.util.Arrays.copyOf(before, turned.length);
+            for (int i = before.length; i < turned.length; i++) selected.tokens[i] = "0";
+        }
+        execute(change(selected, selected.tokens.clone(), turned));
+        redraw();
+    }
+
+    private void key(KeyEvent e) {
+        boolean ctrl = e.isControlDown() || e.isMetaDown();
+        KeyCode code = e.getCode();
+        if (ctrl && code == KeyCode.Z && !e.isShiftDown()) undo();
+        else if (ctrl && (code == KeyCode.Y || code == KeyCode.Z)) redo();
+        else if (ctrl && code == KeyCode.S) trySave();
+        else if ((code == KeyCode.DELETE || code == KeyCode.BACK_SPACE) && selected != null) delete(selected);
+        else if (code == KeyCode.Q) rotate(-ROTATE_STEP);
+        else if (code == KeyCode.E) rotate(ROTATE_STEP);
+        else if (code == KeyCode.N) {
+            snap = !snap;
+            setStatus(snap ? "Snapping to " + (int) GRID + "px" : "Snapping off");
+        } else if (code == KeyCode.ESCAPE) selected = null;
+        else return; // Not ours, let the scene have it
+        e.consume();
+        redraw();
+    }
+
+    private void setStatus(String text) {
+        if (status != null) status.setText(text);
+        else System.out.println(text);
+    }
+
+    // Selection in blue, whatever it overlaps in red, the grid faintly when snapping
+    void redraw() {
+        GraphicsContext gc = overlay.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        if (snap) {
+            gc.setStroke(Color.gray(1, 0.06));
+            gc.setLineWidth(1);
+            for (double x = 0; x < overlay.getWidth(); x += GRID * 5) gc.strokeLine(x, 0, x, overlay.getHeight());
+            for (double y = 0; y < overlay.getHeight(); y += GRID * 5) gc.strokeLine(0, y, overlay.getWidth(), y);
+        }
+        if (selected == null) return;
+        gc.setLineWidth(2);
+        gc.setStroke(Color.RED);
+        for (Item other : overlaps(selected)) {
+            gc.strokeRect(other.minX, other.minY, other.maxX - other.minX, other.maxY - other.minY);
+        }
+        gc.setStroke(Color.DEEPSKYBLUE);
+        gc.strokeRect(selected.minX, selected.minY, selected.maxX - selected.minX, selected.maxY - selected.minY);
+    }
+}
@@ -0,0 +1,393 @@
+package com.binge;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Batch validator for the .in stages, meant for CI:
+//   java -cp <classpath> com.binge.LevelValidator [--stages DIR] [--minutes M] [--runs R] [-j|--jobs J] [--seed S] [--inline]
+// For every sublevel of every stageN directory it
+//   - checks that no obstacle overlaps the spawn point or the checkpoint (a spinning laser whose sweep
+//     reaches it is only a warning, the player can still time it),
+//   - runs R input policies (one scripted run-right, the rest seeded random) for M simulated minutes each,
+// and reports deaths, whether the goal / right exit was ever reached, tunnelling through solid obstacles
+// and physics tick cost. Exits with 1 if any sublevel has a problem.
+//
+// The game world is Main's static state, so sublevels are validated in parallel by child JVMs
+// (one per sublevel, at most --jobs at a time), each running headless with HeadlessStepper.
+public class LevelValidator {
+
+    static final String DEFAULT_STAGES = "src/com/binge/Stages";
+    static final int TICKS_PER_MINUTE = 60 * 60;
+    static final String RESULT_PREFIX = "RESULT ";
+
+    // Holds right and double-jumps at a fixed rhythm, the "just go for it" player
+    static class RunRightPolicy implements InputSource {
+        @Override
+        public void apply(Character c, long tick) {
+            c.movingRight = true;
+            c.movingLeft = false;
+            if (tick % 40 == 0 || tick % 40 == 12) c.jump();
+            c.specialTransport = (tick % 120) < 30;
+        }
+    }
+
+    // Re-rolls a random combination of held keys every few ticks
+    static class RandomPolicy implements InputSource {
+        final Random rng;
+
+        RandomPolicy(long seed) {
+            this.rng = new Random(seed);
+        }
+
+        @Override
+        public void apply(Character c, long tick) {
+            if (tick % 15 != 0) return;
+            int roll = rng.nextInt(10);
+            c.movingLeft = roll < 3;
+            c.movingRight = roll >= 4; // Biased towards progress
+            c.specialTransport = rng.nextInt(4) == 0;
+            if (rng.nextInt(3) == 0) c.jump();
+        }
+    }
+
+    static class SublevelReport {
+        String stage;
+        int sublevel;
+        final List<String> overlaps = new ArrayList<>();
+        final List<String> warnings = new ArrayList<>();
+        boolean hasGoal;
+        boolean goalReached;
+        boolean exitReached;
+        boolean lastSublevel;
+        int deaths;
+        int tunnels;
+        long ticks;
+        final LatencyHistogram tickCost = new LatencyHistogram();
+        String parsedMeanUs = "", parsedP99Us = ""; // Tick cost as reported by a worker, the histogram stays in the child
+        String error;
+
+        // Problems that should fail a CI run
+        List<String> problems() {
+            List<String> problems = new ArrayList<>();
+            if (error != null) problems.add("error: " + error);
+            for (String o : overlaps) problems.add("overlap: " + o);
+            if (hasGoal && !goalReached) problems.add("goal never reached");
+            if (!hasGoal && !lastSublevel && !exitReached) problems.add("right exit never reached");
+            if (tunnels > 0) problems.add(tunnels + " tunnelling events");
+            return problems;
+        }
+
+        String toLine() {
+            return RESULT_PREFIX + String.join("\t",
+                    "stage=" + stage,
+                    "sublevel=" + sublevel,
+                    "hasGoal=" + hasGoal,
+                    "goalReached=" + goalReached,
+                    "exitReached=" + exitReached,
+                    "lastSublevel=" + lastSublevel,
+                    "deaths=" + deaths,
+                    "tunnels=" + tunnels,
+                    "ticks=" + ticks,
+                    String.format(Locale.ROOT, "meanUs=%.2f", tickCost.mean() / 1000.0),
+                    String.format(Locale.ROOT, "p99Us=%.2f", tickCost.percentile(99) / 1000.0),
+                    "overlaps=" + String.join("|", overlaps),
+                    "warnings=" + String.join("|", warnings),
+                    "error=" + (error == null ? "" : error.replace('\t', ' ')));
+        }
+
+        static SublevelReport parse(String line) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (String field : line.substring(RESULT_PREFIX.length()).split("\t")) {
+                int eq = field.indexOf('=');
+                fields.put(field.substring(0, eq), field.substring(eq + 1));
+            }
+            SublevelReport r = new SublevelReport();
+            r.stage = fields.get("stage");
+            r.sublevel = Integer.parseInt(fields.get("sublevel"));
+            r.hasGoal = Boolean.parseBoolean(fields.get("hasGoal"));
+            r.goalReached = Boolean.parseBoolean(fields.get("goalReached"));
+            r.exitReached = Boolean.parseBoolean(fields.get("exitReached"));
+            r.lastSublevel = Boolean.parseBoolean(fields.get("lastSublevel"));
+            r.deaths = Integer.parseInt(fields.get("deaths"));
+            r.tunnels = Integer.parseInt(fields.get("tunnels"));
+            r.ticks = Long.parseLong(fields.get("ticks"));
+            r.parsedMeanUs = fields.get("meanUs");
+            r.parsedP99Us = fields.get("p99Us");
+            if (!fields.get("overlaps").isEmpty()) r.overlaps.addAll(Arrays.asList(fields.get("overlaps").split("\\|")));
+            if (!fields.get("warnings").isEmpty()) r.warnings.addAll(Arrays.asList(fields.get("warnings").split("\\|")));
+            if (!fields.get("error").isEmpty()) r.error = fields.get("error");
+            return r;
+        }
+
+        String summary() {
+            String mean = parsedMeanUs.isEmpty() ? String.format(Locale.ROOT, "%.2f", tickCost.mean() / 1000.0) : parsedMeanUs;
+            String p99 = parsedP99Us.isEmpty() ? String.format(Locale.ROOT, "%.2f", tickCost.percentile(99) / 1000.0) : parsedP99Us;
+            return String.format(Locale.ROOT, "%s/%d: deaths=%d goal=%s exit=%s tunnels=%d ticks=%d tick mean=%sus p99=%sus",
+                    stage, sublevel, deaths,
+                    hasGoal ? (goalReached ? "reached" : "UNREACHED") : "-",
+                    exitReached ? "reached" : "-", tunnels, ticks, mean, p99);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String stagesDir = DEFAULT_STAGES;
+        double minutes = 2;
+        int runs = 4;
+        int jobs = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        boolean inline = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stages": stagesDir = args[++i]; break;
+                case "--minutes": minutes = Double.parseDouble(args[++i]); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "-j": case "--jobs": jobs = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--inline": inline = true; break;
+                case "--worker":
+                    // --worker <stagePath> <sublevel> <minutes> <runs> <seed>
+                    SublevelReport report = validateSublevel(args[i + 1], Integer.parseInt(args[i + 2]),
+                            Double.parseDouble(args[i + 3]), Integer.parseInt(args[i + 4]), Long.parseLong(args[i + 5]));
+                    System.out.println(report.toLine());
+                    System.exit(0);
+                    return;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        long start = System.nanoTime();
+        List<SublevelReport> reports = inline
+                ? runInline(stagesDir, minutes, runs, seed)
+                : runParallel(stagesDir, minutes, runs, seed, jobs);
+        double elapsedSecs = (System.nanoTime() - start) / 1e9;
+
+        int failing = 0;
+        for (SublevelReport r : reports) {
+            System.out.println(r.summary());
+            for (String problem : r.problems()) System.out.println("    PROBLEM " + problem);
+            for (String warning : r.warnings) System.out.println("    warning " + warning);
+            if (!r.problems().isEmpty()) failing++;
+        }
+        double simulatedSecs = reports.size() * runs * minutes * 60;
+        System.out.printf(Locale.ROOT, "%d sublevels, %d with problems, %.0f simulated seconds in %.1fs (%.0fx real time)%n",
+                reports.size(), failing, simulatedSecs, elapsedSecs, simulatedSecs / Math.max(elapsedSecs, 1e-9));
+        System.exit(failing == 0 ? 0 : 1);
+    }
+
+    // Every (stage directory, sublevel count) pair under the stages root, in name order
+    static List<String[]> listSublevels(String stagesDir) {
+        List<String[]> tasks = new ArrayList<>();
+        File[] stageDirs = new File(stagesDir).listFiles(File::isDirectory);
+        if (stageDirs == null) return tasks;
+        Arrays.sort(stageDirs);
+        for (File stageDir : stageDirs) {
+            File[] files = PageLoader.sublevelFiles(stageDir);
+            int count = files == null ? 0 : files.length;
+            for (int s = 1; s <= count; s++) {
+                tasks.add(new String[]{stageDir.getPath(), String.valueOf(s)});
+            }
+        }
+        return tasks;
+    }
+
+    static List<SublevelReport> runInline(String stagesDir, double minutes, int runs, long seed) {
+        List<SublevelReport> reports = new ArrayList<>();
+        for (String[] task : listSublevels(stagesDir)) {
+            reports.add(validateSublevel(task[0], Integer.parseInt(task[1]), minutes, runs, seed));
+        }
+        return reports;
+    }
+
+    static List<SublevelReport> runParallel(String stagesDir, double minutes, int runs, long seed, int jobs) throws Exception {
+        List<String> javaCommand = new ArrayList<>();
+        javaCommand.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        javaCommand.add("-cp");
+        javaCommand.add(System.getProperty("java.class.path"));
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            javaCommand.add("--module-path");
+            javaCommand.add(modulePath);
+            javaCommand.add("--add-modules");
+            javaCommand.add("javafx.controls");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, jobs));
+        List<Future<SublevelReport>> futures = new ArrayList<>();
+        for (String[] task : listSublevels(stagesDir)) {
+            List<String> command = new ArrayList<>(javaCommand);
+            command.addAll(Arrays.asList(LevelValidator.class.getName(), "--worker", task[0], task[1],
+                    String.valueOf(minutes), String.valueOf(runs), String.valueOf(seed)));
+            futures.add(pool.submit(() -> runWorker(command, task)));
+        }
+
+        List<SublevelReport> reports = new ArrayList<>();
+        for (Future<SublevelReport> f : futures) reports.add(f.get());
+        pool.shutdown();
+        return reports;
+    }
+
+    private static SublevelReport runWorker(List<String> command, String[] task) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        SublevelReport report = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) report = SublevelReport.parse(line);
+                else output.append(line).append('\n');
+            }
+        }
+        int exit = process.waitFor();
+        if (report == null) {
+            report = new SublevelReport();
+            report.stage = task[0];
+            report.sublevel = Integer.parseInt(task[1]);
+            report.error = "worker exited with " + exit + ": " + output.toString().trim().replace('\n', ' ');
+        }
+        return report;
+    }
+
+    static SublevelReport validateSublevel(String stagePath, int sublevelNum, double minutes, int runs, long seed) {
+        SublevelReport report = new SublevelReport();
+        report.stage = stagePath;
+        report.sublevel = sublevelNum;
+        try {
+            Level level = HeadlessStepper.loadLevel(stagePath, 0);
+            Sublevel sublevel = level.sublevels.get(sublevelNum - 1);
+            report.hasGoal = sublevel.goal != null;
+            report.lastSublevel = sublevelNum == level.levelLength;
+
+            checkStaticOverlaps(sublevel, report);
+
+            long ticksPerRun = (long) (minutes * TICKS_PER_MINUTE);
+            for (int run = 0; run < runs; run++) {
+                InputSource policy = run == 0 ? new RunRightPolicy() : new RandomPolicy(seed * 31 + run);
+                simulate(stagePath, sublevelNum, policy, ticksPerRun, report);
+            }
+        } catch (RuntimeException e) {
+            report.error = e.toString();
+        }
+        return report;
+    }
+
+    // Where the ball appears in a sublevel: its own initial position, its checkpoint, or the left edge
+    static Point2D respawnPoint(Sublevel sublevel) {
+        if (sublevel.spawn != null) return sublevel.spawn;
+        if (sublevel.checkpoint != null) return sublevel.checkpoint.pos;
+        return new Point2D(2.5 * HeadlessStepper.CHARACTER_RADIUS, Main.WINDOW_HEIGHT - HeadlessStepper.CHARACTER_RADIUS);
+    }
+
+    static void checkStaticOverlaps(Sublevel sublevel, SublevelReport report) {
+        List<Point2D> points = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        if (sublevel.spawn != null) { points.add(sublevel.spawn); names.add("spawn"); }
+        if (sublevel.checkpoint != null) { points.add(sublevel.checkpoint.pos); names.add("checkpoint"); }
+        if (points.isEmpty()) { points.add(respawnPoint(sublevel)); names.add("entry"); }
+
+        double r = HeadlessStepper.CHARACTER_RADIUS;
+        for (int p = 0; p < points.size(); p++) {
+            Point2D point = points.get(p);
+            for (Obstacle obs : sublevel.obstacles) {
+                boolean hit = false;
+                if (obs instanceof LaserObstacle laser) {
+                    hit = segmentDistanceSq(point.x, point.y, laser.startPoint, laser.endPoint) < r * r;
+                } else if (obs instanceof SpinningLaserObstacle spinner) {
+                    double reach = spinner.length / 2.0 + r; // The beam sweeps a full disc around its pivot
+                    if (point.distanceSquared(spinner.pivotPoint) < reach * reach) {
+                        report.warnings.add("SpinningLaserObstacle at " + format(spinner.pivotPoint) + " sweeps over " + names.get(p) + " " + format(point));
+                    }
+                } else {
+                    hit = obs.overlapsCircle(point.x, point.y, r); // Built-in solids and pack obstacles alike
+                }
+                if (hit) {
+                    report.overlaps.add(obs.getClass().getSimpleName() + " at " + format(obs.pos) + " overlaps " + names.get(p) + " " + format(point));
+                }
+            }
+        }
+    }
+
+    static void simulate(String stagePath, int sublevelNum, InputSource policy, long ticks, SublevelReport report) {
+        Level level = HeadlessStepper.loadLevel(stagePath, 0);
+        Point2D entry = respawnPoint(level.sublevels.get(sublevelNum - 1));
+        HeadlessStepper.enterSublevel(level, sublevelNum, entry.x, entry.y);
+        Character c = Main.character;
+
+        // Outcomes of the current tick, counted from the OutcomeBus after each step
+        int[] outcomes = new int[2];
+        OutcomeBus.Listener counter = (type, actor, subject, x, y, value) -> {
+            if (actor != c.id) return; // Companions, if a caller added any, are not this run
+            if (type == OutcomeBus.DEATH) outcomes[0]++;
+            if (type == OutcomeBus.GOAL_REACHED) outcomes[1]++;
+        };
+        OutcomeBus.addListener(counter);
+        try {
+            runPolicy(stagePath, sublevelNum, policy, ticks, report, entry, c, outcomes);
+        } finally {
+            OutcomeBus.removeListener(counter);
+        }
+    }
+
+    private static void runPolicy(String stagePath, int sublevelNum, InputSource policy, long ticks, SublevelReport report,
+                                  Point2D entry, Character c, int[] outcomes) {
+        Level level;
+        for (long tick = 0; tick < ticks; tick++) {
+            policy.apply(c, tick);
+
+            double prevX = c.pos.x, prevY = c.pos.y;
+            outcomes[0] = outcomes[1] = 0;
+
+            long start = System.nanoTime();
+            HeadlessStepper.step();
+            report.tickCost.record(System.nanoTime() - start);
+            report.ticks++;
+
+            boolean died = outcomes[0] > 0;
+            report.deaths += outcomes[0];
+            if (outcomes[1] > 0) report.goalReached = true;
+
+            if (c.sublevelNum != sublevelNum || !c.inGame) {
+                if (c.sublevelNum > sublevelNum) report.exitReached = true;
+                level = HeadlessStepper.loadLevel(stagePath, 0); // Fresh coins, locks and checkpoints
+                HeadlessStepper.enterSublevel(level, sublevelNum, entry.x, entry.y);
+                continue;
+            }
+
+            if (!died) {
+                for (Obstacle obs : Main.currentSublevel.obstacles) {
+                    boolean tunnelled = (obs instanceof CircleObstacle circle && circle.segmentHits(prevX, prevY, c.pos.x, c.pos.y))
+                            || (obs instanceof RectangleObstacle rect && rect.segmentHits(prevX, prevY, c.pos.x, c.pos.y))
+                            || (obs instanceof CutOffObstacle cutOff && cutOff.segmentHits(prevX, prevY, c.pos.x, c.pos.y));
+                    if (tunnelled) report.tunnels++;
+                }
+            }
+        }
+    }
+
+    private static double segmentDistanceSq(double px, double py, Point2D a, Point2D b) {
+        double segX = b.x - a.x, segY = b.y - a.y;
+        double lenSq = segX * segX + segY * segY;
+        double t = lenSq == 0 ? 0 : Math.max(0, Math.min(1, ((px - a.x) * segX + (py - a.y) * segY) / lenSq));
+        double dx = a.x + segX * t - px, dy = a.y + segY * t - py;
+        return dx * dx + dy * dy;
+    }
+
+    private static String format(Point2D p) {
+        return String.format(Locale.ROOT, "(%.0f,%.0f)", p.x, p.y);
+    }
+}
@@ -0,0 +1,204 @@
+package com.binge;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+// A rectangle or disc carried along a looping path (see PlatformPath) at constant speed. Its position is a
+// pure function of the distance travelled, so an update is one table lookup and a dormant platform
+// catches up exactly. The ball meets it in the platform's frame of reference: the contact bounces the
+// velocity relative to the platform and the platform's own velocity is added back, with more grip along
+// the surface than static geometry has, so a ball resting on a platform rides along with it.
+// The platform is not a Broadphase solid; its EntityStore collider is the AABB it swept this tick
+// (see sweptBounds), refreshed every tick, so a ball far away from it skips the exact test.
+// Ray queries (laser beams, turret line of sight, sensors) and projectiles meet it through
+// Broadphase.kinematic, one by one. They see it where the last update phase left it (settle): turrets aim
+// from ObstacleUpdater workers while platforms move, and serial and parallel runs must still agree.
+// It is never baked into a SignedDistanceField, and the jump preview, which looks a second ahead, ignores it.
+class MovingPlatform extends Obstacle {
+
+    static final double RESTITUTION = 0.3;
+    static final double GRIP = 0.5; // Share of the sliding speed relative to the platform lost per contact
+
+    private final PlatformPath path;
+    private final double speed;              // Pixels per second along the path
+    private final RectangleObstacle rect;    // The shape, exactly one of these two, at the settled position
+    private final CircleObstacle circle;
+    private final double extentX, extentY;   // Half extents of the shape's AABB around pos
+    private double travelled;                // Distance along the path, in [0, path.period())
+    private double prevX, prevY;             // Where the last update started, for the swept bounds
+    private double velocityX, velocityY;
+    private final double[] sample = new double[4];
+
+    // The shape is built around the path's start; width, height and angle describe a rectangle, a
+    // negative height makes it a disc of radius width
+    MovingPlatform(Pane pane, PlatformPath path, double speed, double width, double height, double angleDegrees,
+                   double startDistance, boolean fatal) {
+        this.path = path;
+        this.speed = speed;
+        this.fatal = fatal;
+        path.sample(0, sample);
+        if (height < 0) {
+            this.circle = new CircleObstacle(pane, sample[0], sample[1], (int) Math.round(width), Color.SLATEGRAY, fatal);
+            this.rect = null;
+            this.body = circle.body;
+            this.color = circle.color;
+        } else {
+            this.rect = new RectangleObstacle(pane, sample[0], sample[1], width, height, angleDegrees, Color.SLATEGRAY, fatal);
+            this.circle = null;
+            this.body = rect.body;
+            this.color = rect.color;
+        }
+        this.pos = new Point2D(sample[0], sample[1]);
+        double[] bounds = new double[4];
+        if (rect != null) rect.solidBounds(bounds);
+        else circle.solidBounds(bounds);
+        this.extentX = (bounds[2] - bounds[0]) / 2;
+        this.extentY = (bounds[3] - bounds[1]) / 2;
+        moveTo(startDistance);
+        this.prevX = pos.x;
+        this.prevY = pos.y;
+        settle();
+        syncVisuals();
+    }
+
+    private Obstacle shape() {
+        return rect != null ? rect : circle;
+    }
+
+    // Moves the shape to where the update phase left the platform. ObstacleUpdater calls it on the thread
+    // that runs the simulation once every update of the tick is done, before the collision phase.
+    void settle() {
+        shape().pos.x = pos.x;
+        shape().pos.y = pos.y;
+    }
+
+    private void moveTo(double distance) {
+        double period = path.period();
+        travelled = period == 0 ? 0 : distance % period;
+        if (travelled < 0) travelled += period;
+        path.sample(travelled, sample);
+        pos.x = sample[0];
+        pos.y = sample[1];
+        velocityX = sample[2] * speed;
+        velocityY = sample[3] * speed;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        prevX = pos.x;
+        prevY = pos.y;
+        moveTo(travelled + speed * deltaTime);
+    }
+
+    // Where it would be anyway; it was not swept through anything while nobody watched
+    @Override
+    void fastForward(double seconds) {
+        update(seconds);
+        prevX = pos.x;
+        prevY = pos.y;
+        settle();
+    }
+
+    // The AABB of the shape at the start and at the end of the last update, so a ball the platform moved
+    // past this tick is still tested. Path corners cut inside one tick are far smaller than the ball.
+    @Override
+    boolean sweptBounds(double[] out) {
+        out[0] = Math.min(prevX, pos.x) - extentX;
+        out[1] = Math.min(prevY, pos.y) - extentY;
+        out[2] = Math.max(prevX, pos.x) + extentX;
+        out[3] = Math.max(prevY, pos.y) + extentY;
+        return true;
+    }
+
+    double contact(double cx, double cy, double r, double[] normalOut) {
+        return rect != null ? rect.contact(cx, cy, r, normalOut) : circle.contact(cx, cy, r, normalOut);
+    }
+
+    @Override
+    boolean overlapsCircle(double cx, double cy, double r) {
+        return shape().overlapsCircle(cx, cy, r);
+    }
+
+    @Override
+    double rayDistance(double ox, double oy, double dirX, double dirY) {
+        return shape().rayDistance(ox, oy, dirX, dirY);
+    }
+
+    @Override
+    void surfaceNormal(double x, double y, double[] out) {
+        shape().surfaceNormal(x, y, out);
+    }
+
+    @Override
+    boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
+        double[] normal = new double[2];
+        double penetration = contact(c.pos.getX() + dispX, c.pos.getY() + dispY, c.radius, normal);
+        if (penetration <= 0) return false;
+        handleCollision(c, new Point2D(normal[0], normal[1]), penetration, deltaTime);
+        return true;
+    }
+
+    @Override
+    void handleCollision(Character c, Point2D normal, double penetration, double deltaTime) {
+        if (this.fatal) c.revive();
+
+        c.jumpCount = 0;
+
+        penetration = Math.max(0, penetration);
+        c.pos.add(normal.getX() * (penetration + epsilon), normal.getY() * (penetration + epsilon));
+        // A ball that collided isn't integrated this tick (see Main.integrate), so the platform carries it
+        // along its surface here; the push-out above already covers motion along the normal
+        double along = velocityX * normal.getX() + velocityY * normal.getY();
+        c.pos.add((velocityX - along * normal.getX()) * deltaTime, (velocityY - along * normal.getY()) * deltaTime);
+        c.syncBody();
+
+        double[] v = {c.v.x, c.v.y};
+        reflect(v, normal.getX(), normal.getY());
+        c.v.setX(v[0]);
+        c.v.setY(v[1]);
+    }
+
+    // Velocity response in the platform's frame: bounce and grip act on the velocity relative to the
+    // platform, which is then carried along at the platform's velocity
+    void reflect(double[] v, double nx, double ny) {
+        double relX = v[0] - velocityX, relY = v[1] - velocityY;
+        double vDotN = relX * nx + relY * ny;
+        if (vDotN < 0) {
+            double vnX = nx * vDotN, vnY = ny * vDotN;
+            double vtX = relX - vnX, vtY = relY - vnY;
+            v[0] = velocityX - vnX * RESTITUTION + vtX * (1.0 - GRIP);
+            v[1] = velocityY - vnY * RESTITUTION + vtY * (1.0 - GRIP);
+        }
+    }
+
+    double velocityX() {
+        return velocityX;
+    }
+
+    double velocityY() {
+        return velocityY;
+    }
+
+    @Override
+    int visualSlots() {
+        return 2;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = pos.x;
+        out[offset + 1] = pos.y;
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        if (body instanceof Circle disc) {
+            disc.setCenterX(in[offset]);
+            disc.setCenterY(in[offset + 1]);
+        } else {
+            body.setLayoutX(in[offset]);
+            body.setLayoutY(in[offset + 1]);
+        }
+    }
+}
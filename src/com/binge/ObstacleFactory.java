@@ -0,0 +1,91 @@
+package com.binge;
+
+import javafx.scene.layout.Pane;
+
+// Service provider interface for one obstacle section of the .in files. PageLoader builds every obstacle
+// line through ObstacleRegistry, which finds the factory by the section header; the game's own kinds are
+// in BuiltinObstacles and an obstacle pack adds more from a jar on the class path that lists its
+// factories in META-INF/services/com.binge.ObstacleFactory, without touching the loader.
+// Obstacle's collision hooks (checkCollision, solidBounds, sweptBounds, overlapsCircle, ...) are
+// package-private, so a pack puts its classes in package com.binge as well. How an obstacle collides
+// stays on those hooks, which Broadphase, EntityStore and the projectiles already dispatch on; the
+// factory only says which tokens place and turn it (editorHandles()) so the LevelEditor can move it.
+public interface ObstacleFactory {
+
+    // WORDS takes the rest of the line as text and may only come last
+    enum Type { NUMBER, INTEGER, BOOLEAN, WORDS }
+
+    // One parameter of a line. fallback is the text used when the line leaves it out, null if required.
+    record Param(String name, Type type, String fallback) {
+        public static Param required(String name, Type type) {
+            return new Param(name, type, null);
+        }
+
+        public static Param optional(String name, Type type, String fallback) {
+            return new Param(name, type, fallback);
+        }
+    }
+
+    // Token indices holding the obstacle's x and y coordinates, and the one holding its angle in degrees
+    // (-1 if it doesn't turn). xs null means the line is made of "circle x y r" and
+    // "rect cx cy w h angle" shape words, as CutOffObstacle's is. Nothing about how it collides.
+    record EditorHandles(int[] xs, int[] ys, int angle) {
+    }
+
+    // The section header, e.g. "RectangleObstacle"
+    String section();
+
+    // Parameters in line order; required ones first
+    Param[] schema();
+
+    EditorHandles editorHandles();
+
+    // The line a new one starts from in the LevelEditor, X and Y standing for the click position (with
+    // an optional +n / -n). null keeps the kind out of the editor.
+    default String editorTemplate() {
+        return null;
+    }
+
+    // Builds the obstacle and adds its nodes to the pane, or returns null for a malformed line.
+    // Runs on whichever thread loads the sublevel (StageWatcher builds off the FX thread into a detached pane).
+    Obstacle create(Pane pane, Args args);
+
+    // The tokens of one line read through its schema: a parameter the line leaves out reads as its fallback
+    final class Args {
+        private final Param[] schema;
+        private final String[] tokens;
+
+        Args(Param[] schema, String[] tokens) {
+            this.schema = schema;
+            this.tokens = tokens;
+        }
+
+        // How many tokens the line actually has
+        public int given() {
+            return tokens.length;
+        }
+
+        public String text(int i) {
+            if (i < tokens.length) return tokens[i];
+            if (i < schema.length && schema[i].fallback() != null) return schema[i].fallback();
+            throw new IllegalArgumentException("missing " + (i < schema.length ? schema[i].name() : "parameter " + i));
+        }
+
+        public double number(int i) {
+            return Double.parseDouble(text(i));
+        }
+
+        public int integer(int i) {
+            return Integer.parseInt(text(i));
+        }
+
+        public boolean bool(int i) {
+            return Boolean.parseBoolean(text(i));
+        }
+
+        // The line as written, for WORDS parameters
+        public String[] tokens() {
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.binge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+// Every ObstacleFactory the game knows: BuiltinObstacles first, then the providers ServiceLoader finds on
+// the class path, in that order. A provider can't replace a section that is already taken.
+// Section headers are looked up through a perfect hash built once here (hash and displace): a first hash
+// picks a bucket, the bucket's seed picks the slot, and the seeds are chosen so no two sections share a
+// slot. A lookup is two mixes of the header's cached hashCode and one equals, however many kinds there are.
+// Immutable once the class is initialized, so the StageWatcher thread reads it freely.
+class ObstacleRegistry {
+
+    private static final ObstacleFactory[] factories;
+    private static final ObstacleFactory[] table; // Power of two slots, at most half full
+    private static final int[] seeds;             // Per bucket, power of two buckets
+
+    static {
+        List<ObstacleFactory> list = new ArrayList<>(BuiltinObstacles.all());
+        Iterator<ObstacleFactory> providers = ServiceLoader.load(ObstacleFactory.class).iterator();
+        while (true) {
+            ObstacleFactory factory;
+            try {
+                if (!providers.hasNext()) break;
+                factory = providers.next();
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Skipping obstacle provider: " + e.getMessage());
+                continue;
+            }
+            if (find(list, factory.section()) != null) {
+                System.err.println("Obstacle provider " + factory.getClass().getName() + " skipped, section "
+                        + factory.section() + " is already taken");
+                continue;
+            }
+            list.add(factory);
+        }
+        factories = list.toArray(new ObstacleFactory[0]);
+
+        int size = 2;
+        while (size < 2 * factories.length) size <<= 1;
+        int[] found;
+        ObstacleFactory[] slots;
+        while (true) {
+            slots = new ObstacleFactory[size];
+            found = place(factories, slots);
+            if (found != null) break;
+            size <<= 1; // Practically never: some bucket found no seed, retry with more room
+        }
+        table = slots;
+        seeds = found;
+    }
+
+    private static ObstacleFactory find(List<ObstacleFactory> list, String section) {
+        for (ObstacleFactory f : list) {
+            if (f.section().equals(section)) return f;
+        }
+        return null;
+    }
+
+    // Seeds per bucket that put every factory in a slot of its own, or null if some bucket has none.
+    // Buckets are placed biggest first, while the table is emptiest.
+    private static int[] place(ObstacleFactory[] factories, ObstacleFactory[] slots) {
+        int buckets = Math.max(1, slots.length / 4);
+        List<List<ObstacleFactory>> byBucket = new ArrayList<>();
+        for (int b = 0; b < buckets; b++) byBucket.add(new ArrayList<>());
+        for (ObstacleFactory f : factories) byBucket.get(mix(f.section().hashCode(), 0) & (buckets - 1)).add(f);
+        Integer[] order = new Integer[buckets];
+        for (int b = 0; b < buckets; b++) order[b] = b;
+        Arrays.sort(order, (a, b) -> byBucket.get(b).size() - byBucket.get(a).size());
+
+        int[] seeds = new int[buckets];
+        int mask = slots.length - 1;
+        int[] chosen = new int[factories.length];
+        for (int b : order) {
+            List<ObstacleFactory> bucket = byBucket.get(b);
+            if (bucket.isEmpty()) break;
+            int seed = 1;
+            search:
+            for (; seed < 1 << 16; seed++) {
+                for (int i = 0; i < bucket.size(); i++) {
+                    int slot = mix(bucket.get(i).section().hashCode(), seed) & mask;
+                    if (slots[slot] != null) continue search;
+                    for (int j = 0; j < i; j++) if (chosen[j] == slot) continue search;
+                    chosen[i] = slot;
+                }
+                break;
+            }
+            if (seed == 1 << 16) return null;
+            for (int i = 0; i < bucket.size(); i++) slots[chosen[i]] = bucket.get(i);
+            seeds[b] = seed;
+        }
+        return seeds;
+    }
+
+    // Murmur3's finalizer over the hash and seed
+    private static int mix(int h, int seed) {
+        h ^= seed * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // The factory for a section header, null if no obstacle kind uses it
+    static ObstacleFactory lookup(String section) {
+        int h = section.hashCode();
+        int seed = seeds[mix(h, 0) & (seeds.length - 1)];
+        ObstacleFactory f = table[mix(h, seed) & (table.length - 1)];
+        return f != null && f.section().equals(section) ? f : null;
+    }
+
+    // In registration order
+    static List<ObstacleFactory> all() {
+        return List.of(factories);
+    }
+
+    // Builds one obstacle line into the sublevel. A line missing required parameters or with a value
+    // that doesn't parse is reported and skipped.
+    static void build(Sublevel sublevel, ObstacleFactory factory, String[] tokens) {
+        ObstacleFactory.Param[] schema = factory.schema();
+        int required = 0;
+        while (required < schema.length && schema[required].fallback() == null) required++;
+        if (tokens.length < required) {
+            System.err.println(factory.section() + ": Not enough parameters. Expected at least " + required
+                    + ", got " + tokens.length + " for line: " + Arrays.toString(tokens));
+            return;
+        }
+        Obstacle obs;
+        try {
+            obs = factory.create(sublevel.pane, new ObstacleFactory.Args(schema, tokens));
+        } catch (IllegalArgumentException e) { // Including NumberFormatException
+            System.err.println(factory.section() + ": " + e.getMessage() + " for line: " + Arrays.toString(tokens));
+            return;
+        }
+        if (obs != null) sublevel.obstacles.add(obs);
+        else System.err.println(factory.section() + ": Malformed line: " + Arrays.toString(tokens));
+    }
+}
@@ -0,0 +1,105 @@
+package com.binge;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs the obstacle update phase of a tick, in parallel for large sublevels.
+// The phase is split in two so workers never touch shared or JavaFX state:
+//   1. simulate - Obstacle.update() advances each obstacle's own fields against characters that
+//      are not modified during the phase. Launchers queue ProjectileSpawns on themselves.
+//   2. apply - back on the FX thread, in obstacle order: syncVisuals(), profiler samples, spawns.
+// Obstacle fields act as the back buffer and the scene graph as the front buffer. Since every step
+// of phase 1 depends only on the obstacle itself and phase 2 runs in list order, serial and
+// parallel runs produce bit-identical results.
+public class ObstacleUpdater {
+
+    static boolean parallel = true;
+    static final int PARALLEL_THRESHOLD = 64; // Below this fork/join overhead outweighs the work
+    static final int CHUNK_SIZE = 16;         // Obstacles per leaf task
+
+    // Started by the first sublevel big enough to need it, most stages never do
+    private static final class Pool {
+        static final ForkJoinPool instance =
+                new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    // Per-index scratch, grown on demand and reused across ticks
+    private static boolean[] updated = new boolean[0];
+    private static long[] nanos = new long[0];
+
+    public static void updateAll(ArrayList<Obstacle> obstacles, double deltaTime) {
+        int n = obstacles.size();
+        if (updated.length < n) {
+            updated = new boolean[n * 2];
+            nanos = new long[n * 2];
+        }
+
+        // Throttling decisions are made up front so workers only read their own flag
+        for (int i = 0; i < n; i++) {
+            Obstacle obs = obstacles.get(i);
+            updated[i] = FrameBudget.shouldUpdate(obs, i);
+            if (!updated[i]) obs.deferredTime += deltaTime; // Throttled far turret, catches up on its next update
+        }
+
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            Pool.instance.invoke(new UpdateRange(obstacles, 0, n, deltaTime));
+        } else {
+            updateRange(obstacles, 0, n, deltaTime);
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (!updated[i]) continue;
+            Obstacle obs = obstacles.get(i);
+            if (obs instanceof MovingPlatform platform) platform.settle(); // Ray queries see it here from now on
+            // With a dedicated simulation thread the FX thread applies visuals from RenderSnapshots instead
+            if (!SimulationThread.isSimulationThread()) obs.syncVisuals();
+            TickProfiler.recordObstacleNanos(obs, nanos[i]);
+
+            if (obs.pendingSpawns != null && !obs.pendingSpawns.isEmpty()) {
+                for (ProjectileSpawn spawn : obs.pendingSpawns) {
+                    if (FrameBudget.allowProjectileSpawn()) {
+                        Main.activeProjectiles.add(spawn.spawn(Main.nearestCharacter(spawn.x, spawn.y)));
+                    }
+                }
+                obs.pendingSpawns.clear();
+            }
+        }
+    }
+
+    private static void updateRange(ArrayList<Obstacle> obstacles, int from, int to, double deltaTime) {
+        for (int i = from; i < to; i++) {
+            if (!updated[i]) continue;
+            Obstacle obs = obstacles.get(i);
+            long start = TickProfiler.now();
+            obs.update(deltaTime + obs.deferredTime);
+            obs.deferredTime = 0;
+            nanos[i] = TickProfiler.now() - start;
+        }
+    }
+
+    @SuppressWarnings("serial") // Never serialized, ForkJoinTask just happens to be Serializable
+    private static class UpdateRange extends RecursiveAction {
+        final ArrayList<Obstacle> obstacles;
+        final int from, to;
+        final double deltaTime;
+
+        UpdateRange(ArrayList<Obstacle> obstacles, int from, int to, double deltaTime) {
+            this.obstacles = obstacles;
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                updateRange(obstacles, from, to, deltaTime);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UpdateRange(obstacles, from, mid, deltaTime),
+                      new UpdateRange(obstacles, mid, to, deltaTime));
+        }
+    }
+}
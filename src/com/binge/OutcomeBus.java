@@ -0,0 +1,121 @@
+package com.binge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-tick queue of collision outcomes. Collision handlers only change simulation state and post()
+// what happened; scene changes, stats and anything else are done by listeners when the queue is
+// drained after the physics step, outside the collision loops.
+// The ring is preallocated parallel arrays with single-producer single-consumer indices like InputQueue:
+// the simulation (FX thread, simulation thread or headless) posts, the FX thread or HeadlessStepper drains.
+// Posting never allocates, so a tick stays allocation-free however many things happen in it.
+// The ring holds PER_BALL outcomes per ball (Main.addCharacter grows it), so one tick in which every ball
+// dies at once still fits. A full ring drops coins, keys and checkpoints and counts them; a lost DEATH or
+// GOAL_REACHED would leave its ball out of the run with nobody told, so those throw instead.
+// The actor is the id of the Character it happened to (0 is the player, see Main.characters).
+public class OutcomeBus {
+
+    // Outcome types
+    static final byte DEATH = 0;              // subject: Sublevel revived into, null if the run ended. value: 1 if revived
+    static final byte COIN_COLLECTED = 1;     // subject: Coin. value: coin value
+    static final byte CHECKPOINT_REACHED = 2; // subject: Checkpoint
+    static final byte GOAL_REACHED = 3;       // subject: Goal
+    static final byte KEY_COLLECTED = 4;      // subject: Key
+
+    public interface Listener {
+        void onOutcome(byte type, int actor, Object subject, double x, double y, int value);
+    }
+
+    static final int MIN_CAPACITY = 256;
+    static final int PER_BALL = 8; // A death, a goal, a key and a few coins for every ball in one tick
+
+    private static int capacity = MIN_CAPACITY; // A power of two
+    private static int mask = capacity - 1;
+    private static byte[] types = new byte[capacity];
+    private static int[] actors = new int[capacity];
+    private static Object[] subjects = new Object[capacity];
+    private static double[] xs = new double[capacity];
+    private static double[] ys = new double[capacity];
+    private static int[] values = new int[capacity];
+    private static final AtomicLong head = new AtomicLong(); // Next slot to read, written by the consumer
+    private static final AtomicLong tail = new AtomicLong(); // Next slot to write, written by the producer
+
+    private static volatile Listener[] listeners = new Listener[0];
+    static long dropped = 0;
+
+    // Not meant to change while the game runs; listeners are copied so draining never sees a half-added one
+    static synchronized void addListener(Listener listener) {
+        Listener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+
+    static synchronized void removeListener(Listener listener) {
+        listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(Listener[]::new);
+    }
+
+    // Room for balls balls, keeping what is queued. Only while no tick runs (Main.addCharacter), so
+    // neither side is using the arrays.
+    static synchronized void ensureBalls(int balls) {
+        int needed = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, PER_BALL * balls - 1)) << 1);
+        if (needed <= capacity) return;
+        byte[] newTypes = new byte[needed];
+        int[] newActors = new int[needed];
+        Object[] newSubjects = new Object[needed];
+        double[] newXs = new double[needed];
+        double[] newYs = new double[needed];
+        int[] newValues = new int[needed];
+        int newMask = needed - 1;
+        for (long i = head.get(); i < tail.get(); i++) {
+            int from = (int) (i & mask), to = (int) (i & newMask);
+            newTypes[to] = types[from];
+            newActors[to] = actors[from];
+            newSubjects[to] = subjects[from];
+            newXs[to] = xs[from];
+            newYs[to] = ys[from];
+            newValues[to] = values[from];
+        }
+        types = newTypes;
+        actors = newActors;
+        subjects = newSubjects;
+        xs = newXs;
+        ys = newYs;
+        values = newValues;
+        capacity = needed;
+        mask = newMask;
+    }
+
+    // Producer: whichever thread runs the simulation
+    static void post(byte type, int actor, Object subject, double x, double y, int value) {
+        long t = tail.get();
+        if (t - head.get() >= capacity) {
+            if (type == DEATH || type == GOAL_REACHED) {
+                throw new IllegalStateException("Outcome bus full (" + capacity + " queued), the drain has stalled");
+            }
+            dropped++; // Consumer stalled for many ticks, the outcome is lost rather than blocking physics
+            return;
+        }
+        int slot = (int) (t & mask);
+        types[slot] = type;
+        actors[slot] = actor;
+        subjects[slot] = subject;
+        xs[slot] = x;
+        ys[slot] = y;
+        values[slot] = value;
+        tail.lazySet(t + 1); // Release: slot writes become visible before the new tail
+    }
+
+    // Consumer: hands every queued outcome to every listener, oldest first
+    static void drain() {
+        long h = head.get();
+        long t = tail.get();
+        Listener[] current = listeners;
+        while (h < t) {
+            int slot = (int) (h & mask);
+            for (Listener l : current) l.onOutcome(types[slot], actors[slot], subjects[slot], xs[slot], ys[slot], values[slot]);
+            subjects[slot] = null; // Don't keep a collected coin's node alive through the ring
+            h++;
+        }
+        head.lazySet(h);
+    }
+}
@@ -0,0 +1,138 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// A looping path through control points, parameterized by arc length. The curve is sampled densely once,
+// then resampled at equal distances into a table, so the point at a distance along the path is the
+// interpolation of two table entries found by one division: no root finding and no search per update.
+//   LINEAR      - straight segments through the points
+//   BEZIER      - cubic segments: point, two handles, point, two handles, ...
+//   CATMULL_ROM - a smooth curve through every point
+// A closed path runs back to its first point and around again; an open one runs to its end and back
+// (ping-pong), which sample() folds into the same table.
+class PlatformPath {
+
+    enum Kind { LINEAR, BEZIER, CATMULL_ROM }
+
+    static final int SAMPLES_PER_SEGMENT = 64; // Dense sampling of each curve segment
+    static final double TABLE_STEP = 2;        // Pixels between entries of the arc-length table
+
+    final boolean closed;
+    private final double length;
+    private final double step;
+    private final double[] xs, ys;             // Points every step pixels along the path, from 0 to length
+
+    // null for a point count the kind can't use. Platforms on the same path share one (SharedGeometry).
+    static PlatformPath create(Kind kind, boolean closed, double[] points) {
+        int n = points.length / 2;
+        if (points.length % 2 != 0 || n < 2) return null;
+        if (kind == Kind.BEZIER && (closed ? n % 3 != 0 : n % 3 != 1)) return null;
+        return SharedGeometry.intern("PlatformPath " + kind + " " + closed + " " + Arrays.toString(points),
+                () -> new PlatformPath(kind, closed, points));
+    }
+
+    private PlatformPath(Kind kind, boolean closed, double[] points) {
+        this.closed = closed;
+        int n = points.length / 2;
+        int segments = switch (kind) {
+            case LINEAR, CATMULL_ROM -> closed ? n : n - 1;
+            case BEZIER -> closed ? n / 3 : (n - 1) / 3;
+        };
+        int samples = kind == Kind.LINEAR ? 1 : SAMPLES_PER_SEGMENT;
+
+        // Dense polyline and the distance along it at each vertex
+        int count = segments * samples + 1;
+        double[] denseX = new double[count], denseY = new double[count], denseS = new double[count];
+        double[] p = new double[2];
+        int k = 0;
+        for (int s = 0; s < segments; s++) {
+            for (int j = (s == 0 ? 0 : 1); j <= samples; j++) {
+                evaluate(kind, closed, points, n, s, (double) j / samples, p);
+                denseX[k] = p[0];
+                denseY[k] = p[1];
+                if (k > 0) denseS[k] = denseS[k - 1] + Math.hypot(denseX[k] - denseX[k - 1], denseY[k] - denseY[k - 1]);
+                k++;
+            }
+        }
+        this.length = denseS[count - 1];
+
+        // Resampled at equal arc length, walking the dense polyline once
+        int entries = Math.max(1, (int) Math.ceil(length / TABLE_STEP));
+        this.step = length / entries;
+        this.xs = new double[entries + 1];
+        this.ys = new double[entries + 1];
+        int d = 0;
+        for (int i = 0; i <= entries; i++) {
+            double s = Math.min(i * step, length);
+            while (d < count - 2 && denseS[d + 1] < s) d++;
+            double span = denseS[d + 1] - denseS[d];
+            double t = span == 0 ? 0 : (s - denseS[d]) / span;
+            xs[i] = denseX[d] + (denseX[d + 1] - denseX[d]) * t;
+            ys[i] = denseY[d] + (denseY[d + 1] - denseY[d]) * t;
+        }
+    }
+
+    // Point at parameter t of segment s, into out
+    private static void evaluate(Kind kind, boolean closed, double[] points, int n, int s, double t, double[] out) {
+        switch (kind) {
+            case LINEAR: {
+                int a = s, b = (s + 1) % n;
+                out[0] = points[2 * a] + (points[2 * b] - points[2 * a]) * t;
+                out[1] = points[2 * a + 1] + (points[2 * b + 1] - points[2 * a + 1]) * t;
+                break;
+            }
+            case BEZIER: {
+                int a = 3 * s;
+                int b = a + 1, c = a + 2, d = (a + 3) % n; // A closed path's last segment ends on the first point
+                double u = 1 - t;
+                double w0 = u * u * u, w1 = 3 * u * u * t, w2 = 3 * u * t * t, w3 = t * t * t;
+                out[0] = w0 * points[2 * a] + w1 * points[2 * b] + w2 * points[2 * c] + w3 * points[2 * d];
+                out[1] = w0 * points[2 * a + 1] + w1 * points[2 * b + 1] + w2 * points[2 * c + 1] + w3 * points[2 * d + 1];
+                break;
+            }
+            case CATMULL_ROM: {
+                // Neighbours wrap on a closed path; an open one repeats its end points
+                int b = s, c = (s + 1) % n;
+                int a = closed ? (s + n - 1) % n : Math.max(s - 1, 0);
+                int d = closed ? (s + 2) % n : Math.min(s + 2, n - 1);
+                double t2 = t * t, t3 = t2 * t;
+                for (int axis = 0; axis < 2; axis++) {
+                    double p0 = points[2 * a + axis], p1 = points[2 * b + axis];
+                    double p2 = points[2 * c + axis], p3 = points[2 * d + axis];
+                    out[axis] = 0.5 * (2 * p1 + (p2 - p0) * t + (2 * p0 - 5 * p1 + 4 * p2 - p3) * t2
+                            + (3 * p1 - p0 - 3 * p2 + p3) * t3);
+                }
+                break;
+            }
+        }
+    }
+
+    double length() {
+        return length;
+    }
+
+    // Distance after which the motion repeats: once around a closed path, there and back on an open one
+    double period() {
+        return closed ? length : 2 * length;
+    }
+
+    // Position at distance along the period into out[0], out[1] and the unit direction of travel into
+    // out[2], out[3]
+    void sample(double distance, double[] out) {
+        double s = distance;
+        double direction = 1;
+        if (!closed && s > length) { // On the way back
+            s = 2 * length - s;
+            direction = -1;
+        }
+        double f = step == 0 ? 0 : s / step;
+        int i = Math.min(Math.max((int) f, 0), xs.length - 2);
+        double t = f - i;
+        out[0] = xs[i] + (xs[i + 1] - xs[i]) * t;
+        out[1] = ys[i] + (ys[i + 1] - ys[i]) * t;
+        double dx = xs[i + 1] - xs[i], dy = ys[i + 1] - ys[i];
+        double len = Math.sqrt(dx * dx + dy * dy);
+        out[2] = len == 0 ? 0 : direction * dx / len;
+        out[3] = len == 0 ? 0 : direction * dy / len;
+    }
+}
@@ -0,0 +1,29 @@
+package com.binge;
+
+import javafx.scene.layout.Pane;
+
+// A projectile a launcher asked for during its update. The actual HomingLaserProjectile (and its node)
+// is only created once the update phase is over, so launchers never touch the pane from a worker thread.
+class ProjectileSpawn {
+    final Pane pane;
+    final double x, y;
+    final double dirX, dirY;
+    final double speed, turnRateDeg, lifespan;
+
+    ProjectileSpawn(Pane pane, double x, double y, double dirX, double dirY,
+                    double speed, double turnRateDeg, double lifespan) {
+        this.pane = pane;
+        this.x = x;
+        this.y = y;
+        this.dirX = dirX;
+        this.dirY = dirY;
+        this.speed = speed;
+        this.turnRateDeg = turnRateDeg;
+        this.lifespan = lifespan;
+    }
+
+    HomingLaserProjectile spawn(Character target) {
+        return new HomingLaserProjectile(pane, new Point2D(x, y), new Point2D(dirX, dirY),
+                speed, turnRateDeg, lifespan, target);
+    }
+}
@@ -0,0 +1,148 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// Ray queries against a sublevel's collision world: its static solids (circles, oriented rectangles,
+// closed locks) through the Broadphase grid, so a query costs what the ray crosses, its moving platforms
+// where the last update phase left them (MovingPlatform.settle), and optionally the beams of lasers that
+// are on. Platforms and beams are tested one by one since a sublevel has only a handful.
+// Queries only read the world. With beams excluded they are safe from ObstacleUpdater workers during
+// the update phase (turrets aiming); with beams they belong after it, when lasers have settled.
+public class RayCast {
+
+    // First hit of a query, reused by the caller so a query allocates nothing
+    static class Hit {
+        double distance;          // Along the ray, maxDist when nothing was hit
+        double normalX, normalY;  // Surface normal at the hit, facing the ray
+        Obstacle obstacle;        // null when nothing was hit
+    }
+
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[4]);
+
+    // What castAll reuses on each thread: its Hit and the beams of the sublevel, read once per batch
+    private static final class Batch {
+        final Hit hit = new Hit();
+        final double[] scratch = new double[4];
+        double[] beams = new double[16]; // x0, y0, x1, y1 per beam
+        Obstacle[] beamOwners = new Obstacle[4];
+        int beamCount;
+    }
+
+    private static final ThreadLocal<Batch> BATCH = ThreadLocal.withInitial(Batch::new);
+
+    // Ray from (ox, oy) along the unit direction (dirX, dirY), up to maxDist. true if something was hit.
+    static boolean cast(Sublevel sublevel, double ox, double oy, double dirX, double dirY, double maxDist,
+                        boolean beams, Hit out) {
+        double[] scratch = SCRATCH.get();
+        Broadphase broadphase = sublevel.broadphase();
+        castSolids(broadphase, ox, oy, dirX, dirY, maxDist, -1, out, scratch);
+        if (beams) {
+            for (Obstacle obs : broadphase.dynamic) {
+                if (obs.beamSegment(scratch)) hitBeam(obs, scratch[0], scratch[1], scratch[2], scratch[3], ox, oy, dirX, dirY, out);
+            }
+        }
+        return out.obstacle != null;
+    }
+
+    // Static solids through the grid, then the moving ones
+    private static void castSolids(Broadphase broadphase, double ox, double oy, double dirX, double dirY,
+                                   double maxDist, int ball, Hit out, double[] scratch) {
+        int solid = broadphase.raycast(ox, oy, dirX, dirY, maxDist, scratch, ball);
+        out.distance = scratch[0];
+        out.obstacle = null;
+        if (solid >= 0) {
+            out.obstacle = broadphase.solids[solid];
+            if (out.distance == 0) { // Started inside, push straight back
+                out.normalX = -dirX;
+                out.normalY = -dirY;
+            } else {
+                out.obstacle.surfaceNormal(ox + dirX * out.distance, oy + dirY * out.distance, scratch);
+                out.normalX = scratch[0];
+                out.normalY = scratch[1];
+            }
+        }
+        for (Obstacle obs : broadphase.kinematic) {
+            double t = obs.rayDistance(ox, oy, dirX, dirY);
+            if (t >= out.distance) continue;
+            out.distance = t;
+            out.obstacle = obs;
+            if (t == 0) {
+                out.normalX = -dirX;
+                out.normalY = -dirY;
+            } else {
+                obs.surfaceNormal(ox + dirX * t, oy + dirY * t, scratch);
+                out.normalX = scratch[0];
+                out.normalY = scratch[1];
+            }
+        }
+    }
+
+    // The beam from (x0, y0) to (x1, y1) if the ray crosses it before out's hit
+    private static void hitBeam(Obstacle obs, double x0, double y0, double x1, double y1,
+                                double ox, double oy, double dirX, double dirY, Hit out) {
+        double ex = x1 - x0, ey = y1 - y0;
+        double denom = dirX * ey - dirY * ex;
+        if (Math.abs(denom) < 1e-12) return; // Parallel, a zero-width beam can't be hit edge-on
+        double ax = x0 - ox, ay = y0 - oy;
+        double t = (ax * ey - ay * ex) / denom;
+        double u = (ax * dirY - ay * dirX) / denom;
+        if (t < 0 || t >= out.distance || u < 0 || u > 1) return;
+        out.distance = t;
+        out.obstacle = obs;
+        double len = Math.sqrt(ex * ex + ey * ey);
+        double side = denom > 0 ? -1 : 1; // Of the two perpendiculars, the one facing the origin
+        out.normalX = side * ey / len;
+        out.normalY = -side * ex / len;
+    }
+
+    // Whether nothing solid lies between the two points. Beams don't block sight.
+    static boolean lineOfSight(Sublevel sublevel, double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0, dy = y1 - y0;
+        double len = Math.sqrt(dx * dx + dy * dy);
+        if (len == 0) return true;
+        double[] scratch = SCRATCH.get();
+        Broadphase broadphase = sublevel.broadphase();
+        if (broadphase.raycast(x0, y0, dx / len, dy / len, len, scratch) >= 0) return false;
+        for (Obstacle obs : broadphase.kinematic) {
+            if (obs.rayDistance(x0, y0, dx / len, dy / len) < len) return false;
+        }
+        return true;
+    }
+
+    // Batch for sensors: rays[4i..4i+3] is origin and unit direction of ray i, out[3i..3i+2] receives the
+    // distance (maxDist on a miss) and normal, hits[i] the obstacle or null. hits may be null.
+    // Allocates nothing once the thread has run a batch; the beams are read once for all the rays.
+    // ball is whose locks are open (see Key.opensFor), -1 for the level's own state.
+    static void castAll(Sublevel sublevel, double[] rays, int count, double maxDist, boolean beams, int ball,
+                        double[] out, Obstacle[] hits) {
+        Batch batch = BATCH.get();
+        Broadphase broadphase = sublevel.broadphase();
+        batch.beamCount = 0;
+        if (beams) {
+            for (Obstacle obs : broadphase.dynamic) {
+                if (!obs.beamSegment(batch.scratch)) continue;
+                if (batch.beamCount == batch.beamOwners.length) {
+                    batch.beamOwners = Arrays.copyOf(batch.beamOwners, batch.beamCount * 2);
+                    batch.beams = Arrays.copyOf(batch.beams, batch.beamCount * 8);
+                }
+                System.arraycopy(batch.scratch, 0, batch.beams, 4 * batch.beamCount, 4);
+                batch.beamOwners[batch.beamCount++] = obs;
+            }
+        }
+        Hit hit = batch.hit;
+        double[] b = batch.beams;
+        for (int i = 0; i < count; i++) {
+            double ox = rays[4 * i], oy = rays[4 * i + 1], dirX = rays[4 * i + 2], dirY = rays[4 * i + 3];
+            castSolids(broadphase, ox, oy, dirX, dirY, maxDist, ball, hit, batch.scratch);
+            for (int k = 0; k < batch.beamCount; k++) {
+                hitBeam(batch.beamOwners[k], b[4 * k], b[4 * k + 1], b[4 * k + 2], b[4 * k + 3], ox, oy, dirX, dirY, hit);
+            }
+            out[3 * i] = hit.distance;
+            out[3 * i + 1] = hit.normalX;
+            out[3 * i + 2] = hit.normalY;
+            if (hits != null) hits[i] = hit.obstacle;
+        }
+        hit.obstacle = null; // Don't keep a dropped sublevel's obstacles alive through the thread
+        Arrays.fill(batch.beamOwners, 0, batch.beamCount, null);
+    }
+}
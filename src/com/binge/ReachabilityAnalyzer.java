@@ -0,0 +1,685 @@
+package com.binge;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32;
+
+import static com.binge.Main.*;
+
+// Offline reachability analysis for the .in stages:
+//   java -cp <classpath> com.binge.ReachabilityAnalyzer [--stages DIR] [--force] [--print]
+// Each sublevel is flood-filled over discretized ball states (position cell, velocity bucket, jumps used)
+// with a level-synchronous BFS. Every edge is a few ticks of the ball's physics from updateGamePhysics
+// (gravity, held input, jump impulse, double-jump rule, solid obstacle contacts, screen edges, drag)
+// under one input choice. Blinking lasers and launchers are timing hazards rather than geometry and are
+// ignored; fatal circles and rectangles end a path. Locks are solid until a pass reaches their key.
+//
+// Sublevels are analyzed in order, the right-edge exits of one seed the next. The result is cached as
+// <n>.reach next to <n>.in (ignored by git) and reused while the .in files it depends on are unchanged.
+public class ReachabilityAnalyzer {
+
+    static final int VERSION = 1;
+
+    // Discretization. 120 x 80 cells x 21 x 21 velocity buckets x 3 jump counts is ~12.7M states, a 1.6MB bitset.
+    static final int CELL = 10;
+    static final int NX = WINDOW_WIDTH / CELL, NY = WINDOW_HEIGHT / CELL;
+    static final double V_BUCKET = 100;
+    static final int NV = 2 * (int) (MAX_MOVE_SPEED / V_BUCKET) + 1;
+    static final int JUMPS = 3; // jumpCount 0, 1 or 2
+    static final int STATES = NX * NY * NV * NV * JUMPS;
+    static final int EXIT_STATES = NY * NV * NV * JUMPS;
+
+    static final int TICKS_PER_STEP = 6; // One BFS edge is 0.1s of held input, short enough to steer a jump
+    static final int CHUNK_SIZE = 2048;  // Frontier states per leaf task
+    static final double RADIUS = HeadlessStepper.CHARACTER_RADIUS;
+    static final double GRAPPLE_SPEED = 1000; // GrapplePoint.speed
+
+    private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // Outcome of one simulated step
+    static final int CONTINUE = 0, DEAD = 1, GOAL = 2, EXIT_LEFT = 3, EXIT_RIGHT = 4;
+
+    public static void main(String[] args) throws IOException {
+        String stagesDir = LevelValidator.DEFAULT_STAGES;
+        boolean force = false, print = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stages": stagesDir = args[++i]; break;
+                case "--force": force = true; break;
+                case "--print": print = true; break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        File[] stageDirs = new File(stagesDir).listFiles(File::isDirectory);
+        if (stageDirs == null) stageDirs = new File[0];
+        Arrays.sort(stageDirs);
+
+        int unreachable = 0;
+        for (File stageDir : stageDirs) {
+            for (Result r : analyzeStage(stageDir, force)) {
+                System.out.println(r.summary());
+                for (Target t : r.targets) {
+                    if (!t.reachable) {
+                        System.out.println("    UNREACHABLE " + t.describe());
+                        unreachable++;
+                    }
+                }
+                if (print) System.out.print(r.mapString());
+            }
+        }
+        System.exit(unreachable == 0 ? 0 : 1);
+    }
+
+    // Analyzes (or loads from cache) every sublevel of one stage directory, in order
+    static List<Result> analyzeStage(File stageDir, boolean force) throws IOException {
+        HeadlessStepper.init();
+        File[] files = PageLoader.sublevelFiles(stageDir);
+        List<Result> results = new ArrayList<>();
+        if (files == null || files.length == 0) return results;
+
+        Level level = null;
+        CRC32 crc = new CRC32();
+        crc.update(VERSION);
+        int[] entries = new int[0];
+        for (int n = 1; n <= files.length; n++) {
+            File in = files[n - 1];
+            crc.update(Files.readAllBytes(in.toPath()));
+            long checksum = crc.getValue();
+            File cache = new File(stageDir, in.getName().replace(".in", ".reach"));
+
+            Result result = force ? null : Result.read(cache, checksum);
+            if (result == null) {
+                if (level == null) level = PageLoader.buildLevel(stageDir.getPath() + File.separator, 0);
+                long start = System.nanoTime();
+                result = analyze(level, n, entries);
+                result.checksum = checksum;
+                result.millis = (System.nanoTime() - start) / 1_000_000;
+                result.write(cache);
+            }
+            result.file = in.getPath();
+            results.add(result);
+            entries = result.rightExits;
+        }
+        return results;
+    }
+
+    // Static geometry of one sublevel as the ball sees it
+    static class Geometry {
+        final int num, levelLength;
+        final Obstacle[] solids;    // CircleObstacle, RectangleObstacle or CutOffObstacle, in collision order
+        final GrapplePoint[] grapples;
+        final Goal goal;
+
+        Geometry(Level level, Sublevel sublevel, boolean[] openLocks) {
+            this.num = sublevel.num;
+            this.levelLength = level.levelLength;
+            List<Obstacle> solidList = new ArrayList<>();
+            for (Obstacle obs : sublevel.obstacles) {
+                if (obs instanceof CircleObstacle || obs instanceof RectangleObstacle || obs instanceof CutOffObstacle) solidList.add(obs);
+            }
+            for (int i = 0; i < sublevel.locks.size(); i++) {
+                if (!openLocks[i]) solidList.add(sublevel.locks.get(i));
+            }
+            this.solids = solidList.toArray(new Obstacle[0]);
+            List<GrapplePoint> grappleList = new ArrayList<>();
+            for (Displacer d : sublevel.displacers) {
+                if (d instanceof GrapplePoint gp) grappleList.add(gp);
+            }
+            this.grapples = grappleList.toArray(new GrapplePoint[0]);
+            this.goal = sublevel.goal;
+        }
+
+        double contact(Obstacle obs, double x, double y, double[] normal) {
+            return contact(obs, x, y, RADIUS, normal);
+        }
+
+        void reflect(Obstacle obs, double[] v, double nx, double ny) {
+            if (obs instanceof CircleObstacle circle) circle.reflect(v, nx, ny);
+            else if (obs instanceof CutOffObstacle cutOff) cutOff.reflect(v, nx, ny);
+            else ((RectangleObstacle) obs).reflect(v, nx, ny);
+        }
+
+        boolean insideSolid(double x, double y) {
+            double[] normal = new double[2];
+            for (Obstacle obs : solids) {
+                if (contact(obs, x, y, 0, normal) > 0) return true;
+            }
+            return false;
+        }
+
+        private double contact(Obstacle obs, double x, double y, double r, double[] normal) {
+            if (obs instanceof CircleObstacle circle) return circle.contact(x, y, r, normal);
+            if (obs instanceof CutOffObstacle cutOff) return cutOff.contact(x, y, r, normal);
+            return ((RectangleObstacle) obs).contact(x, y, r, normal);
+        }
+    }
+
+    // Mutable ball state for one worker, so stepping never allocates
+    static final class Body {
+        double x, y;
+        final double[] v = new double[2];
+        final double[] normal = new double[2];
+        int jumps;
+
+        void decode(int code) {
+            jumps = code % JUMPS;
+            code /= JUMPS;
+            int bvy = code % NV;
+            code /= NV;
+            int bvx = code % NV;
+            code /= NV;
+            int cy = code % NY;
+            int cx = code / NY;
+            x = (cx + 0.5) * CELL;
+            y = (cy + 0.5) * CELL;
+            v[0] = (bvx - NV / 2) * V_BUCKET;
+            v[1] = (bvy - NV / 2) * V_BUCKET;
+        }
+
+        int encode() {
+            int cx = clamp((int) Math.floor(x / CELL), NX);
+            int cy = clamp((int) Math.floor(y / CELL), NY);
+            return (((cx * NY + cy) * NV + velocityBucket(v[0])) * NV + velocityBucket(v[1])) * JUMPS + jumps;
+        }
+
+        // Where this body lands after crossing the right edge, as Main's wall transition places it
+        int encodeRightExit() {
+            int cy = clamp((int) Math.floor(y / CELL), NY);
+            return ((cy * NV + velocityBucket(v[0])) * NV + velocityBucket(v[1])) * JUMPS + jumps;
+        }
+
+        void decodeEntry(int exitCode) {
+            jumps = exitCode % JUMPS;
+            exitCode /= JUMPS;
+            int bvy = exitCode % NV;
+            exitCode /= NV;
+            int bvx = exitCode % NV;
+            int cy = exitCode / NV;
+            x = 1.5 * RADIUS + CELL / 2.0;
+            y = (cy + 0.5) * CELL;
+            v[0] = (bvx - NV / 2) * V_BUCKET;
+            v[1] = (bvy - NV / 2) * V_BUCKET;
+        }
+    }
+
+    static int velocityBucket(double v) {
+        return clamp((int) Math.round(v / V_BUCKET) + NV / 2, NV);
+    }
+
+    private static int clamp(int i, int n) {
+        return Math.max(0, Math.min(n - 1, i));
+    }
+
+    // TICKS_PER_STEP ticks of the ball half of Main.updateGamePhysics with the input held
+    static int simulate(Geometry g, Body b, int dir, boolean jump, boolean grapple) {
+        double dt = FIXED_PHYSICS_DT;
+        boolean impulse = false;
+        if (jump && b.jumps < 2) { // Same rule as Main.applyKey
+            b.jumps++;
+            impulse = true;
+        }
+        boolean grappleUsed = false; // GrapplePoint has a 1s cooldown, longer than one step
+
+        for (int tick = 0; tick < TICKS_PER_STEP; tick++) {
+            double[] v = b.v;
+            v[1] += GRAVITY * dt;
+            if (dir < 0 && v[0] > -NATURAL_SPEED_LIM) v[0] -= MOVE_ACCELERATION * dt;
+            if (dir > 0 && v[0] < NATURAL_SPEED_LIM) v[0] += MOVE_ACCELERATION * dt;
+            if (impulse) {
+                v[1] = JUMP_VELOCITY;
+                impulse = false;
+            }
+            v[0] = Math.max(-MAX_MOVE_SPEED, Math.min(v[0], MAX_MOVE_SPEED));
+            v[1] = Math.max(-MAX_MOVE_SPEED, Math.min(v[1], MAX_MOVE_SPEED));
+
+            boolean collided = false;
+            for (Obstacle obs : g.solids) {
+                double penetration = g.contact(obs, b.x + v[0] * dt, b.y + v[1] * dt, b.normal);
+                if (penetration > 0) {
+                    if (obs.fatal) return DEAD;
+                    collided = true;
+                    b.jumps = 0;
+                    b.x += b.normal[0] * (penetration + obs.epsilon);
+                    b.y += b.normal[1] * (penetration + obs.epsilon);
+                    g.reflect(obs, v, b.normal[0], b.normal[1]);
+                }
+            }
+
+            if (grapple && !grappleUsed) {
+                for (GrapplePoint gp : g.grapples) {
+                    double dx = gp.pos.x - b.x, dy = gp.pos.y - b.y;
+                    double dist = Math.sqrt(dx * dx + dy * dy);
+                    if (dist < gp.radius && dist > 0) {
+                        v[0] = dx / dist * GRAPPLE_SPEED;
+                        v[1] = dy / dist * GRAPPLE_SPEED;
+                        grappleUsed = true;
+                        break;
+                    }
+                }
+            }
+
+            if (!collided) {
+                b.x += v[0] * dt;
+                b.y += v[1] * dt;
+            }
+
+            if (b.y + RADIUS > WINDOW_HEIGHT) {
+                b.y = WINDOW_HEIGHT - RADIUS;
+                if (v[1] > 0) v[1] = -v[1] * BOUNDARY_RESTITUTION;
+                b.jumps = 0;
+            }
+            if (b.y - RADIUS < 0) {
+                b.y = RADIUS;
+                if (v[1] < 0) v[1] = -v[1] * BOUNDARY_RESTITUTION;
+            }
+            if (b.x - RADIUS < 0) {
+                if (g.num > 1) return EXIT_LEFT;
+                b.x = RADIUS;
+                if (v[0] < 0) v[0] = -v[0] * BOUNDARY_RESTITUTION;
+            }
+            if (b.x + RADIUS > WINDOW_WIDTH) {
+                if (g.num < g.levelLength) return EXIT_RIGHT;
+                b.x = WINDOW_WIDTH - RADIUS;
+                if (v[0] > 0) v[0] = -v[0] * BOUNDARY_RESTITUTION;
+            }
+
+            if (!collided) {
+                v[0] *= 1.0 - AIR_DRAG * dt;
+                v[1] *= 1.0 - AIR_DRAG * dt;
+            }
+
+            if (g.goal != null && g.goal.overlapsCircle(b.x, b.y, RADIUS)) return GOAL;
+        }
+        return CONTINUE;
+    }
+
+    // Shared state of one flood fill
+    static class Search {
+        final Geometry geometry;
+        final AtomicLongArray visited = new AtomicLongArray((STATES + 63) / 64);
+        final AtomicLongArray rightExits = new AtomicLongArray((EXIT_STATES + 63) / 64);
+        volatile boolean goalReached, leftExitReached, rightExitReached;
+
+        Search(Geometry geometry) {
+            this.geometry = geometry;
+        }
+
+        // Expands one state into the next frontier, appending newly visited codes to out
+        void expand(Body b, int code, IntList out) {
+            int grappleOptions = geometry.grapples.length > 0 ? 2 : 1;
+            for (int dir = -1; dir <= 1; dir++) {
+                for (int jump = 0; jump < 2; jump++) {
+                    for (int grapple = 0; grapple < grappleOptions; grapple++) {
+                        b.decode(code);
+                        if (jump == 1 && b.jumps >= 2) continue;
+                        switch (simulate(geometry, b, dir, jump == 1, grapple == 1)) {
+                            case CONTINUE:
+                                int next = b.encode();
+                                if (testAndSet(visited, next)) out.add(next);
+                                break;
+                            case GOAL:
+                                goalReached = true;
+                                break;
+                            case EXIT_LEFT:
+                                leftExitReached = true;
+                                break;
+                            case EXIT_RIGHT:
+                                rightExitReached = true;
+                                testAndSet(rightExits, b.encodeRightExit());
+                                break;
+                            default:
+                                break; // DEAD
+                        }
+                    }
+                }
+            }
+        }
+
+        int run(int[] seeds) {
+            int[] frontier = seeds;
+            int states = 0;
+            while (frontier.length > 0) {
+                states += frontier.length;
+                int chunks = (frontier.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                int[][] outputs = new int[chunks][];
+                pool.invoke(new ExpandRange(this, frontier, outputs, 0, chunks));
+
+                int total = 0;
+                for (int[] o : outputs) total += o.length;
+                int[] next = new int[total];
+                int at = 0;
+                for (int[] o : outputs) {
+                    System.arraycopy(o, 0, next, at, o.length);
+                    at += o.length;
+                }
+                frontier = next;
+            }
+            return states;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class ExpandRange extends RecursiveAction {
+        final Search search;
+        final int[] frontier;
+        final int[][] outputs;
+        final int from, to; // Chunk indices
+
+        ExpandRange(Search search, int[] frontier, int[][] outputs, int from, int to) {
+            this.search = search;
+            this.frontier = frontier;
+            this.outputs = outputs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                Body b = new Body();
+                IntList out = new IntList();
+                int end = Math.min(frontier.length, to * CHUNK_SIZE);
+                for (int i = from * CHUNK_SIZE; i < end; i++) search.expand(b, frontier[i], out);
+                outputs[from] = out.toArray();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ExpandRange(search, frontier, outputs, from, mid),
+                    new ExpandRange(search, frontier, outputs, mid, to));
+        }
+    }
+
+    static boolean testAndSet(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long old;
+        do {
+            old = bits.get(word);
+            if ((old & mask) != 0) return false;
+        } while (!bits.compareAndSet(word, old, old | mask));
+        return true;
+    }
+
+    static class IntList {
+        int[] data = new int[64];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    // Something a designer placed that the ball should be able to touch
+    static class Target {
+        final String kind;
+        final double x, y;
+        boolean reachable;
+
+        Target(String kind, double x, double y) {
+            this.kind = kind;
+            this.x = x;
+            this.y = y;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT, "%s (%.0f,%.0f)", kind, x, y);
+        }
+    }
+
+    static Result analyze(Level level, int num, int[] entries) {
+        Sublevel sublevel = level.sublevels.get(num - 1);
+        boolean[] openLocks = new boolean[sublevel.locks.size()];
+
+        // Seeds: the stage start for the first sublevel, otherwise whatever came through the right edge
+        // of the previous one. The checkpoint only matters once reached, revive() returns there.
+        Body b = new Body();
+        IntList seeds = new IntList();
+        boolean entered = num == 1 || entries.length > 0;
+        if (num == 1 || entries.length == 0) {
+            Point2D start = LevelValidator.respawnPoint(sublevel);
+            b.x = start.x;
+            b.y = start.y;
+            seeds.add(b.encode());
+        }
+        Geometry closed = new Geometry(level, sublevel, openLocks);
+        for (int exit : entries) {
+            b.decodeEntry(exit);
+            if (!closed.insideSolid(b.x, b.y)) seeds.add(b.encode()); // Arriving inside a wall ends there
+        }
+
+        // Re-run with more locks open until no pass reaches a new key
+        Search search;
+        int states;
+        while (true) {
+            search = new Search(new Geometry(level, sublevel, openLocks));
+            int[] start = Arrays.stream(seeds.toArray()).distinct().toArray();
+            for (int s : start) testAndSet(search.visited, s);
+            states = search.run(start);
+
+            boolean opened = false;
+            boolean[] cells = reachedCells(search.visited);
+            for (int i = 0; i < openLocks.length; i++) {
+                Key key = sublevel.locks.get(i).key;
+                if (!openLocks[i] && anyCell(cells, (x, y) -> key.overlapsCircle(x, y, RADIUS + CELL / 2.0))) {
+                    openLocks[i] = true;
+                    opened = true;
+                }
+            }
+            if (!opened) break;
+        }
+
+        Result result = new Result();
+        result.num = num;
+        result.entered = entered;
+        result.states = states;
+        result.goalReached = search.goalReached;
+        result.leftExitReached = search.leftExitReached;
+        result.rightExitReached = search.rightExitReached;
+        result.rightExits = setBits(search.rightExits, EXIT_STATES);
+
+        boolean[] cells = reachedCells(search.visited);
+        Geometry geometry = search.geometry;
+        result.map = new char[NY][NX];
+        for (int cy = 0; cy < NY; cy++) {
+            for (int cx = 0; cx < NX; cx++) {
+                double x = (cx + 0.5) * CELL, y = (cy + 0.5) * CELL;
+                result.map[cy][cx] = cells[cx * NY + cy] ? '#' : geometry.insideSolid(x, y) ? 'X' : '.';
+            }
+        }
+
+        // Touching a target from anywhere inside a reached cell counts, hence the half-cell slack
+        double slack = RADIUS + CELL / 2.0;
+        if (sublevel.checkpoint != null) {
+            Checkpoint cp = sublevel.checkpoint;
+            result.addTarget("Checkpoint", cp.pos, anyCell(cells, (x, y) -> cp.overlapsCircle(x, y, slack)));
+        }
+        for (Collectible item : sublevel.items) {
+            double reach = item.radius + slack;
+            result.addTarget(item.getClass().getSimpleName(), item.pos,
+                    anyCell(cells, (x, y) -> sq(x - item.pos.x) + sq(y - item.pos.y) < reach * reach));
+        }
+        for (Lock lock : sublevel.locks) {
+            result.addTarget("Key", lock.key.pos, anyCell(cells, (x, y) -> lock.key.overlapsCircle(x, y, slack)));
+        }
+        for (GrapplePoint gp : geometry.grapples) {
+            double reach = gp.radius + CELL / 2.0;
+            result.addTarget("GrapplePoint", gp.pos,
+                    anyCell(cells, (x, y) -> sq(x - gp.pos.x) + sq(y - gp.pos.y) < reach * reach));
+        }
+        if (sublevel.goal != null) {
+            result.addTarget("Goal", sublevel.goal.pos, search.goalReached);
+        }
+        return result;
+    }
+
+    private static double sq(double v) {
+        return v * v;
+    }
+
+    interface CellTest {
+        boolean test(double x, double y);
+    }
+
+    private static boolean anyCell(boolean[] cells, CellTest test) {
+        for (int cx = 0; cx < NX; cx++) {
+            for (int cy = 0; cy < NY; cy++) {
+                if (cells[cx * NY + cy] && test.test((cx + 0.5) * CELL, (cy + 0.5) * CELL)) return true;
+            }
+        }
+        return false;
+    }
+
+    // Position cells with at least one visited state
+    private static boolean[] reachedCells(AtomicLongArray visited) {
+        boolean[] cells = new boolean[NX * NY];
+        int statesPerCell = NV * NV * JUMPS;
+        for (int w = 0; w < visited.length(); w++) {
+            long word = visited.get(w);
+            while (word != 0) {
+                int code = (w << 6) + Long.numberOfTrailingZeros(word);
+                cells[code / statesPerCell] = true;
+                word &= word - 1;
+            }
+        }
+        return cells;
+    }
+
+    private static int[] setBits(AtomicLongArray bits, int limit) {
+        IntList out = new IntList();
+        for (int w = 0; w < bits.length(); w++) {
+            long word = bits.get(w);
+            while (word != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (index < limit) out.add(index);
+                word &= word - 1;
+            }
+        }
+        return out.toArray();
+    }
+
+    // Reachability of one sublevel, cached as a small text file
+    static class Result {
+        String file;
+        int num;
+        long checksum;
+        long millis;
+        boolean entered;
+        int states;
+        boolean goalReached, leftExitReached, rightExitReached;
+        int[] rightExits = new int[0];
+        final List<Target> targets = new ArrayList<>();
+        char[][] map; // [row][column]: '#' reached, 'X' solid, '.' never reached
+
+        void addTarget(String kind, Point2D pos, boolean reachable) {
+            Target t = new Target(kind, pos.x, pos.y);
+            t.reachable = reachable;
+            targets.add(t);
+        }
+
+        boolean reachable(double x, double y) {
+            int cx = (int) (x / CELL), cy = (int) (y / CELL);
+            return cx >= 0 && cx < NX && cy >= 0 && cy < NY && map[cy][cx] == '#';
+        }
+
+        String summary() {
+            long reached = targets.stream().filter(t -> t.reachable).count();
+            return String.format(Locale.ROOT, "%s: %s, %d states, targets %d/%d, exits left=%s right=%s (%d entries), %s",
+                    file, entered ? "entered" : "NOT ENTERED from previous sublevel", states, reached, targets.size(),
+                    leftExitReached, rightExitReached, rightExits.length,
+                    millis < 0 ? "cached" : millis + " ms");
+        }
+
+        String mapString() {
+            StringBuilder sb = new StringBuilder();
+            for (char[] row : map) sb.append(row).append('\n');
+            return sb.toString();
+        }
+
+        void write(File file) throws IOException {
+            try (PrintWriter out = new PrintWriter(file)) {
+                out.println("# Generated by ReachabilityAnalyzer, do not edit. Rebuilt when the .in files change.");
+                out.println("version " + VERSION);
+                out.println("checksum " + Long.toHexString(checksum));
+                out.println("cell " + CELL);
+                out.println("entered " + entered);
+                out.println("states " + states);
+                out.println("goal " + goalReached);
+                out.println("exits " + leftExitReached + " " + rightExitReached);
+                StringBuilder entries = new StringBuilder("entries");
+                for (int e : rightExits) entries.append(' ').append(e);
+                out.println(entries);
+                for (Target t : targets) {
+                    out.printf(Locale.ROOT, "target %s %.1f %.1f %s%n", t.kind, t.x, t.y, t.reachable);
+                }
+                out.println("map " + NX + " " + NY);
+                out.print(mapString());
+            }
+        }
+
+        // null if the cache is missing, stale or from another analyzer version
+        static Result read(File file, long checksum) {
+            if (!file.isFile()) return null;
+            try {
+                List<String> lines = Files.readAllLines(file.toPath());
+                Result r = new Result();
+                r.millis = -1;
+                int row = -1;
+                for (String line : lines) {
+                    if (row >= 0) {
+                        if (row < NY) r.map[row++] = line.toCharArray();
+                        continue;
+                    }
+                    String[] t = line.split(" ");
+                    switch (t[0]) {
+                        case "version": if (Integer.parseInt(t[1]) != VERSION) return null; break;
+                        case "checksum": if (Long.parseLong(t[1], 16) != checksum) return null; r.checksum = checksum; break;
+                        case "cell": if (Integer.parseInt(t[1]) != CELL) return null; break;
+                        case "entered": r.entered = Boolean.parseBoolean(t[1]); break;
+                        case "states": r.states = Integer.parseInt(t[1]); break;
+                        case "goal": r.goalReached = Boolean.parseBoolean(t[1]); break;
+                        case "exits":
+                            r.leftExitReached = Boolean.parseBoolean(t[1]);
+                            r.rightExitReached = Boolean.parseBoolean(t[2]);
+                            break;
+                        case "entries":
+                            r.rightExits = new int[t.length - 1];
+                            for (int i = 1; i < t.length; i++) r.rightExits[i - 1] = Integer.parseInt(t[i]);
+                            break;
+                        case "target":
+                            Target target = new Target(t[1], Double.parseDouble(t[2]), Double.parseDouble(t[3]));
+                            target.reachable = Boolean.parseBoolean(t[4]);
+                            r.targets.add(target);
+                            break;
+                        case "map":
+                            r.map = new char[NY][];
+                            row = 0;
+                            break;
+                        default:
+                            break; // Comment
+                    }
+                }
+                return row == NY ? r : null;
+            } catch (IOException | RuntimeException e) {
+                return null; // Unreadable cache is simply rebuilt
+            }
+        }
+    }
+}
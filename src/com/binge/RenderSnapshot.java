@@ -0,0 +1,157 @@
+package com.binge;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Shape;
+
+import java.util.ArrayList;
+
+// Everything the FX thread needs to draw one simulation step, copied out on the simulation thread.
+// Three of these rotate through SimulationThread.snapshots(); arrays only grow, so capturing is allocation-free
+// once a sublevel has been seen.
+class RenderSnapshot {
+    long tick;
+
+    double characterX, characterY;
+    int characterRadius;
+
+    // Every ball in the run, player included: body and x, y, radius back to back
+    Circle[] characterBodies = new Circle[4];
+    double[] characterStates = new double[12];
+    int characterCount;
+
+    // Grapple lines of this step, x0, y0, x1, y1 back to back
+    double[] grappleLines = new double[16];
+    int grappleCount;
+
+    // For the jump preview
+    Sublevel sublevel;
+    double characterVX;
+    int inputDirection, jumpCount;
+
+    // Obstacle visuals in the layout of Obstacle.captureVisuals, back to back
+    ArrayList<Obstacle> obstacles;
+    int obstacleCount;
+    double[] obstacleVisuals = new double[64];
+
+    // World x of the camera, when the stage is a World
+    double cameraX;
+    private final ArrayList<Obstacle> worldObstacles = new ArrayList<>();
+    private final ArrayList<HomingLaserProjectile> worldProjectiles = new ArrayList<>();
+
+    Shape[] projectileBodies = new Shape[16];
+    double[] projectilePositions = new double[32];
+    int projectileCount;
+
+    // Simulation thread
+    void capture(long tick, ArrayList<Character> characters, Sublevel sublevel, ArrayList<HomingLaserProjectile> projectiles) {
+        this.tick = tick;
+        Character c = characters.get(0);
+        this.characterX = c.pos.x;
+        this.characterY = c.pos.y;
+        this.characterRadius = c.radius;
+        this.sublevel = sublevel;
+        this.characterVX = c.v.x;
+        this.inputDirection = Main.inputDirection(c);
+        this.jumpCount = c.jumpCount;
+
+        characterCount = 0;
+        if (characterBodies.length < characters.size()) {
+            characterBodies = new Circle[characters.size() * 2];
+            characterStates = new double[characters.size() * 6];
+        }
+        for (int i = 0; i < characters.size(); i++) {
+            Character ball = characters.get(i);
+            if (!ball.inGame && ball != c) continue;
+            characterBodies[characterCount] = ball.body;
+            characterStates[3 * characterCount] = ball.pos.x;
+            characterStates[3 * characterCount + 1] = ball.pos.y;
+            characterStates[3 * characterCount + 2] = ball.radius;
+            characterCount++;
+        }
+
+        grappleCount = 0;
+        if (grappleLines.length < 4 * characters.size()) grappleLines = new double[characters.size() * 8];
+        for (int i = 0; i < characters.size(); i++) {
+            Character ball = characters.get(i);
+            if (ball.grapple == null) continue;
+            grappleLines[4 * grappleCount] = ball.grappleFromX;
+            grappleLines[4 * grappleCount + 1] = ball.grappleFromY;
+            grappleLines[4 * grappleCount + 2] = ball.grapple.pos.x;
+            grappleLines[4 * grappleCount + 3] = ball.grapple.pos.y;
+            grappleCount++;
+        }
+
+        ArrayList<Obstacle> obstacles = sublevel.obstacles;
+        if (World.enabled) { // The neighbouring chunks are simulated and may be on screen too
+            worldObstacles.clear();
+            worldProjectiles.clear();
+            World.collectSimulated(worldObstacles, worldProjectiles);
+            obstacles = worldObstacles;
+            projectiles = worldProjectiles;
+            cameraX = World.cameraX;
+        }
+
+        this.obstacles = obstacles;
+        this.obstacleCount = obstacles.size();
+        int slots = 0;
+        for (int i = 0; i < obstacleCount; i++) slots += obstacles.get(i).visualSlots();
+        if (obstacleVisuals.length < slots) obstacleVisuals = new double[slots * 2];
+        int offset = 0;
+        for (int i = 0; i < obstacleCount; i++) {
+            Obstacle obs = obstacles.get(i);
+            obs.captureVisuals(obstacleVisuals, offset);
+            offset += obs.visualSlots();
+        }
+
+        projectileCount = projectiles.size();
+        if (projectileBodies.length < projectileCount) {
+            projectileBodies = new Shape[projectileCount * 2];
+            projectilePositions = new double[projectileCount * 4];
+        }
+        for (int i = 0; i < projectileCount; i++) {
+            HomingLaserProjectile p = projectiles.get(i);
+            projectileBodies[i] = p.body;
+            projectilePositions[2 * i] = p.position.x;
+            projectilePositions[2 * i + 1] = p.position.y;
+        }
+    }
+
+    // FX thread
+    void apply() {
+        for (int i = 0; i < characterCount; i++) {
+            Circle body = characterBodies[i];
+            body.setCenterX(characterStates[3 * i]);
+            body.setCenterY(characterStates[3 * i + 1]);
+            body.setRadius(characterStates[3 * i + 2]);
+        }
+
+        if (obstacles != null) {
+            int offset = 0;
+            for (int i = 0; i < obstacleCount && i < obstacles.size(); i++) {
+                Obstacle obs = obstacles.get(i);
+                obs.applyVisuals(obstacleVisuals, offset);
+                offset += obs.visualSlots();
+            }
+        }
+
+        for (int i = 0; i < projectileCount; i++) {
+            if (projectileBodies[i] instanceof Circle circle) {
+                circle.setCenterX(projectilePositions[2 * i]);
+                circle.setCenterY(projectilePositions[2 * i + 1]);
+            }
+        }
+    }
+
+    // FX thread, after apply()
+    void drawGrappleLines(GraphicsContext gc) {
+        for (int i = 0; i < grappleCount; i++) {
+            Main.drawLine(gc, grappleLines[4 * i], grappleLines[4 * i + 1], grappleLines[4 * i + 2], grappleLines[4 * i + 3]);
+        }
+    }
+
+    // FX thread, after apply()
+    void drawTrajectory(GraphicsContext gc) {
+        TrajectoryPreview.draw(gc, sublevel, characterX, characterY, characterVX, inputDirection, characterRadius, jumpCount);
+    }
+}
@@ -0,0 +1,54 @@
+package com.binge;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+// The scene half of each outcome, registered by Main.start(). Runs on the FX thread.
+class SceneOutcomes implements OutcomeBus.Listener {
+
+    @Override
+    public void onOutcome(byte type, int actor, Object subject, double x, double y, int value) {
+        switch (type) {
+            case OutcomeBus.DEATH:
+                if (actor != 0) {
+                    // A companion: revived in place, or out of the run and off the screen
+                    if (value == 0) {
+                        Character companion = Main.characters.get(actor);
+                        if (companion.body.getParent() instanceof Pane parent) parent.getChildren().remove(companion.body);
+                    }
+                } else if (value == 1) {
+                    if (World.enabled) { // The viewport stays the root
+                        Main.showSublevel((Sublevel) subject);
+                        break;
+                    }
+                    Pane revivePane = ((Sublevel) subject).pane;
+                    revivePane.getChildren().remove(Main.canvas);
+                    revivePane.getChildren().add(Main.canvas);
+                    Main.addCharacterBodies(revivePane);
+                    Main.scene.setRoot(revivePane);
+                } else {
+                    Main.mainCanvasGc.clearRect(0, 0, Main.canvas.getWidth(), Main.canvas.getHeight());
+                    PageLoader.loadDeathPage();
+                }
+                break;
+            case OutcomeBus.COIN_COLLECTED:
+                Coin coin = (Coin) subject;
+                coin.hitbox.body.setFill(coin.hitbox.color);
+                coin.hitbox.body.setStroke(Color.TRANSPARENT);
+                break;
+            case OutcomeBus.CHECKPOINT_REACHED:
+                ((Checkpoint) subject).body.setFill(Checkpoint.REACHED_FILL);
+                break;
+            case OutcomeBus.GOAL_REACHED:
+                if (actor == 0) PageLoader.loadFinishPage(); // Companions just stop at the goal
+                break;
+            case OutcomeBus.KEY_COLLECTED:
+                Key key = (Key) subject;
+                key.body.setFill(Color.TRANSPARENT);
+                key.body.setStroke(Color.TRANSPARENT);
+                break;
+            default:
+                break;
+        }
+    }
+}
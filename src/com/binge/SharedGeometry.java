@@ -0,0 +1,49 @@
+package com.binge;
+
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+// Immutable geometry shared between obstacles built from identical lines: a CutOffObstacle's convex
+// pieces, a MovingPlatform's arc-length table. Copy-pasted lines are common in big levels, and a room
+// LeanMode rebuilds finds its geometry here instead of decomposing it again. Only data nothing writes
+// after construction goes in here; nodes never do, a node has one parent.
+// Cleared when a stage is loaded. Obstacles are built on the FX, simulation and StageWatcher threads.
+class SharedGeometry {
+
+    private static final HashMap<String, Object> shared = new HashMap<>();
+    private static int hits;
+
+    // The geometry for key, built by build the first time it is asked for
+    @SuppressWarnings("unchecked")
+    static synchronized <T> T intern(String key, Supplier<T> build) {
+        Object geometry = shared.get(key);
+        if (geometry != null) {
+            hits++;
+            return (T) geometry;
+        }
+        T fresh = build.get();
+        shared.put(key, fresh);
+        return fresh;
+    }
+
+    // Hands over what is held and starts empty, for HeapReport keeping one build's geometry alive
+    static synchronized Object drain() {
+        Object held = new HashMap<>(shared);
+        shared.clear();
+        return held;
+    }
+
+    static synchronized void clear() {
+        shared.clear();
+        hits = 0;
+    }
+
+    // Distinct geometries held, and how many builds reused one, for HeapReport
+    static synchronized int size() {
+        return shared.size();
+    }
+
+    static synchronized int hits() {
+        return hits;
+    }
+}
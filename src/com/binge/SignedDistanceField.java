@@ -0,0 +1,157 @@
+package com.binge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Optional baked distance field of a sublevel's static solids (circles, rectangles and cut-off shapes;
+// not locks, which open at runtime). Enabled with -Dbounce.sdf=true, baked by PageLoader on load.
+// A float grid of signed distances to the nearest solid surface, every CELL pixels, sampled bilinearly,
+// with normals from the gradient of the bilinear cell. Each sample also remembers which solid is
+// closest, so a contact still gets that solid's response (bounce, friction, fatal).
+// A ball is then resolved against every baked solid with one lookup and one push out of the union,
+// instead of one push per overlapping solid in load order.
+// Distances are only exact within BAND of a surface; further out they read as BAND, and balls too big
+// or too fast for that (see covers) are resolved obstacle by obstacle as before.
+public class SignedDistanceField {
+
+    static boolean enabled = Boolean.getBoolean("bounce.sdf");
+
+    static final int CELL = 4;
+    static final float BAND = 64;
+    static final int ROWS_PER_TASK = 16;
+
+    final int cols, rows;          // Samples, one more than cells on each axis
+    final float[] distance;        // Row-major
+    final short[] nearest;         // Index into solids, -1 beyond BAND
+    final Obstacle[] solids;
+
+    private SignedDistanceField(Obstacle[] solids) {
+        this.solids = solids;
+        this.cols = Main.WINDOW_WIDTH / CELL + 1;
+        this.rows = Main.WINDOW_HEIGHT / CELL + 1;
+        this.distance = new float[cols * rows];
+        this.nearest = new short[cols * rows];
+    }
+
+    // null when the sublevel has nothing to bake
+    static SignedDistanceField bake(Sublevel sublevel) {
+        List<Obstacle> list = new ArrayList<>();
+        for (Obstacle obs : sublevel.broadphase().solids) {
+            if (!(obs instanceof Lock)) list.add(obs);
+        }
+        if (list.isEmpty() || list.size() > Short.MAX_VALUE) return null;
+        SignedDistanceField field = new SignedDistanceField(list.toArray(new Obstacle[0]));
+        ForkJoinPool.commonPool().invoke(new BakeRows(field, 0, field.rows));
+        return field;
+    }
+
+    // Each solid writes the samples within BAND of its bounds, so a row range only visits nearby solids
+    private void bakeRows(int fromRow, int toRow) {
+        Arrays.fill(distance, fromRow * cols, toRow * cols, BAND);
+        Arrays.fill(nearest, fromRow * cols, toRow * cols, (short) -1);
+        double[] bounds = new double[4];
+        for (int s = 0; s < solids.length; s++) {
+            Obstacle obs = solids[s];
+            obs.solidBounds(bounds);
+            int minRow = Math.max(fromRow, (int) Math.floor((bounds[1] - BAND) / CELL));
+            int maxRow = Math.min(toRow - 1, (int) Math.ceil((bounds[3] + BAND) / CELL));
+            int minCol = Math.max(0, (int) Math.floor((bounds[0] - BAND) / CELL));
+            int maxCol = Math.min(cols - 1, (int) Math.ceil((bounds[2] + BAND) / CELL));
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minCol; c <= maxCol; c++) {
+                    int i = r * cols + c;
+                    double d = obs.signedDistance(c * CELL, r * CELL);
+                    if (d < distance[i]) {
+                        distance[i] = (float) d;
+                        nearest[i] = (short) s;
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class BakeRows extends RecursiveAction {
+        final SignedDistanceField field;
+        final int from, to;
+
+        BakeRows(SignedDistanceField field, int from, int to) {
+            this.field = field;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                field.bakeRows(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BakeRows(field, from, mid), new BakeRows(field, mid, to));
+        }
+    }
+
+    boolean bakes(Obstacle obs) {
+        for (Obstacle s : solids) {
+            if (s == obs) return true;
+        }
+        return false;
+    }
+
+    // Whether the field can resolve a ball of this radius moving this far in a tick
+    boolean covers(double radius, double displacement) {
+        return radius + displacement < BAND - CELL;
+    }
+
+    // Bilinear distance at (x, y); the gradient of the same cell goes to gradientOut when it isn't null
+    double sample(double x, double y, double[] gradientOut) {
+        double gx = Math.max(0, Math.min(cols - 1.001, x / CELL));
+        double gy = Math.max(0, Math.min(rows - 1.001, y / CELL));
+        int c = (int) gx, r = (int) gy;
+        double fx = gx - c, fy = gy - r;
+        int i = r * cols + c;
+        double d00 = distance[i], d10 = distance[i + 1];
+        double d01 = distance[i + cols], d11 = distance[i + cols + 1];
+        if (gradientOut != null) {
+            gradientOut[0] = ((d10 - d00) * (1 - fy) + (d11 - d01) * fy) / CELL;
+            gradientOut[1] = ((d01 - d00) * (1 - fx) + (d11 - d10) * fx) / CELL;
+        }
+        return (d00 * (1 - fx) + d10 * fx) * (1 - fy) + (d01 * (1 - fx) + d11 * fx) * fy;
+    }
+
+    // Closest baked solid to (x, y), null beyond BAND
+    Obstacle nearestSolid(double x, double y) {
+        int c = (int) Math.round(Math.max(0, Math.min(cols - 1, x / CELL)));
+        int r = (int) Math.round(Math.max(0, Math.min(rows - 1, y / CELL)));
+        short s = nearest[r * cols + c];
+        return s < 0 ? null : solids[s];
+    }
+
+    // The ball's predicted center against the whole field: one lookup, one push along the gradient,
+    // handed to the closest solid's response. Same contract as Obstacle.checkCollision.
+    boolean collide(Character c, double dt, double[] scratch) {
+        double px = c.pos.x + c.v.x * dt, py = c.pos.y + c.v.y * dt;
+        double d = sample(px, py, scratch);
+        if (d >= c.radius) return false;
+        Obstacle owner = nearestSolid(px, py);
+        if (owner == null) return false;
+        double len = Math.sqrt(scratch[0] * scratch[0] + scratch[1] * scratch[1]);
+        if (len < 1e-9) { // Flat spot deep inside or on a ridge, fall back to the solid's own surface
+            owner.surfaceNormal(px, py, scratch);
+        } else {
+            scratch[0] /= len;
+            scratch[1] /= len;
+        }
+        owner.handleCollision(c, new Point2D(scratch[0], scratch[1]), c.radius - d, dt);
+        return true;
+    }
+
+    // Whether a disc of radius r at (x, y) overlaps any baked solid, for projectiles
+    boolean overlaps(double x, double y, double r) {
+        return sample(x, y, null) < r;
+    }
+}
@@ -0,0 +1,81 @@
+package com.binge;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+// Optional mode (-Dbounce.simThread=true) where the world steps on its own thread at a fixed rate
+// instead of inside the Timeline handler, so page building, CSS and layout on the FX thread can't
+// stall physics.
+//   FX -> sim: key events through the lock-free InputQueue
+//   sim -> FX: a RenderSnapshot per step through a TripleBuffer, the FX thread draws only the latest
+//   sim -> FX: one-off scene changes (root swaps, fills, node add/remove) through runOnScene()
+public class SimulationThread {
+
+    static final boolean ENABLED = Boolean.getBoolean("bounce.simThread");
+    static final int MAX_CATCH_UP_STEPS = 5; // After a longer stall the clock is reset instead of fast-forwarding
+
+    static volatile boolean paused = false;
+
+    static final InputQueue input = new InputQueue(256);
+
+    // Main.start reads ENABLED on every launch, so the snapshots wait in a holder class that is only
+    // initialized once the thread runs
+    private static final class Snapshots {
+        static final TripleBuffer<RenderSnapshot> buffer =
+                new TripleBuffer<>(new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot());
+    }
+
+    static TripleBuffer<RenderSnapshot> snapshots() {
+        return Snapshots.buffer;
+    }
+
+    private static final ConcurrentLinkedQueue<Runnable> sceneEffects = new ConcurrentLinkedQueue<>();
+    private static Thread thread;
+
+    static boolean isSimulationThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    // Scene graph changes requested by the simulation. Runs immediately on the FX thread,
+    // otherwise queued for the next FX pulse. Meant for rare events, not per-tick work.
+    static void runOnScene(Runnable effect) {
+        if (Main.headless) return; // No scene to change
+        if (isSimulationThread()) {
+            sceneEffects.add(effect);
+        } else {
+            effect.run();
+        }
+    }
+
+    // FX thread
+    static void drainSceneEffects() {
+        Runnable effect;
+        while ((effect = sceneEffects.poll()) != null) {
+            effect.run();
+        }
+    }
+
+    static void start(Runnable step, double stepSecs) {
+        long stepNanos = (long) (stepSecs * 1_000_000_000L);
+        thread = new Thread(() -> {
+            long next = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                long now = System.nanoTime();
+                if (now < next) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                try {
+                    step.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Simulation step failed: " + e);
+                    e.printStackTrace();
+                }
+                next += stepNanos;
+                if (now - next > MAX_CATCH_UP_STEPS * stepNanos) next = now;
+            }
+        }, "bounce-simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -32,6 +32,7 @@ public class SpinningLaserObstacle extends Obstacle {
     double maxThickness;
     double pulseDuration; // Time for one full pulse cycle
     double pulseTimer;    // Timer for the pulse cycle
+    double visualThickness; // Stroke width computed by update(), applied in syncVisuals()
 
     public SpinningLaserObstacle(Pane pane, Point2D pivot, double length,
                                  double initialAngleDegrees, double rotationSpeedDegrees,
@@ -86,6 +87,7 @@ public class SpinningLaserObstacle extends Obstacle {
             this.currentEndPoint.getX(), this.currentEndPoint.getY()
         );
         lineBody.setStrokeWidth(this.thickness); // Use class field thickness for initial/base
+        this.visualThickness = this.thickness;
         lineBody.setStroke(this.onColor);    // Use class field onColor
         lineBody.setVisible(this.isOn);
 
@@ -97,13 +99,7 @@ public class SpinningLaserObstacle extends Obstacle {
     public void update(double deltaTime) {
         // 1. Blinking Logic (from existing update)
         timer = (timer + deltaTime) % cycleDuration;
-        boolean newIsOn = (timer < onDuration);
-        if (newIsOn != isOn) {
-            isOn = newIsOn;
-            if (this.body != null) {
-                this.body.setVisible(isOn);
-            }
-        }
+        isOn = (timer < onDuration);
 
         // 2. Rotation Logic (from existing update)
         currentAngleRadians += rotationSpeedRadians * deltaTime;
@@ -118,26 +114,63 @@ public class SpinningLaserObstacle extends Obstacle {
             this.pivotPoint.getX() - halfLength * cosAngle,
             this.pivotPoint.getY() - halfLength * sinAngle
         );
-        if (this.body instanceof Line) {
-            Line lineBody = (Line) this.body;
-            lineBody.setStartX(this.currentStartPoint.getX());
-            lineBody.setStartY(this.currentStartPoint.getY());
-            lineBody.setEndX(this.currentEndPoint.getX());
-            lineBody.setEndY(this.currentEndPoint.getY());
-
-            // 3. Pulsing logic (NEW - applied to the lineBody obtained above)
-            if (this.isOn && this.isPulsing) {
-                pulseTimer = (pulseTimer + deltaTime) % pulseDuration;
-                double pulseProgressRatio = pulseTimer / pulseDuration;
-                double wave = 0.5 * (1 - Math.cos(pulseProgressRatio * 2 * Math.PI));
-                double currentVisualThickness = this.minThickness + (this.maxThickness - this.minThickness) * wave;
-                lineBody.setStrokeWidth(currentVisualThickness);
-            } else {
-                lineBody.setStrokeWidth(this.thickness); // Set to base thickness
-            }
+
+        // 3. Pulsing logic
+        if (this.isOn && this.isPulsing && FrameBudget.pulseAnimationEnabled()) {
+            pulseTimer = (pulseTimer + deltaTime) % pulseDuration;
+            double pulseProgressRatio = pulseTimer / pulseDuration;
+            double wave = 0.5 * (1 - Math.cos(pulseProgressRatio * 2 * Math.PI));
+            visualThickness = this.minThickness + (this.maxThickness - this.minThickness) * wave;
+        } else {
+            visualThickness = this.thickness; // Set to base thickness
         }
     }
 
+    // Blink timer and angle are linear in time, one long update is exact
+    @Override
+    void fastForward(double seconds) {
+        update(seconds);
+        currentAngleRadians %= 2 * Math.PI;
+    }
+
+    @Override
+    int visualSlots() {
+        return 6;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = isOn ? 1 : 0;
+        out[offset + 1] = this.currentStartPoint.getX();
+        out[offset + 2] = this.currentStartPoint.getY();
+        out[offset + 3] = this.currentEndPoint.getX();
+        out[offset + 4] = this.currentEndPoint.getY();
+        out[offset + 5] = visualThickness;
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        if (this.body == null) return;
+        this.body.setVisible(in[offset] != 0);
+        if (this.body instanceof Line lineBody) {
+            lineBody.setStartX(in[offset + 1]);
+            lineBody.setStartY(in[offset + 2]);
+            lineBody.setEndX(in[offset + 3]);
+            lineBody.setEndY(in[offset + 4]);
+            lineBody.setStrokeWidth(in[offset + 5]);
+        }
+    }
+
+    @Override
+    boolean beamSegment(double[] out) {
+        if (!isOn) return false;
+        out[0] = currentStartPoint.x;
+        out[1] = currentStartPoint.y;
+        out[2] = currentEndPoint.x;
+        out[3] = currentEndPoint.y;
+        return true;
+    }
+
     @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
         if (!isOn) {
@@ -15,6 +15,8 @@ public class SpiralMissileLauncherObstacle extends Obstacle {
         COOLDOWN
     }
 
+    private static final SpiralLauncherState[] STATES = SpiralLauncherState.values(); // Cached, values() copies on every call
+
     // Launcher Properties
     Point2D emitterPosition;
     double currentAngleRadians; // Used for initial aim and during spiral
@@ -107,13 +109,14 @@ public class SpiralMissileLauncherObstacle extends Obstacle {
         timeSinceLastShot += deltaTime; // Timer for firing interval
 
         Point2D playerPos = null;
-        if (Main.character != null && Main.character.pos != null) {
-            playerPos = Main.character.pos;
+        Character target = Main.nearestCharacter(emitterPosition.getX(), emitterPosition.getY()); // Nearest ball in the run
+        // Only a ball the launcher can see counts, behind a wall it is as good as gone
+        if (target != null && RayCast.lineOfSight(Main.currentSublevel, emitterPosition.x, emitterPosition.y, target.pos.x, target.pos.y)) {
+            playerPos = target.pos;
         }
 
         switch (currentState) {
             case IDLE:
-                this.emitterBody.setFill(SPIRAL_IDLE_COLOR);
                 if (playerPos != null && emitterPosition.distanceSquared(playerPos) < detectionRangeSq) {
                     currentState = SpiralLauncherState.AIMING_TARGET_POSITION;
                     stateTimerSecs = 0.0;
@@ -122,7 +125,6 @@ public class SpiralMissileLauncherObstacle extends Obstacle {
                 break;
 
             case AIMING_TARGET_POSITION:
-                this.emitterBody.setFill(SPIRAL_AIMING_COLOR);
                 if (playerPos == null || emitterPosition.distanceSquared(playerPos) > detectionRangeSq) {
                     currentState = SpiralLauncherState.IDLE; // Player lost or out of range
                     stateTimerSecs = 0.0;
@@ -155,25 +157,21 @@ public class SpiralMissileLauncherObstacle extends Obstacle {
                 break;
 
             case FIRING_SPIRAL:
-                this.emitterBody.setFill(SPIRAL_FIRING_COLOR);
 
                 // Continuous rotation during spiral
                 currentAngleRadians += spiralRotationSpeedRadPerSec * deltaTime;
                 currentAngleRadians = (currentAngleRadians + 2 * Math.PI) % (2 * Math.PI); // Normalize angle
 
                 if (timeSinceLastShot >= fireIntervalSecs) {
-                    Point2D initialDir = new Point2D(Math.cos(currentAngleRadians), Math.sin(currentAngleRadians));
-
-                    HomingLaserProjectile projectile = new HomingLaserProjectile(
+                    // Projectiles are homing, the target is attached when the spawn is drained
+                    queueProjectile(new ProjectileSpawn(
                             this.obstaclePane,
-                            new Point2D(this.emitterPosition.getX(), this.emitterPosition.getY()),
-                            initialDir,
+                            this.emitterPosition.getX(), this.emitterPosition.getY(),
+                            Math.cos(currentAngleRadians), Math.sin(currentAngleRadians),
                             this.projectileSpeed,
                             this.projectileTurnRateDeg,
-                            this.projectileLifespanSecs,
-                            Main.character // Projectiles are homing
-                    );
-                    Main.activeProjectiles.add(projectile);
+                            this.projectileLifespanSecs
+                    ));
                     timeSinceLastShot = 0.0; // Reset timer for the next shot
                 }
 
@@ -184,20 +182,60 @@ public class SpiralMissileLauncherObstacle extends Obstacle {
                 break;
 
             case COOLDOWN:
-                this.emitterBody.setFill(SPIRAL_COOLDOWN_COLOR);
                 if (stateTimerSecs >= cooldownDurationSecs) {
                     currentState = SpiralLauncherState.IDLE;
                     stateTimerSecs = 0.0;
                 }
                 break;
         }
+    }
+
+    // With nobody in the room aiming stops; a spiral under way keeps turning for the rest of its duration
+    // but its shots are skipped, they would only have flown through an empty room. Then the cooldown.
+    @Override
+    void fastForward(double seconds) {
+        stateTimerSecs += seconds;
+        if (currentState == SpiralLauncherState.AIMING_TARGET_POSITION) currentState = SpiralLauncherState.IDLE;
+        if (currentState == SpiralLauncherState.FIRING_SPIRAL) {
+            double spun = Math.min(seconds, Math.max(0, spiralFireDurationSecs - (stateTimerSecs - seconds)));
+            currentAngleRadians = (currentAngleRadians + spiralRotationSpeedRadPerSec * spun) % (2 * Math.PI);
+            if (stateTimerSecs < spiralFireDurationSecs) return;
+            stateTimerSecs -= spiralFireDurationSecs;
+            currentState = SpiralLauncherState.COOLDOWN;
+        }
+        if (currentState != SpiralLauncherState.COOLDOWN || stateTimerSecs >= cooldownDurationSecs) {
+            currentState = SpiralLauncherState.IDLE;
+            stateTimerSecs = 0.0;
+        }
+    }
+
+    @Override
+    int visualSlots() {
+        return 2;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = currentState.ordinal();
+        out[offset + 1] = this.currentAngleRadians;
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        if (this.emitterBody == null) return;
+        switch (STATES[(int) in[offset]]) {
+            case AIMING_TARGET_POSITION: this.emitterBody.setFill(SPIRAL_AIMING_COLOR); break;
+            case FIRING_SPIRAL: this.emitterBody.setFill(SPIRAL_FIRING_COLOR); break;
+            case COOLDOWN: this.emitterBody.setFill(SPIRAL_COOLDOWN_COLOR); break;
+            default: this.emitterBody.setFill(SPIRAL_IDLE_COLOR); break;
+        }
         // Visual update for emitter rotation if it's not a Circle
         // if (!(emitterBody instanceof Circle)) { // Original check, but Polygon also has setRotate
         //     emitterBody.setRotate(Math.toDegrees(currentAngleRadians));
         // }
         // Update emitter body rotation
-        if (this.emitterBody != null) {
-            this.emitterBody.setRotate(Math.toDegrees(this.currentAngleRadians));
+        if (FrameBudget.emitterRotationEnabled()) {
+            this.emitterBody.setRotate(Math.toDegrees(in[offset + 1]));
         }
     }
 
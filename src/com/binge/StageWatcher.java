@@ -0,0 +1,281 @@
+package com.binge;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Optional hot reload of the running stage's .in files (-Dbounce.hotReload=true), for level design.
+// A WatchService thread notices a saved sublevel file, parses only that file and diffs its records
+// against what each line built last time (Sublevel.built): lines that didn't change keep their live
+// objects, with their timers, angles, collected keys and open locks; removed lines lose their objects
+// and nodes; new or edited lines are built into a detached pane on the watcher thread. The swap itself
+// is queued for the simulation, which applies it between ticks, so the world never changes mid-tick
+// and the balls are left alone. Editing "initial position" only moves the sublevel's spawn.
+// Only files of the loaded stage that existed when it was loaded are watched; a new sublevel file
+// needs the stage to be loaded again. -Dbounce.hotReload.verbose=true reports each reload on stderr.
+class StageWatcher {
+
+    static final boolean enabled = Boolean.getBoolean("bounce.hotReload");
+    static final boolean verbose = Boolean.getBoolean("bounce.hotReload.verbose");
+    static final long SETTLE_MILLIS = 15; // Editors save in several writes, wait for them to finish
+
+    // A sublevel's new contents, ready to be swapped in
+    private static class Edit {
+        final Level level;
+        final Sublevel sublevel;
+        final String file;
+        final ArrayList<PageLoader.BuiltRecord> base;  // sublevel.built the diff was taken against
+        final ArrayList<PageLoader.BuiltRecord> next;  // In file order, unchanged entries are the same objects
+        final Set<PageLoader.BuiltRecord> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        final long parsedAt;
+        Point2D spawn;
+
+        Edit(Level level, Sublevel sublevel, String file, ArrayList<PageLoader.BuiltRecord> base, long parsedAt) {
+            this.level = level;
+            this.sublevel = sublevel;
+            this.file = file;
+            this.base = base;
+            this.next = new ArrayList<>();
+            this.parsedAt = parsedAt;
+        }
+    }
+
+    private static final ConcurrentLinkedQueue<Edit> pending = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentLinkedQueue<Edit> stale = new ConcurrentLinkedQueue<>(); // Raced another edit, redo
+    private static WatchService service;
+    private static Thread thread;
+
+    // Starts watching the stage directory of a freshly loaded level, replacing any previous watch
+    static synchronized void watch(String path, Level level) {
+        if (!enabled) return;
+        stop();
+        File dir = new File(path);
+        File[] files = PageLoader.sublevelFiles(dir);
+        if (files == null) return;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            dir.toPath().register(service, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            System.err.println("Hot reload unavailable for " + path + ": " + e);
+            return;
+        }
+        WatchService watching = service;
+        thread = new Thread(() -> run(watching, dir, files, level), "bounce-stage-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static synchronized void stop() {
+        if (service == null) return;
+        try {
+            service.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+        service = null;
+        thread = null;
+        pending.clear();
+        stale.clear();
+    }
+
+    private static void run(WatchService watching, File dir, File[] files, Level level) {
+        List<String> names = new ArrayList<>();
+        for (File f : files) names.add(f.getName());
+        try {
+            while (true) {
+                WatchKey key = watching.poll(50, TimeUnit.MILLISECONDS);
+                ArrayList<String> changed = new ArrayList<>();
+                Edit redo;
+                while ((redo = stale.poll()) != null) {
+                    if (!changed.contains(redo.file)) changed.add(redo.file);
+                }
+                if (key != null) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    collect(key, changed);
+                    key.reset();
+                    WatchKey more; // Writes that arrived while settling
+                    while ((more = watching.poll()) != null) {
+                        collect(more, changed);
+                        more.reset();
+                    }
+                }
+                for (String name : changed) {
+                    int index = names.indexOf(name);
+                    if (index < 0 || index >= level.sublevels.size()) continue; // Not a sublevel of this level
+                    Edit edit = prepare(level, level.sublevels.get(index), new File(dir, name).getPath());
+                    if (edit != null) pending.add(edit);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private static void collect(WatchKey key, ArrayList<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+            String name = ((Path) event.context()).getFileName().toString();
+            if (name.endsWith(".in") && !changed.contains(name)) changed.add(name);
+        }
+    }
+
+    // Watcher thread: parse the file, match its records against the live ones, build the rest detached
+    private static Edit prepare(Level level, Sublevel sublevel, String file) {
+        ArrayList<PageLoader.BuiltRecord> base = sublevel.built;
+        if (base == null) return null;
+        long start = System.nanoTime();
+        ArrayList<PageLoader.StageRecord> records = PageLoader.parseStageFile(file);
+        Edit edit = new Edit(level, sublevel, file, base, start);
+
+        // Same section and tokens is the same line; equal lines pair up in order, so duplicates are fine
+        boolean[] used = new boolean[base.size()];
+        ArrayList<PageLoader.StageRecord> added = new ArrayList<>();
+        ArrayList<Integer> addedAt = new ArrayList<>();
+        for (PageLoader.StageRecord record : records) {
+            if (record.section.equals("initial position")) {
+                if (record.tokens.length >= 2) {
+                    edit.spawn = new Point2D(Double.parseDouble(record.tokens[0]), Double.parseDouble(record.tokens[1]));
+                }
+                continue;
+            }
+            int match = -1;
+            for (int i = 0; i < base.size() && match < 0; i++) {
+                if (!used[i] && sameLine(base.get(i).record, record)) match = i;
+            }
+            if (match >= 0) {
+                used[match] = true;
+                edit.next.add(base.get(match));
+            } else {
+                added.add(record);
+                addedAt.add(edit.next.size());
+                edit.next.add(null); // Filled in below
+            }
+        }
+        boolean unchanged = added.isEmpty() && edit.next.equals(base)
+                && (edit.spawn == null || sublevel.spawn != null && edit.spawn.x == sublevel.spawn.x && edit.spawn.y == sublevel.spawn.y);
+        if (unchanged) return null; // Touched, not changed
+
+        // New lines are built in a sublevel of their own, whose pane no scene shows, so off the FX thread is fine
+        Sublevel staging = new Sublevel(sublevel.num);
+        staging.built = new ArrayList<>();
+        PageLoader.buildRecords(staging, added);
+        for (int i = 0; i < added.size(); i++) {
+            PageLoader.BuiltRecord built = staging.built.get(i);
+            edit.next.set(addedAt.get(i), built);
+            edit.fresh.add(built);
+        }
+        return edit;
+    }
+
+    private static boolean sameLine(PageLoader.StageRecord a, PageLoader.StageRecord b) {
+        return a.section.equals(b.section) && Arrays.equals(a.tokens, b.tokens);
+    }
+
+    // Simulation thread, at the start of a tick: swap in whatever the watcher prepared
+    static void applyPending() {
+        Edit edit;
+        while ((edit = pending.poll()) != null) {
+            apply(edit);
+        }
+    }
+
+    private static void apply(Edit edit) {
+        Sublevel sublevel = edit.sublevel;
+        if (sublevel.built != edit.base) { // Another edit of this file landed first, diff again
+            stale.add(edit);
+            return;
+        }
+
+        // Collected coins and used size shifters of unchanged lines stay gone
+        Set<Collectible> liveItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        liveItems.addAll(sublevel.items);
+
+        ArrayList<Obstacle> obstacles = new ArrayList<>();
+        ArrayList<Collectible> items = new ArrayList<>();
+        ArrayList<Displacer> displacers = new ArrayList<>();
+        ArrayList<Lock> locks = new ArrayList<>();
+        Checkpoint checkpoint = null;
+        Goal goal = null;
+        Set<PageLoader.BuiltRecord> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PageLoader.BuiltRecord b : edit.next) {
+            obstacles.addAll(b.obstacles);
+            for (Collectible item : b.items) {
+                if (edit.fresh.contains(b) || liveItems.contains(item)) items.add(item);
+            }
+            displacers.addAll(b.displacers);
+            locks.addAll(b.locks);
+            if (b.checkpoint != null) checkpoint = b.checkpoint;
+            if (b.goal != null) goal = b.goal;
+            if (!edit.fresh.contains(b)) kept.add(b);
+        }
+
+        ArrayList<Node> removed = new ArrayList<>();
+        for (PageLoader.BuiltRecord b : edit.base) {
+            if (!kept.contains(b)) removed.addAll(b.nodes);
+        }
+        ArrayList<Node> added = new ArrayList<>();
+        for (PageLoader.BuiltRecord b : edit.next) {
+            if (edit.fresh.contains(b)) added.addAll(b.nodes);
+        }
+
+        // A new list rather than an edit in place: a RenderSnapshot on the FX thread may still be reading the old one
+        sublevel.obstacles = obstacles;
+        sublevel.items = items;
+        sublevel.displacers = displacers;
+        sublevel.locks = locks;
+        sublevel.goal = goal;
+        if (sublevel.checkpoint != checkpoint) {
+            sublevel.checkpoint = checkpoint;
+            int index = edit.level.sublevels.indexOf(sublevel);
+            if (index >= 0 && index < edit.level.checkpoints.size()) edit.level.checkpoints.set(index, checkpoint);
+            if (checkpoint != null) checkpoint.substageNum = index + 1;
+        }
+        if (edit.spawn != null) sublevel.spawn = edit.spawn;
+        sublevel.built = edit.next;
+        sublevel.reindex();
+
+        Pane pane = sublevel.pane;
+        SimulationThread.runOnScene(() -> {
+            pane.getChildren().removeAll(removed);
+            // Under the balls and the canvas, which stay on top
+            int at = pane.getChildren().size();
+            for (int i = 0; i < pane.getChildren().size(); i++) {
+                Node node = pane.getChildren().get(i);
+                if (node == Main.canvas || isBall(node)) {
+                    at = i;
+                    break;
+                }
+            }
+            pane.getChildren().addAll(at, added);
+        });
+        if (verbose) {
+            System.err.printf("Reloaded %s: %d kept, %d new, %d removed lines in %.1f ms%n", edit.file, kept.size(),
+                    edit.fresh.size(), edit.base.size() - kept.size(),
+                    (System.nanoTime() - edit.parsedAt) / 1e6);
+        }
+    }
+
+    private static boolean isBall(Node node) {
+        for (Character c : Main.characters) {
+            if (c.body == node) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.binge;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.time.Instant;
+
+// Cold start measurement, and the training run that records the class archive of the kiosk build
+// (tools/build-image.sh).
+//   -Dbounce.startupReport=true  prints the time from process start to the first frame of the main menu,
+//                                split into JVM boot, toolkit launch and Main.start
+//   -Dbounce.exitAfterMenu=true  exits right after that frame, for scripted measurements
+//   -Dbounce.training=true       after the menu, plays stage 1 for TRAINING_FRAMES frames and exits, so
+//                                an archive dumped at exit holds what the menu and a stage load
+class Startup {
+
+    static final boolean REPORT = Boolean.getBoolean("bounce.startupReport");
+    static final boolean EXIT_AFTER_MENU = Boolean.getBoolean("bounce.exitAfterMenu");
+    static final boolean TRAINING = Boolean.getBoolean("bounce.training");
+    static final int TRAINING_FRAMES = 300;
+
+    private static long mainWallMillis, mainNanos, startNanos;
+
+    // First thing in Main.main
+    static void enteredMain() {
+        mainWallMillis = System.currentTimeMillis();
+        mainNanos = System.nanoTime();
+    }
+
+    // First thing in Main.start, once the toolkit is up
+    static void enteredStart() {
+        startNanos = System.nanoTime();
+    }
+
+    // After the stage with the main menu is shown, FX thread. The next pulse is the menu's first frame.
+    static void menuShown() {
+        if (!REPORT && !EXIT_AFTER_MENU && !TRAINING) return;
+        new AnimationTimer() {
+            int frames;
+
+            @Override
+            public void handle(long now) {
+                if (frames++ == 0) {
+                    if (REPORT) report(System.nanoTime());
+                    if (EXIT_AFTER_MENU) {
+                        Platform.exit();
+                        System.exit(0);
+                    }
+                    if (TRAINING) {
+                        PageLoader.loadStage(1);
+                        PageLoader.startRun();
+                    }
+                } else if (frames > TRAINING_FRAMES) {
+                    stop();
+                    Platform.exit();
+                    System.exit(0); // Also stops a simulation thread; the archive is written at exit
+                }
+            }
+        }.start();
+    }
+
+    private static void report(long menuNanos) {
+        long sinceMain = (menuNanos - mainNanos) / 1_000_000;
+        long launch = (startNanos - mainNanos) / 1_000_000;
+        long start = (menuNanos - startNanos) / 1_000_000;
+        Instant processStart = ProcessHandle.current().info().startInstant().orElse(null);
+        if (mainNanos == 0) { // Launched without Main.main
+            System.out.printf("Startup: main menu %d ms after Main.start%n", start);
+        } else if (processStart == null) {
+            System.out.printf("Startup: main menu %d ms after main (toolkit launch %d ms, Main.start %d ms)%n",
+                    sinceMain, launch, start);
+        } else {
+            long boot = mainWallMillis - processStart.toEpochMilli(); // Clock tick resolution, ~10 ms
+            System.out.printf("Startup: main menu %d ms after process start (JVM boot %d ms, toolkit launch %d ms, Main.start %d ms)%n",
+                    boot + sinceMain, boot, launch, start);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.binge;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Lightweight per-tick instrumentation for Main.updateGamePhysics.
+// Each phase of the tick and each Obstacle subclass gets a log-linear histogram of nanoTime durations.
+// TRIGGERS is also split by trigger kind (COLLECTIBLES .. GOAL), summed over every entity and ball of the tick.
+// Off unless -Dbounce.profile=true. Then F3 toggles an on-canvas overlay, and every DUMP_INTERVAL_TICKS the
+// current window is appended to a CSV in the working directory and reset.
+public class TickProfiler {
+
+    public static enum Phase {
+        FORCES,
+        OBSTACLE_UPDATE,
+        OBSTACLE_COLLISION,
+        TRIGGERS,
+        COLLECTIBLES, // Parts of TRIGGERS, see recordPart
+        DISPLACERS,
+        CHECKPOINTS,
+        LOCKS,
+        GOAL,
+        PROJECTILES,
+        BOUNDARIES,
+        TOTAL
+    }
+
+    static boolean enabled = Boolean.getBoolean("bounce.profile"); // When false every hook is a single branch
+    static boolean overlayVisible = false;  // Toggled with F3
+
+    static final int DUMP_INTERVAL_TICKS = 600; // 10 seconds at 60Hz
+    static final String DUMP_PATH = "tick-profile.csv";
+
+    private static final EnumMap<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private static final Map<Class<?>, ObstacleTypeStats> obstacleTypes = new LinkedHashMap<>();
+    private static final Phase[] PHASES = Phase.values();
+    private static final long[] partNanos = new long[PHASES.length]; // This tick's time per part, -1 if untouched
+
+    private static long tickStart;
+    private static long phaseStart;
+    private static int ticksInWindow;
+    private static boolean headerWritten = false;
+
+    static {
+        for (Phase p : PHASES) phases.put(p, new LatencyHistogram());
+        Arrays.fill(partNanos, -1);
+    }
+
+    // Accumulates the time every instance of one Obstacle subclass took during the current tick
+    private static class ObstacleTypeStats {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long tickNanos;
+        boolean touched;
+    }
+
+    public static long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void beginTick() {
+        if (!enabled) return;
+        tickStart = System.nanoTime();
+        phaseStart = tickStart;
+    }
+
+    // Closes the phase that started at the previous mark (or at beginTick)
+    public static void mark(Phase phase) {
+        if (!enabled) return;
+        long t = System.nanoTime();
+        phases.get(phase).record(t - phaseStart);
+        phaseStart = t;
+    }
+
+    // startNanos comes from now() taken right before the obstacle's work
+    public static void recordObstacle(Obstacle obs, long startNanos) {
+        if (!enabled) return;
+        recordObstacleNanos(obs, System.nanoTime() - startNanos);
+    }
+
+    // For work timed elsewhere (e.g. on an ObstacleUpdater worker). FX thread only.
+    public static void recordObstacleNanos(Obstacle obs, long elapsed) {
+        if (!enabled) return;
+        ObstacleTypeStats stats = obstacleTypes.get(obs.getClass());
+        if (stats == null) {
+            stats = new ObstacleTypeStats();
+            obstacleTypes.put(obs.getClass(), stats);
+        }
+        stats.tickNanos += elapsed;
+        stats.touched = true;
+    }
+
+    // Adds to a phase that is spread over many calls in the tick (one trigger of one ball), recorded at endTick
+    public static void recordPart(Phase phase, long startNanos) {
+        if (!enabled) return;
+        long elapsed = System.nanoTime() - startNanos;
+        int i = phase.ordinal();
+        partNanos[i] = partNanos[i] < 0 ? elapsed : partNanos[i] + elapsed;
+    }
+
+    public static void endTick() {
+        if (!enabled) return;
+        phases.get(Phase.TOTAL).record(System.nanoTime() - tickStart);
+        for (int i = 0; i < PHASES.length; i++) {
+            if (partNanos[i] < 0) continue;
+            phases.get(PHASES[i]).record(partNanos[i]);
+            partNanos[i] = -1;
+        }
+        for (ObstacleTypeStats stats : obstacleTypes.values()) {
+            if (stats.touched) {
+                stats.histogram.record(stats.tickNanos);
+                stats.tickNanos = 0;
+                stats.touched = false;
+            }
+        }
+
+        ticksInWindow++;
+        if (ticksInWindow >= DUMP_INTERVAL_TICKS) {
+            dump();
+            reset();
+        }
+    }
+
+    public static void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    public static void drawOverlay(GraphicsContext gc) {
+        if (!enabled || !overlayVisible) return;
+
+        int rows = phases.size() + obstacleTypes.size() + 2;
+        double x = 10, y = 20, lineHeight = 14;
+
+        gc.save();
+        gc.setFill(Color.BLACK.deriveColor(0, 1, 1, 0.6));
+        gc.fillRect(x - 5, y - 14, 420, rows * lineHeight + 8);
+        gc.setFont(Font.font("Monospaced", 11));
+        gc.setFill(Color.LIMEGREEN);
+
+        gc.fillText(String.format("%-22s %8s %8s %8s %8s", "phase (us)", "p50", "p99", "max", "n"), x, y);
+        y += lineHeight;
+        for (Map.Entry<Phase, LatencyHistogram> e : phases.entrySet()) {
+            gc.fillText(formatRow(e.getKey().name(), e.getValue()), x, y);
+            y += lineHeight;
+        }
+        y += lineHeight;
+        for (Map.Entry<Class<?>, ObstacleTypeStats> e : obstacleTypes.entrySet()) {
+            gc.fillText(formatRow(e.getKey().getSimpleName(), e.getValue().histogram), x, y);
+            y += lineHeight;
+        }
+        gc.restore();
+    }
+
+    private static String formatRow(String name, LatencyHistogram h) {
+        if (name.length() > 22) name = name.substring(0, 22);
+        return String.format("%-22s %8.1f %8.1f %8.1f %8d", name,
+                h.percentile(50) / 1000.0, h.percentile(99) / 1000.0, h.max() / 1000.0, h.count());
+    }
+
+    // Appends one row per phase and per obstacle type for the current window
+    static void dump() {
+        try (PrintWriter out = new PrintWriter(new FileWriter(DUMP_PATH, true))) {
+            if (!headerWritten) {
+                out.println("timestamp_ms,kind,name,count,mean_us,p50_us,p90_us,p99_us,max_us");
+                headerWritten = true;
+            }
+            long timestamp = System.currentTimeMillis();
+            for (Map.Entry<Phase, LatencyHistogram> e : phases.entrySet()) {
+                writeRow(out, timestamp, "phase", e.getKey().name(), e.getValue());
+            }
+            for (Map.Entry<Class<?>, ObstacleTypeStats> e : obstacleTypes.entrySet()) {
+                writeRow(out, timestamp, "obstacle", e.getKey().getSimpleName(), e.getValue().histogram);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing tick profile: " + DUMP_PATH);
+        }
+    }
+
+    private static void writeRow(PrintWriter out, long timestamp, String kind, String name, LatencyHistogram h) {
+        if (h.count() == 0) return;
+        out.printf(Locale.ROOT, "%d,%s,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n", timestamp, kind, name, h.count(),
+                h.mean() / 1000.0, h.percentile(50) / 1000.0, h.percentile(90) / 1000.0,
+                h.percentile(99) / 1000.0, h.max() / 1000.0);
+    }
+
+    static void reset() {
+        for (LatencyHistogram h : phases.values()) h.reset();
+        for (ObstacleTypeStats stats : obstacleTypes.values()) stats.histogram.reset();
+        ticksInWindow = 0;
+    }
+}
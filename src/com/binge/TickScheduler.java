@@ -0,0 +1,129 @@
+package com.binge;
+
+import java.util.Arrays;
+
+// Delayed gameplay effects on simulation time (GrapplePoint cooldown, SizeShifter duration, ...).
+// A binary min-heap keyed on the tick number an effect is due, kept in parallel arrays. Ties run in
+// the order they were scheduled, so a replay or a fast-forward through the same ticks fires exactly
+// the same effects in the same order. Pausing the game pauses the clock because nothing advances it
+// but updateGamePhysics.
+// Scheduling allocates nothing: the target implements Task and an int says which effect to run.
+// The arrays only grow when more effects are pending at once than ever before.
+public class TickScheduler {
+
+    public interface Task {
+        void runScheduled(int action);
+    }
+
+    static long tick = 0; // Ticks simulated since start, advanced once per updateGamePhysics
+
+    private static long[] due = new long[32];
+    private static long[] order = new long[32]; // Tie-breaker: scheduling order
+    private static Task[] tasks = new Task[32];
+    private static int[] actions = new int[32];
+    private static int size = 0;
+    private static long nextOrder = 0;
+
+    static long ticksFor(double seconds) {
+        return Math.max(1, Math.round(seconds / Main.FIXED_PHYSICS_DT));
+    }
+
+    static void schedule(long delayTicks, Task task, int action) {
+        if (size == due.length) grow();
+        int i = size++;
+        due[i] = tick + Math.max(1, delayTicks);
+        order[i] = nextOrder++;
+        tasks[i] = task;
+        actions[i] = action;
+        siftUp(i);
+    }
+
+    // End of a tick: moves the clock and runs everything now due, earliest first
+    static void advance() {
+        tick++;
+        while (size > 0 && due[0] <= tick) {
+            Task task = tasks[0];
+            int action = actions[0];
+            removeTop();
+            task.runScheduled(action); // May schedule again, the heap is consistent by now
+        }
+    }
+
+    // Drops every pending effect, used when a stage is (re)loaded so old objects can't act on the new run
+    static void clear() {
+        Arrays.fill(tasks, 0, size, null);
+        size = 0;
+    }
+
+    // Drops the pending runs of one task with this action, e.g. a ball's size restore when the Gym
+    // restarts that ball alone. The other effects keep their due ticks and order.
+    static void cancel(Task task, int action) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] == task && actions[i] == action) continue;
+            if (kept != i) move(i, kept);
+            kept++;
+        }
+        if (kept == size) return;
+        Arrays.fill(tasks, kept, size, null);
+        size = kept;
+        for (int i = size / 2 - 1; i >= 0; i--) siftDown(i); // Re-heapify, (due, order) still decides
+    }
+
+    static int pending() {
+        return size;
+    }
+
+    private static void grow() {
+        int n = due.length * 2;
+        due = Arrays.copyOf(due, n);
+        order = Arrays.copyOf(order, n);
+        tasks = Arrays.copyOf(tasks, n);
+        actions = Arrays.copyOf(actions, n);
+    }
+
+    private static boolean before(int a, int b) {
+        return due[a] < due[b] || (due[a] == due[b] && order[a] < order[b]);
+    }
+
+    private static void removeTop() {
+        size--;
+        move(size, 0);
+        tasks[size] = null;
+        if (size > 0) siftDown(0);
+    }
+
+    private static void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int child = left + 1 < size && before(left + 1, left) ? left + 1 : left;
+            if (!before(child, i)) break;
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private static void move(int from, int to) {
+        due[to] = due[from];
+        order[to] = order[from];
+        tasks[to] = tasks[from];
+        actions[to] = actions[from];
+    }
+
+    private static void swap(int a, int b) {
+        long d = due[a]; due[a] = due[b]; due[b] = d;
+        long o = order[a]; order[a] = order[b]; order[b] = o;
+        Task t = tasks[a]; tasks[a] = tasks[b]; tasks[b] = t;
+        int x = actions[a]; actions[a] = actions[b]; actions[b] = x;
+    }
+}
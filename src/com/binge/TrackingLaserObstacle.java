@@ -16,6 +16,8 @@ public class TrackingLaserObstacle extends Obstacle {
         COOLDOWN
     }
 
+    private static final LaserState[] STATES = LaserState.values(); // Cached, values() copies on every call
+
     Point2D emitterPosition;
     double currentAngleRadians;
     double rotationSpeedRadiansPerSec;
@@ -32,6 +34,7 @@ public class TrackingLaserObstacle extends Obstacle {
 
     Point2D laserFireTargetPoint; // Calculated when firing
     boolean isBeamActive;      // True during FIRING state
+    private final RayCast.Hit beamHit = new RayCast.Hit(); // Where the beam stops, reused every tick
 
     Shape emitterBody;      // Visual for the turret base
     Line laserBeamBody;     // Visual for the laser beam
@@ -89,28 +92,28 @@ public class TrackingLaserObstacle extends Obstacle {
     public void update(double deltaTime) {
         stateTimerSecs += deltaTime;
 
-        // Ensure Main.character and its position are accessible
-        if (Main.character == null || Main.character.pos == null) {
+        // Aim at the ball nearest to the emitter, if any ball is in the run
+        Character target = Main.nearestCharacter(emitterPosition.getX(), emitterPosition.getY());
+        if (target == null) {
             // Maybe revert to IDLE if character is not available
             if (currentState != LaserState.IDLE) {
                  currentState = LaserState.IDLE;
                  stateTimerSecs = 0.0;
-                 this.emitterBody.setFill(IDLE_COLOR);
-                 this.laserBeamBody.setVisible(false);
                  this.isBeamActive = false;
             }
             // Potentially add a small random rotation in IDLE if desired
             return;
         }
-        Point2D playerPos = Main.character.pos;
+        Point2D playerPos = target.pos;
+        // Walls hide the player, a laser only starts tracking what it can see
+        boolean visible = RayCast.lineOfSight(Main.currentSublevel, emitterPosition.x, emitterPosition.y, playerPos.x, playerPos.y);
 
         switch (currentState) {
             case IDLE:
                 // Scan for player
-                if (emitterPosition.distanceSquared(playerPos) < detectionRangeSq) {
+                if (visible && emitterPosition.distanceSquared(playerPos) < detectionRangeSq) {
                     currentState = LaserState.TRACKING;
                     stateTimerSecs = 0.0;
-                    this.emitterBody.setFill(TRACKING_COLOR);
                 }
                 // Optional: Add slight random sweep rotation here if desired
                 // Example: currentAngleRadians += (Math.random() - 0.5) * 0.01;
@@ -144,13 +147,11 @@ public class TrackingLaserObstacle extends Obstacle {
                 if (stateTimerSecs > AIM_THRESHOLD_SECONDS || Math.abs(angleDiff) < Math.toRadians(5.0) /*5 degrees tolerance*/) {
                     currentState = LaserState.CHARGING;
                     stateTimerSecs = 0.0;
-                    this.emitterBody.setFill(CHARGE_COLOR);
                 }
 
-                if (emitterPosition.distanceSquared(playerPos) > detectionRangeSq) { // Player out of range
+                if (!visible || emitterPosition.distanceSquared(playerPos) > detectionRangeSq) { // Player out of range or out of sight
                     currentState = LaserState.IDLE;
                     stateTimerSecs = 0.0;
-                    this.emitterBody.setFill(IDLE_COLOR);
                 }
                 break;
 
@@ -162,16 +163,14 @@ public class TrackingLaserObstacle extends Obstacle {
                     isBeamActive = true; // Mark beam as active
 
                     // Initial beam setup will happen in the first frame of FIRING state.
-                    // Just ensure visibility and color are set here.
-                    laserBeamBody.setVisible(true);
-                    this.emitterBody.setFill(FIRE_COLOR);
+                    // Visibility and color follow isBeamActive/currentState in syncVisuals().
                 }
                 break;
 
             case FIRING:
                 // Aiming logic (similar to TRACKING state)
-                if (Main.character != null && Main.character.pos != null) {
-                    Point2D playerPosFiring = Main.character.pos;
+                if (target.pos != null) {
+                    Point2D playerPosFiring = target.pos;
                     double dxFiring = playerPosFiring.getX() - emitterPosition.getX();
                     double dyFiring = playerPosFiring.getY() - emitterPosition.getY();
                     double targetAngleRadiansFiring = Math.atan2(dyFiring, dxFiring);
@@ -190,29 +189,21 @@ public class TrackingLaserObstacle extends Obstacle {
                 }
                 // If character is null, laser continues firing at last known angle.
 
-                // Update laser beam path based on current (possibly new) angle
+                // Update laser beam path based on current (possibly new) angle, stopping at the first wall
+                double cosFire = Math.cos(this.currentAngleRadians), sinFire = Math.sin(this.currentAngleRadians);
+                RayCast.cast(Main.currentSublevel, this.emitterPosition.getX(), this.emitterPosition.getY(),
+                        cosFire, sinFire, this.fireBeamLength, false, beamHit);
                 this.laserFireTargetPoint = new Point2D(
-                    this.emitterPosition.getX() + this.fireBeamLength * Math.cos(this.currentAngleRadians),
-                    this.emitterPosition.getY() + this.fireBeamLength * Math.sin(this.currentAngleRadians)
+                    this.emitterPosition.getX() + beamHit.distance * cosFire,
+                    this.emitterPosition.getY() + beamHit.distance * sinFire
                 );
 
-                this.laserBeamBody.setStartX(this.emitterPosition.getX());
-                this.laserBeamBody.setStartY(this.emitterPosition.getY());
-                this.laserBeamBody.setEndX(this.laserFireTargetPoint.getX());
-                this.laserBeamBody.setEndY(this.laserFireTargetPoint.getY());
-                // ensure laserBeamBody is visible (already set when entering FIRING, but good for safety)
-                if (!this.laserBeamBody.isVisible()) {
-                    this.laserBeamBody.setVisible(true);
-                }
-
 
                 // Check duration
                 if (stateTimerSecs >= fireDurationSecs) {
                     currentState = LaserState.COOLDOWN;
                     stateTimerSecs = 0.0;
                     isBeamActive = false;
-                    laserBeamBody.setVisible(false);
-                    this.emitterBody.setFill(IDLE_COLOR);
                 }
                 break;
 
@@ -231,6 +222,66 @@ public class TrackingLaserObstacle extends Obstacle {
         // This would require emitterBody to be created with its "front" pointing along the 0-angle axis.
     }
 
+    // With nobody in the room there is nothing to track: a shot under way runs out its charge, beam and
+    // cooldown in order, and the laser ends up idle
+    @Override
+    void fastForward(double seconds) {
+        stateTimerSecs += seconds;
+        if (currentState == LaserState.TRACKING) currentState = LaserState.IDLE; // The target left
+        while (currentState != LaserState.IDLE) {
+            double duration = currentState == LaserState.CHARGING ? chargeDurationSecs
+                    : currentState == LaserState.FIRING ? fireDurationSecs : cooldownDurationSecs;
+            if (stateTimerSecs < duration) break;
+            stateTimerSecs -= duration;
+            currentState = currentState == LaserState.CHARGING ? LaserState.FIRING
+                    : currentState == LaserState.FIRING ? LaserState.COOLDOWN : LaserState.IDLE;
+        }
+        if (currentState == LaserState.IDLE) stateTimerSecs = 0.0;
+        isBeamActive = currentState == LaserState.FIRING;
+    }
+
+    @Override
+    int visualSlots() {
+        return 4;
+    }
+
+    @Override
+    void captureVisuals(double[] out, int offset) {
+        out[offset] = currentState.ordinal();
+        out[offset + 1] = isBeamActive ? 1 : 0;
+        out[offset + 2] = this.laserFireTargetPoint.getX();
+        out[offset + 3] = this.laserFireTargetPoint.getY();
+    }
+
+    @Override
+    void applyVisuals(double[] in, int offset) {
+        switch (STATES[(int) in[offset]]) {
+            case TRACKING: this.emitterBody.setFill(TRACKING_COLOR); break;
+            case CHARGING: this.emitterBody.setFill(CHARGE_COLOR); break;
+            case FIRING: this.emitterBody.setFill(FIRE_COLOR); break;
+            default: this.emitterBody.setFill(IDLE_COLOR); break; // IDLE and COOLDOWN
+        }
+
+        boolean beamActive = in[offset + 1] != 0;
+        this.laserBeamBody.setVisible(beamActive);
+        if (beamActive) {
+            this.laserBeamBody.setStartX(this.emitterPosition.getX());
+            this.laserBeamBody.setStartY(this.emitterPosition.getY());
+            this.laserBeamBody.setEndX(in[offset + 2]);
+            this.laserBeamBody.setEndY(in[offset + 3]);
+        }
+    }
+
+    @Override
+    boolean beamSegment(double[] out) {
+        if (!isBeamActive) return false;
+        out[0] = emitterPosition.x;
+        out[1] = emitterPosition.y;
+        out[2] = laserFireTargetPoint.x;
+        out[3] = laserFireTargetPoint.y;
+        return true;
+    }
+
     @Override
     boolean checkCollision(Character c, double dispX, double dispY, double deltaTime) {
         if (!isBeamActive) { // Only check collision if the beam is currently firing
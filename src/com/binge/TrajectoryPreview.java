@@ -0,0 +1,158 @@
+package com.binge;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.util.Arrays;
+
+import static com.binge.Main.*;
+
+// Ghost arc of the jump the player would get by pressing jump now, toggled with G.
+// A jump always starts at JUMP_VELOCITY, so a free-flight arc only depends on the horizontal speed
+// and the held direction. All arcs are precomputed at class load with the same force order as
+// updateGamePhysics, as offsets from the take-off point. Per frame the arc is cut into segments,
+// each segment's swept AABB (inflated by the ball radius) is queried in the sublevel's Broadphase,
+// and only those candidates are tested against the arc points. The first contact is drawn as the landing.
+public class TrajectoryPreview {
+
+    static boolean enabled = false;
+
+    static final int TICKS = 120;          // Two seconds of flight
+    static final int SEGMENT_TICKS = 10;   // Arc points per broadphase query
+    static final int SEGMENTS = TICKS / SEGMENT_TICKS;
+    static final double VX_BUCKET = 25;    // Speed quantization, ~0.4px of drift per tick at worst
+    static final int NVX = 2 * (int) (MAX_MOVE_SPEED / VX_BUCKET) + 1;
+
+    // [held direction + 1][vx bucket] -> x, y offsets per tick, and the AABB of each segment
+    private static final float[][][] ARCS = new float[3][NVX][];
+    private static final float[][][] SEGMENT_BOXES = new float[3][NVX][];
+
+    static final LatencyHistogram cost = new LatencyHistogram();
+
+    // FX thread scratch
+    private static final double[] xs = new double[TICKS + 1];
+    private static final double[] ys = new double[TICKS + 1];
+    private static Obstacle[] candidates = new Obstacle[64]; // Grown, never shrunk
+    private static int candidateCount;
+
+    static {
+        for (int dir = -1; dir <= 1; dir++) {
+            for (int b = 0; b < NVX; b++) {
+                buildArc(dir, b);
+            }
+        }
+    }
+
+    private static void buildArc(int dir, int bucket) {
+        double dt = FIXED_PHYSICS_DT;
+        double vx = (bucket - NVX / 2) * VX_BUCKET;
+        double vy = 0;
+        double x = 0, y = 0;
+        float[] arc = new float[2 * TICKS];
+        float[] boxes = new float[4 * SEGMENTS];
+        for (int t = 0; t < TICKS; t++) {
+            vy += GRAVITY * dt;
+            if (dir < 0 && vx > -NATURAL_SPEED_LIM) vx -= MOVE_ACCELERATION * dt;
+            if (dir > 0 && vx < NATURAL_SPEED_LIM) vx += MOVE_ACCELERATION * dt;
+            if (t == 0) vy = JUMP_VELOCITY;
+            vx = Math.max(-MAX_MOVE_SPEED, Math.min(vx, MAX_MOVE_SPEED));
+            vy = Math.max(-MAX_MOVE_SPEED, Math.min(vy, MAX_MOVE_SPEED));
+            x += vx * dt;
+            y += vy * dt;
+            vx *= 1.0 - AIR_DRAG * dt;
+            vy *= 1.0 - AIR_DRAG * dt;
+            arc[2 * t] = (float) x;
+            arc[2 * t + 1] = (float) y;
+        }
+        // Each segment's box also covers the point before it, so the swept path between segments is included
+        for (int s = 0; s < SEGMENTS; s++) {
+            float minX = s == 0 ? 0 : arc[2 * (s * SEGMENT_TICKS - 1)];
+            float minY = s == 0 ? 0 : arc[2 * (s * SEGMENT_TICKS - 1) + 1];
+            float maxX = minX, maxY = minY;
+            for (int t = s * SEGMENT_TICKS; t < (s + 1) * SEGMENT_TICKS; t++) {
+                minX = Math.min(minX, arc[2 * t]);
+                maxX = Math.max(maxX, arc[2 * t]);
+                minY = Math.min(minY, arc[2 * t + 1]);
+                maxY = Math.max(maxY, arc[2 * t + 1]);
+            }
+            boxes[4 * s] = minX;
+            boxes[4 * s + 1] = minY;
+            boxes[4 * s + 2] = maxX;
+            boxes[4 * s + 3] = maxY;
+        }
+        ARCS[dir + 1][bucket] = arc;
+        SEGMENT_BOXES[dir + 1][bucket] = boxes;
+    }
+
+    public static void toggle() {
+        enabled = !enabled;
+    }
+
+    // FX thread. dir is -1, 0 or 1 for the held horizontal input.
+    public static void draw(GraphicsContext gc, Sublevel sublevel, double x, double y, double vx, int dir, int radius, int jumpCount) {
+        if (!enabled || sublevel == null || jumpCount >= 2) return; // No jump left, nothing to preview
+        long start = System.nanoTime();
+
+        int bucket = Math.max(0, Math.min(NVX - 1, (int) Math.round(vx / VX_BUCKET) + NVX / 2));
+        float[] arc = ARCS[dir + 1][bucket];
+        float[] boxes = SEGMENT_BOXES[dir + 1][bucket];
+        Broadphase broadphase = sublevel.broadphase();
+
+        xs[0] = x;
+        ys[0] = y;
+        int points = 1;
+        boolean landed = false;
+        for (int s = 0; s < SEGMENTS && !landed; s++) {
+            candidateCount = 0;
+            broadphase.query(x + boxes[4 * s] - radius, y + boxes[4 * s + 1] - radius,
+                    x + boxes[4 * s + 2] + radius, y + boxes[4 * s + 3] + radius, TrajectoryPreview::collect);
+
+            for (int t = s * SEGMENT_TICKS; t < (s + 1) * SEGMENT_TICKS; t++) {
+                double px = x + arc[2 * t], py = y + arc[2 * t + 1];
+                xs[points] = px;
+                ys[points] = py;
+                points++;
+                if (py + radius > WINDOW_HEIGHT || px - radius < 0 || px + radius > WINDOW_WIDTH || hits(px, py, radius)) {
+                    landed = true;
+                    break;
+                }
+            }
+        }
+
+        gc.save();
+        gc.setStroke(Color.WHITE.deriveColor(0, 1, 1, 0.5));
+        gc.setLineWidth(2);
+        gc.setLineDashes(6, 6);
+        gc.strokePolyline(xs, ys, points);
+        if (landed) {
+            gc.setLineDashes();
+            gc.strokeOval(xs[points - 1] - radius, ys[points - 1] - radius, 2 * radius, 2 * radius);
+        }
+        gc.restore();
+
+        cost.record(System.nanoTime() - start);
+        if (TickProfiler.overlayVisible) {
+            gc.save();
+            gc.setFont(Font.font("Monospaced", 11));
+            gc.setFill(Color.LIMEGREEN);
+            gc.fillText(String.format("arc p50 %.1fus p99 %.1fus", cost.percentile(50) / 1000.0, cost.percentile(99) / 1000.0),
+                    WINDOW_WIDTH - 220, 20);
+            gc.restore();
+        }
+    }
+
+    private static boolean collect(Obstacle obs) {
+        if (obs instanceof Lock lock && lock.key.collected) return true; // Open locks don't stop the ball
+        if (candidateCount == candidates.length) candidates = Arrays.copyOf(candidates, candidates.length * 2);
+        candidates[candidateCount++] = obs;
+        return true;
+    }
+
+    private static boolean hits(double px, double py, int radius) {
+        for (int i = 0; i < candidateCount; i++) {
+            if (candidates[i].overlapsCircle(px, py, radius)) return true;
+        }
+        return false;
+    }
+}
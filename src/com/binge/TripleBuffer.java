@@ -0,0 +1,39 @@
+package com.binge;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lock-free triple buffer for one producer and one consumer.
+// The producer always has a private back buffer to write into, the consumer always reads the most
+// recently published one, and neither ever waits for the other. Unread buffers are simply overwritten.
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH_BIT = 0b100; // Set when the middle buffer holds something the consumer hasn't seen
+
+    private final Object[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1); // Index of the shared buffer, plus FRESH_BIT
+    private int back = 0;  // Producer-owned
+    private int front = 2; // Consumer-owned
+
+    public TripleBuffer(T a, T b, T c) {
+        this.buffers = new Object[]{a, b, c};
+    }
+
+    // Producer side: the buffer to fill before calling publish()
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) buffers[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH_BIT) & INDEX_MASK;
+    }
+
+    // Consumer side: swaps in the newest published buffer if there is one, otherwise keeps the current one
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((middle.get() & FRESH_BIT) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,324 @@
+package com.binge;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Optional continuous world (-Dbounce.world=true): the sublevels of a stage become fixed-size chunks,
+// WINDOW_WIDTH x WINDOW_HEIGHT each, laid side by side, and a camera follows the player across them
+// instead of the scene jumping from one screen to the next. Each .in file keeps its own coordinates,
+// so existing stages and the level editor work unchanged; chunk k simply starts at world x k * WINDOW_WIDTH.
+// Around the player's chunk:
+//   LOAD_RADIUS      chunks are built from their file on a loader thread, as StageWatcher builds its edits,
+//                    and swapped in at the start of a tick; further ones are dropped back to an empty stub,
+//                    so memory stays bounded however wide the stage is. Taken coins stay taken.
+//   SIMULATE_RADIUS  chunks are stepped: the player's one as before, its neighbours with the balls moved
+//                    into their coordinates, so turrets aim right and a ball straddling a seam collides
+//                    with both sides. Each chunk steps its own projectiles.
+//   beyond           loaded chunks are dormant (see Dormancy) and catch up when they come back in range.
+//   visible          chunks overlapping the camera are in the scene, each clipped to the view, so only
+//                    what is on screen is drawn.
+// The player changes chunk when its center crosses the seam, moving exactly one chunk width, so the
+// crossing is invisible. Companions still follow the player as with sublevels.
+class World {
+
+    static final boolean enabled = Boolean.getBoolean("bounce.world");
+    static final int LOAD_RADIUS = 2;
+    static final int SIMULATE_RADIUS = 1;
+    static final double FOLLOW = 0.12;      // Fraction of the way to its target the camera moves per tick
+
+    static class Chunk {
+        final int index;
+        final String source;
+        Sublevel sublevel;
+        boolean loaded;
+        boolean requested; // Being built on the loader thread
+        ArrayList<Collectible> builtItems = new ArrayList<>(); // Items as built, for remembering taken ones
+        final BitSet taken = new BitSet();
+
+        Chunk(int index, String source) {
+            this.index = index;
+            this.source = source;
+        }
+    }
+
+    // What the FX thread shows: chunk panes with their world x, the player's chunk last so the balls
+    // are drawn over its neighbours
+    record View(Pane[] panes, double[] offsets) {
+    }
+
+    // A chunk the loader built, waiting for the start of a tick; builtItems as in Chunk
+    private record Prepared(Chunk chunk, Sublevel sublevel, ArrayList<Collectible> builtItems) {
+    }
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "bounce-world-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ConcurrentLinkedQueue<Prepared> ready = new ConcurrentLinkedQueue<>();
+
+    static Level level;
+    static Chunk[] chunks = new Chunk[0];
+    static volatile double cameraX;         // World x of the view's left edge
+    static volatile View view;
+    private static Pane viewport;
+    private static View applied;
+    private static boolean[] seamCollided = new boolean[4];
+    private static int[] savedDeaths = new int[4];
+
+    // The scene root while a world is shown, FX thread
+    static Pane viewport() {
+        if (viewport == null) viewport = new Pane();
+        return viewport;
+    }
+
+    // Loads a stage as a world: the first chunk is built as PageLoader would, with its initial position
+    // placing the balls; the rest of LOAD_RADIUS is streamed in; the others stay stubs until approached.
+    static Level buildLevel(String path, int n) {
+        File[] files = PageLoader.sublevelFiles(new File(path));
+        level = new Level(n);
+        chunks = new Chunk[files == null ? 0 : files.length];
+        for (int k = 0; k < chunks.length; k++) {
+            chunks[k] = new Chunk(k, files[k].getPath());
+            Sublevel stub = new Sublevel(k + 1);
+            chunks[k].sublevel = stub;
+            level.sublevels.add(stub);
+            level.checkpoints.add(null);
+            level.levelLength++;
+        }
+        ready.clear(); // Chunks of a previous world still in flight are dropped as they arrive
+        if (chunks.length > 0) {
+            Sublevel first = PageLoader.loadStageFromFile(chunks[0].source, 1);
+            install(prepare(chunks[0], first));
+        }
+        applied = null;
+        cameraX = 0;
+        stream(0);
+        if (chunks.length > 0) Main.activeProjectiles = chunks[0].sublevel.projectiles;
+        publishView(0);
+        return level;
+    }
+
+    // Simulation thread, start of a tick: chunks around the player in, far ones out, and the player's
+    // chunk's projectiles become the ones Main steps
+    static void stream() {
+        if (chunks.length == 0 || Main.currentLevel != level) return;
+        int current = Main.character.sublevelNum - 1;
+        if (current < 0 || current >= chunks.length) return;
+        Prepared prepared;
+        while ((prepared = ready.poll()) != null) {
+            Chunk chunk = prepared.chunk;
+            if (chunk.index >= chunks.length || chunks[chunk.index] != chunk) continue; // Of a previous world
+            chunk.requested = false;
+            if (!chunk.loaded && Math.abs(chunk.index - current) <= LOAD_RADIUS) install(prepared);
+        }
+        stream(current);
+        Main.activeProjectiles = chunks[current].sublevel.projectiles;
+    }
+
+    private static void stream(int current) {
+        for (Chunk chunk : chunks) {
+            boolean near = Math.abs(chunk.index - current) <= LOAD_RADIUS;
+            if (near && !chunk.loaded) {
+                // The player's own chunk can't wait (a revive far away), its neighbours just aren't simulated yet
+                if (chunk.index == current) install(prepare(chunk, PageLoader.buildDetached(chunk.source, chunk.index + 1)));
+                else if (!chunk.requested) request(chunk);
+            } else if (!near && chunk.loaded) unload(chunk);
+            if (!chunk.loaded) continue;
+            if (Math.abs(chunk.index - current) <= SIMULATE_RADIUS) Dormancy.wake(chunk.sublevel);
+            else Dormancy.sleep(chunk.sublevel);
+        }
+    }
+
+    // Parsing, building and indexing happen on the loader; chunk.taken only changes when the chunk is
+    // unloaded, which it can't be while it is requested
+    private static void request(Chunk chunk) {
+        chunk.requested = true;
+        loader.execute(() -> ready.add(prepare(chunk, PageLoader.buildDetached(chunk.source, chunk.index + 1))));
+    }
+
+    // Any thread: a freshly built chunk without the items taken before it was last dropped.
+    // Its pane isn't in a scene yet, so its nodes can be changed here.
+    private static Prepared prepare(Chunk chunk, Sublevel fresh) {
+        ArrayList<Collectible> built = new ArrayList<>(fresh.items);
+        if (!chunk.taken.isEmpty()) { // Taken before the chunk was last dropped
+            for (int i = chunk.taken.nextSetBit(0); i >= 0 && i < built.size(); i = chunk.taken.nextSetBit(i + 1)) {
+                Collectible item = built.get(i);
+                fresh.items.remove(item);
+                if (item.hitbox != null && item.hitbox.body != null) fresh.pane.getChildren().remove(item.hitbox.body);
+            }
+            fresh.reindex();
+        }
+        if (fresh.checkpoint != null) fresh.checkpoint.substageNum = chunk.index + 1;
+        return new Prepared(chunk, fresh, built);
+    }
+
+    // Simulation thread, between ticks: the prepared chunk replaces its stub
+    private static void install(Prepared prepared) {
+        Chunk chunk = prepared.chunk;
+        Sublevel fresh = prepared.sublevel;
+        chunk.builtItems = prepared.builtItems;
+        level.sublevels.set(chunk.index, fresh);
+        level.checkpoints.set(chunk.index, fresh.checkpoint);
+        Sublevel stub = chunk.sublevel;
+        chunk.sublevel = fresh;
+        chunk.loaded = true;
+        if (Main.currentSublevel == stub && stub != fresh) { // Revived into a chunk that wasn't loaded yet
+            Main.currentSublevel = fresh;
+            Main.showSublevel(fresh);
+        }
+    }
+
+    // Back to an empty stub; its objects, nodes and projectiles become garbage
+    private static void unload(Chunk chunk) {
+        Set<Collectible> left = Collections.newSetFromMap(new IdentityHashMap<>());
+        left.addAll(chunk.sublevel.items);
+        for (int i = 0; i < chunk.builtItems.size(); i++) {
+            if (!left.contains(chunk.builtItems.get(i))) chunk.taken.set(i);
+        }
+        Sublevel stub = new Sublevel(chunk.index + 1);
+        stub.spawn = chunk.sublevel.spawn;
+        chunk.sublevel = stub;
+        chunk.builtItems = new ArrayList<>();
+        chunk.loaded = false;
+        level.sublevels.set(chunk.index, stub);
+        level.checkpoints.set(chunk.index, null);
+    }
+
+    // Simulation thread, after the player's chunk has stepped its projectiles: the neighbours step too,
+    // each in its own coordinates. The balls are moved into them for the pass and back afterwards, unless
+    // the pass killed and revived one, which puts it in its checkpoint's coordinates already.
+    static void simulateNeighbours(double dt, boolean[] collided) {
+        if (chunks.length == 0 || Main.currentLevel != level) return;
+        int current = Main.character.sublevelNum - 1;
+        ArrayList<Character> balls = Main.characters;
+        int n = balls.size();
+        if (savedDeaths.length < n) {
+            savedDeaths = new int[n * 2];
+            seamCollided = new boolean[n * 2];
+        }
+        for (int k = current - SIMULATE_RADIUS; k <= current + SIMULATE_RADIUS; k++) {
+            if (k == current || k < 0 || k >= chunks.length || !chunks[k].loaded) continue;
+            Chunk chunk = chunks[k];
+            Sublevel sublevel = chunk.sublevel;
+            double shift = (current - k) * (double) Main.WINDOW_WIDTH;
+
+            for (int i = 0; i < n; i++) {
+                Character c = balls.get(i);
+                savedDeaths[i] = c.deaths;
+                c.pos.x += shift;
+            }
+
+            // Turrets ray-cast Main.currentSublevel and launchers spawn into Main.activeProjectiles
+            Sublevel home = Main.currentSublevel;
+            ArrayList<HomingLaserProjectile> homeProjectiles = Main.activeProjectiles;
+            Main.currentSublevel = sublevel;
+            Main.activeProjectiles = sublevel.projectiles;
+            ObstacleUpdater.updateAll(sublevel.obstacles, dt);
+            Main.currentSublevel = home;
+            Main.activeProjectiles = homeProjectiles;
+
+            // Obstacles may reach past their chunk's edge, so every ball meets the neighbour; the entity
+            // bounds reject everything far from the seam before any exact test
+            EntitySystems.collideObstacles(sublevel, balls, dt, seamCollided);
+            for (int i = 0; i < n; i++) {
+                Character c = balls.get(i);
+                collided[i] |= seamCollided[i];
+                if (c.inGame && c.deaths == savedDeaths[i]) EntitySystems.runTriggers(sublevel, c, dt);
+            }
+            Main.updateProjectiles(sublevel, sublevel.projectiles);
+
+            for (int i = 0; i < n; i++) {
+                Character c = balls.get(i);
+                if (c.deaths == savedDeaths[i]) c.pos.x -= shift;
+            }
+        }
+    }
+
+    // Simulation thread, end of a tick: the camera eases toward the player, and jumps after a revive
+    static void follow() {
+        if (chunks.length == 0 || Main.currentLevel != level) return;
+        int current = Main.character.sublevelNum - 1;
+        double width = Main.WINDOW_WIDTH;
+        double target = current * width + Main.character.pos.x - width / 2;
+        target = Math.max(0, Math.min((chunks.length - 1) * width, target));
+        double x = cameraX;
+        x = Math.abs(target - x) > width ? target : x + (target - x) * FOLLOW;
+        cameraX = x;
+        publishView(current);
+    }
+
+    // A new View only when the set of visible panes changes, the FX thread moves them every frame anyway
+    private static void publishView(int current) {
+        double width = Main.WINDOW_WIDTH;
+        int first = (int) Math.floor(cameraX / width), last = (int) Math.floor((cameraX + width - 1) / width);
+        List<Integer> shown = new ArrayList<>();
+        for (int k = Math.max(0, first); k <= Math.min(chunks.length - 1, last); k++) {
+            if (k != current && chunks[k].loaded) shown.add(k);
+        }
+        if (current >= 0 && current < chunks.length) shown.add(current);
+        Pane[] panes = new Pane[shown.size()];
+        double[] offsets = new double[shown.size()];
+        for (int i = 0; i < panes.length; i++) {
+            panes[i] = chunks[shown.get(i)].sublevel.pane;
+            offsets[i] = shown.get(i) * width;
+        }
+        View old = view;
+        if (old != null && Arrays.equals(old.panes, panes)) return;
+        view = new View(panes, offsets);
+    }
+
+    // FX thread, every frame: the visible chunks in the viewport, placed under the camera and clipped to it
+    static void applyCamera(double camera) {
+        View v = view;
+        if (v == null || viewport == null) return;
+        if (v != applied) {
+            viewport.getChildren().setAll(v.panes);
+            applied = v;
+        }
+        for (int i = 0; i < v.panes.length; i++) {
+            Pane pane = v.panes[i];
+            double left = camera - v.offsets[i];
+            pane.setTranslateX(-left);
+            Rectangle clip = pane.getClip() instanceof Rectangle r ? r : null;
+            if (clip == null) {
+                clip = new Rectangle(Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT);
+                pane.setClip(clip);
+            }
+            clip.setX(left); // Prism skips every child outside the clip
+        }
+    }
+
+    // FX thread: the player's chunk takes the canvas and the balls, without replacing the scene root
+    static void show(Sublevel sublevel) {
+        List<Node> children = sublevel.pane.getChildren();
+        children.remove(Main.canvas);
+        children.add(Main.canvas);
+        Main.addCharacterBodies(sublevel.pane);
+        applied = null;
+        if (Main.scene.getRoot() != viewport) Main.scene.setRoot(viewport());
+    }
+
+    // Obstacles and projectiles of every simulated chunk, for RenderSnapshot
+    static void collectSimulated(ArrayList<Obstacle> obstacles, ArrayList<HomingLaserProjectile> projectiles) {
+        int current = Main.character.sublevelNum - 1;
+        for (int k = current - SIMULATE_RADIUS; k <= current + SIMULATE_RADIUS; k++) {
+            if (k < 0 || k >= chunks.length || !chunks[k].loaded) continue;
+            obstacles.addAll(chunks[k].sublevel.obstacles);
+            projectiles.addAll(chunks[k].sublevel.projectiles);
+        }
+    }
+}
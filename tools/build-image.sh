@@ -0,0 +1,70 @@
+#!/bin/sh
+# Kiosk build: a jlink runtime holding only the modules the game uses, plus an AppCDS archive recorded
+# from a training run (main menu, then stage 1 for a few seconds), so a cold start maps the classes it
+# needs pre-parsed and pre-verified instead of loading them from jars.
+#
+#   JAVA_HOME=/path/to/jdk-21 JAVAFX_MODS=/path/to/javafx-jmods-21 tools/build-image.sh          build
+#   JAVA_HOME=... JAVAFX_MODS=... tools/build-image.sh measure [runs]   time to main menu, with and without the archive
+#
+# JAVAFX_MODS is the javafx jmods (or the modular javafx jars of the SDK's lib). Run from the repo root:
+# the stages are read from src/com/binge/Stages. The training run opens a window, so it needs a display.
+set -eu
+
+: "${JAVA_HOME:?set JAVA_HOME to a JDK 21}"
+: "${JAVAFX_MODS:?set JAVAFX_MODS to the JavaFX jmods directory}"
+
+BUILD=build
+IMAGE=$BUILD/image
+JAR=$BUILD/bounce.jar
+ARCHIVE=$BUILD/bounce.jsa
+MAIN=com.binge.Main
+
+measure() {
+    runs=${1:-5}
+    for mode in archive plain; do
+        if [ $mode = archive ]; then cds="-XX:SharedArchiveFile=$ARCHIVE"; else cds="-Xshare:auto"; fi
+        echo "$mode:"
+        i=0
+        while [ $i -lt "$runs" ]; do
+            "$IMAGE/bin/java" $cds -Dbounce.startupReport=true -Dbounce.exitAfterMenu=true -cp "$JAR" $MAIN \
+                | grep '^Startup:'
+            i=$((i + 1))
+        done
+    done
+}
+
+if [ "${1:-}" = measure ]; then
+    shift
+    measure "$@"
+    exit 0
+fi
+
+rm -rf "$BUILD"
+mkdir -p "$BUILD/classes/com/binge"
+
+# Compile against the javafx modules, the game itself stays on the class path
+"$JAVA_HOME/bin/javac" -d "$BUILD/classes" --module-path "$JAVAFX_MODS" --add-modules javafx.controls \
+    *.java $(find src -name '*.java')
+cp src/com/binge/styles.css "$BUILD/classes/com/binge/"
+"$JAVA_HOME/bin/jar" --create --file "$JAR" --main-class $MAIN -C "$BUILD/classes" .
+
+# The runtime: javafx.controls pulls in graphics and base, jdk.jfr is for GameEvents. The default CDS
+# archive of the JDK's own classes is regenerated for exactly these modules.
+"$JAVA_HOME/bin/jlink" --module-path "$JAVA_HOME/jmods:$JAVAFX_MODS" \
+    --add-modules javafx.controls,jdk.jfr \
+    --generate-cds-archive --strip-debug --no-header-files --no-man-pages \
+    --output "$IMAGE"
+
+# Training run: Startup plays stage 1 after the menu and exits; the game's and javafx's classes loaded by
+# then go into a dynamic archive on top of the base one
+"$IMAGE/bin/java" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dbounce.training=true -cp "$JAR" $MAIN > /dev/null
+
+cat > "$BUILD/bounce" <<LAUNCHER
+#!/bin/sh
+cd "\$(dirname "\$0")/.."
+exec $IMAGE/bin/java -XX:SharedArchiveFile=$ARCHIVE -Xshare:auto -cp $JAR $MAIN "\$@"
+LAUNCHER
+chmod +x "$BUILD/bounce"
+
+echo "Built $BUILD/bounce ($(du -sh "$IMAGE" | cut -f1) runtime, $(du -h "$ARCHIVE" | cut -f1) archive)"
+measure 3